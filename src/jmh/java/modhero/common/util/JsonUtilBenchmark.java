@@ -0,0 +1,105 @@
+package modhero.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what matching only top-level keys costs: extracting the fields read by ModuleParser with one
+ * {@code indexOf} search per field, as ModuleParser used to, against walking the object with
+ * {@link JsonUtil#getArgs}, on module JSON shaped like a NUSMods response. The search is faster on large
+ * documents but can match keys nested in other values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonUtilBenchmark {
+    private static final String[] KEYS = {"moduleCode", "title", "moduleCredit", "preclusionRule", "prereqTree"};
+    private static final Set<String> KEY_SET = Set.of(KEYS);
+
+    /** Number of lessons in the semester data, which dominates the size of a real response. */
+    @Param({"0", "40", "400"})
+    public int lessonCount;
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        StringBuilder lessons = new StringBuilder();
+        for (int i = 0; i < lessonCount; i++) {
+            if (i > 0) {
+                lessons.append(',');
+            }
+            lessons.append("{\"classNo\":\"").append(i).append("\",\"startTime\":\"1000\",\"endTime\":\"1200\",")
+                    .append("\"weeks\":[1,2,3,4,5,6,7,8,9,10,11,12,13],\"venue\":\"COM1-0210\",")
+                    .append("\"day\":\"Monday\",\"lessonType\":\"Tutorial\",\"size\":30}");
+        }
+        json = "{\"acadYear\":\"2025/2026\",\"description\":\"This course introduces the necessary skills for "
+                + "systematic and rigorous development of software systems.\",\"title\":\"Software Engineering "
+                + "& Object-Oriented Programming\",\"department\":\"Computer Science\",\"moduleCredit\":\"4\","
+                + "\"semesterData\":[{\"semester\":1,\"timetable\":[" + lessons + "]}],\"moduleCode\":\"CS2113\","
+                + "\"preclusionRule\":\"If undertaking an Undergraduate Degree THEN ( must not have completed 1 of "
+                + "CS2103/CS2103T/CS2113T at a grade of at least D)\","
+                + "\"prereqTree\":{\"and\":[{\"or\":[\"CS2040C:D\",\"CS2040:D\"]},\"CS1231:D\"]}}";
+    }
+
+    @Benchmark
+    public void getArgPerKey(Blackhole blackhole) {
+        for (String key : KEYS) {
+            blackhole.consume(getArg(json, key));
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> getArgsSinglePass() {
+        return JsonUtil.getArgs(json, KEY_SET);
+    }
+
+    /**
+     * Baseline: finds the first occurrence of the quoted key anywhere in the JSON, then copies the
+     * object or string after it.
+     */
+    private static String getArg(String json, String key) {
+        int keyIndex = json.indexOf('"' + key + '"');
+        if (keyIndex == -1) {
+            return null;
+        }
+        int valueStart = json.indexOf(':', keyIndex) + 1;
+        while (valueStart < json.length() && Character.isWhitespace(json.charAt(valueStart))) {
+            valueStart++;
+        }
+
+        if (json.charAt(valueStart) == '"') {
+            return json.substring(valueStart + 1, json.indexOf('"', valueStart + 1));
+        }
+        if (json.charAt(valueStart) != '{') {
+            return null;
+        }
+        int braceCount = 0;
+        for (int i = valueStart; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '{') {
+                braceCount++;
+            } else if (c == '}' && --braceCount == 0) {
+                return json.substring(valueStart, i + 1);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package modhero.common.util;
+
+import modhero.data.modules.Module;
+import modhero.data.modules.PrerequisiteNode;
+import modhero.data.modules.Prerequisites;
+import modhero.data.modules.TakenCodes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares checking a module's prerequisites against a 40-module plan with the stream and
+ * {@code List.contains} evaluation over combinations that the compiled bitmasks replaced.
+ * Both sides start from the plan's modules, as {@code Timetable} does on every add. The wildcard pair compares
+ * scanning every completed code for a prefix with looking it up in sorted codes kept up to date by the caller,
+ * as {@code Timetable} keeps them per semester.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrerequisiteUtilBenchmark {
+    private static final int PLAN_SIZE = 40;
+
+    private List<Module> plan;
+    private Prerequisites prerequisites;
+    private Prerequisites wildcardPrerequisites;
+    private List<List<String>> combinations;
+    private List<String> exempted;
+    private BitSet planIds;
+    private List<String> planCodes;
+    private NavigableSet<String> sortedPlanCodes;
+
+    @Setup
+    public void setUp() {
+        plan = new ArrayList<>();
+        for (int i = 0; i < PLAN_SIZE; i++) {
+            plan.add(new Module("CS" + (1000 + i * 7), "Module " + i, 4, "core", "", new Prerequisites()));
+        }
+        // (CS1000 or CS1007) and 2 of (CS1014, CS1021, CS1028) and (CS1035 or CS1280), the last one never taken
+        PrerequisiteNode tree = PrerequisiteNode.and(List.of(
+                PrerequisiteNode.or(List.of(PrerequisiteNode.module("CS1000"), PrerequisiteNode.module("CS1007"))),
+                PrerequisiteNode.nOf(2, List.of(PrerequisiteNode.module("CS1014"),
+                        PrerequisiteNode.module("CS1021"), PrerequisiteNode.module("CS1028"))),
+                PrerequisiteNode.or(List.of(PrerequisiteNode.module("CS1280"), PrerequisiteNode.module("CS1035")))));
+        prerequisites = new Prerequisites(tree);
+        combinations = tree.toCombinations();
+        // (CS1% or CS11%) and (MA1% or CS1273): only the last prefix and code are met, by CS1273
+        wildcardPrerequisites = new Prerequisites(PrerequisiteNode.and(List.of(
+                PrerequisiteNode.or(List.of(PrerequisiteNode.module("CS9%"), PrerequisiteNode.module("CS11%"))),
+                PrerequisiteNode.or(List.of(PrerequisiteNode.module("MA1%"), PrerequisiteNode.module("CS1273"))))));
+        exempted = new ArrayList<>(List.of("MA1301"));
+        planIds = new BitSet();
+        plan.forEach(module -> planIds.set(module.getId()));
+        planCodes = plan.stream().map(Module::getCode).toList();
+        sortedPlanCodes = new TreeSet<>(planCodes);
+    }
+
+    @Benchmark
+    public boolean streamsOverCombinations() {
+        List<String> completedCodes = plan.stream().map(Module::getCode).toList();
+        return combinations.stream().anyMatch(option -> option.stream()
+                .allMatch(code -> completedCodes.contains(code) || exempted.contains(code)));
+    }
+
+    @Benchmark
+    public boolean compiledBitmasks() {
+        BitSet completedIds = new BitSet();
+        for (Module module : plan) {
+            completedIds.set(module.getId());
+        }
+        return PrerequisiteUtil.isSatisfied(prerequisites, TakenCodes.of(completedIds, new BitSet()));
+    }
+
+    @Benchmark
+    public boolean wildcardsByScan() {
+        return wildcardPrerequisites.getCompiled().isSatisfiedBy(planIds.toLongArray(),
+                prefix -> planCodes.stream().anyMatch(code -> code.startsWith(prefix)));
+    }
+
+    @Benchmark
+    public boolean wildcardsBySortedCodes() {
+        return PrerequisiteUtil.isSatisfied(wildcardPrerequisites,
+                TakenCodes.of(planIds, sortedPlanCodes, new BitSet(), new TreeSet<>()));
+    }
+}
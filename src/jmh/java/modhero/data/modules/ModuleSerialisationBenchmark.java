@@ -0,0 +1,90 @@
+package modhero.data.modules;
+
+import modhero.common.util.SerialisationUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing a module to a buffered writer, as the catalog ingester does, with {@link Module#writeFormatted}
+ * against the string concatenation it replaced, which built every nested message as its own string before
+ * wrapping it again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModuleSerialisationBenchmark {
+    private Module module;
+    private Writer out;
+
+    @Setup
+    public void setUp() {
+        PrerequisiteNode tree = PrerequisiteNode.and(List.of(
+                PrerequisiteNode.or(List.of(PrerequisiteNode.module("CS2040C"), PrerequisiteNode.module("CS2040"))),
+                PrerequisiteNode.nOf(2, List.of(PrerequisiteNode.module("MA1521"),
+                        PrerequisiteNode.module("MA1522"), PrerequisiteNode.module("ST2334"))),
+                PrerequisiteNode.module("CS1231")));
+        module = new Module("CS3230", "Design and Analysis of Algorithms", 4, "core",
+                "If undertaking an Undergraduate Degree THEN ( must not have completed CS3230R)",
+                new Prerequisites(tree));
+        out = new BufferedWriter(Writer.nullWriter(), 1 << 16);
+    }
+
+    @Benchmark
+    public void writeFormatted() throws IOException {
+        module.writeFormatted(out);
+    }
+
+    @Benchmark
+    public int writeFormattedToBuilder() throws IOException {
+        StringBuilder builder = new StringBuilder(256);
+        module.writeFormatted(builder);
+        return builder.length();
+    }
+
+    @Benchmark
+    public void concatenation() throws IOException {
+        out.write(serialiseByConcatenation(module));
+    }
+
+    private static String serialiseByConcatenation(Module module) {
+        return message(module.getCode()) + message(module.getName()) + message(Integer.toString(module.getMc()))
+                + message(module.getType()) + message(module.getPreclude())
+                + message("T" + nodeByConcatenation(module.getPrerequisites().getTree()));
+    }
+
+    private static String nodeByConcatenation(PrerequisiteNode node) {
+        if (node.getType() == PrerequisiteNode.Type.MODULE) {
+            return message(node.getCode());
+        }
+        StringBuilder builder = new StringBuilder(message(node.getType().name()));
+        if (node.getType() == PrerequisiteNode.Type.N_OF) {
+            builder.append(message(Integer.toString(node.getRequired())));
+        }
+        for (PrerequisiteNode child : node.getChildren()) {
+            builder.append(message(nodeByConcatenation(child)));
+        }
+        return builder.toString();
+    }
+
+    private static String message(String content) {
+        return content.length() + "#" + content + "|";
+    }
+}
@@ -0,0 +1,68 @@
+package modhero.data.timetable;
+
+import modhero.common.Constants.AcademicConstants;
+import modhero.data.modules.Module;
+import modhero.data.modules.PrerequisiteNode;
+import modhero.data.modules.Prerequisites;
+import modhero.exceptions.ModHeroException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a validated add followed by a validated delete of one module in the last semester
+ * of a plan, with the plan scaled well beyond a real degree so that the cost of each validation
+ * query against the rest of the plan shows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimetableBenchmark {
+    private static final int LAST_YEAR = AcademicConstants.NUM_YEARS;
+    private static final int LAST_TERM = AcademicConstants.NUM_TERMS;
+
+    /** Number of modules already in the plan, spread over every semester but the last. */
+    @Param({"50", "200", "800"})
+    public int planSize;
+
+    private Timetable timetable;
+    private Module module;
+    private List<String> exemptedModules;
+
+    @Setup
+    public void setUp() {
+        timetable = new Timetable();
+        int slots = AcademicConstants.NUM_YEARS * AcademicConstants.NUM_TERMS - 1;
+        for (int i = 0; i < planSize; i++) {
+            int slot = i % slots;
+            timetable.addModuleDirect(slot / AcademicConstants.NUM_TERMS, slot % AcademicConstants.NUM_TERMS,
+                    new Module("BM" + (1000 + i), "Plan module " + i, 4, "core", "", new Prerequisites()));
+        }
+        PrerequisiteNode tree = PrerequisiteNode.and(List.of(PrerequisiteNode.module("BM1000"),
+                PrerequisiteNode.or(List.of(PrerequisiteNode.module("BM9999"), PrerequisiteNode.module("BM1001")))));
+        module = new Module("BM9000", "Capstone", 8, "core", "BM8000", new Prerequisites(tree));
+        exemptedModules = new ArrayList<>(List.of("MA1301"));
+    }
+
+    @Benchmark
+    public void addThenDelete() throws ModHeroException {
+        timetable.addModule(LAST_YEAR, LAST_TERM, module, exemptedModules);
+        timetable.deleteModule(module.getCode(), exemptedModules);
+    }
+}
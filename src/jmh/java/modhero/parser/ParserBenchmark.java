@@ -0,0 +1,53 @@
+package modhero.parser;
+
+import modhero.commands.Command;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many scripted command lines {@link Parser#parseCommand} handles per second,
+ * on a mix of valid and malformed commands like those piped in from a plan script.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    private static final String[] SCRIPT = {
+        "major Computer Science",
+        "add CS2113 to Y2S1",
+        "add CS2040C to Y1S2",
+        "add   MA1521   to   y1s1",
+        "delete CS2040C",
+        "add CS3230 to Y9",
+        "schedule",
+        "delete CS2113 CS3230",
+        "add CS1231 to Y1S1;",
+        "help",
+    };
+
+    private final Parser parser = new Parser();
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void parseScript(Blackhole blackhole) {
+        for (String line : SCRIPT) {
+            Command command = parser.parseCommand(line);
+            blackhole.consume(command);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package modhero.parser;
+
+import modhero.data.modules.PrerequisiteNode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cursor-based {@link ModuleParser#parsePrereqTree} with the substring-splitting parser
+ * it replaced, on prereqTree JSON nested like the deepest NUSMods trees (alternating and/or levels).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrereqParserBenchmark {
+    private static final int FAN_OUT = 3;
+
+    /** Number of nested and/or levels above the module code leaves. */
+    @Param({"2", "4", "6"})
+    public int depth;
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        StringBuilder tree = new StringBuilder();
+        appendTree(tree, depth, new int[1]);
+        json = tree.toString();
+    }
+
+    private static void appendTree(StringBuilder tree, int levels, int[] nextCode) {
+        if (levels == 0) {
+            tree.append("\"CS").append(1000 + nextCode[0]++).append(":D\"");
+            return;
+        }
+        tree.append("{\"").append(levels % 2 == 0 ? "and" : "or").append("\":[");
+        for (int i = 0; i < FAN_OUT; i++) {
+            if (i > 0) {
+                tree.append(',');
+            }
+            appendTree(tree, levels - 1, nextCode);
+        }
+        tree.append("]}");
+    }
+
+    @Benchmark
+    public PrerequisiteNode cursorParser() {
+        return ModuleParser.parsePrereqTree(json);
+    }
+
+    @Benchmark
+    public PrerequisiteNode substringParser() {
+        return parseBySubstrings(json);
+    }
+
+    /**
+     * The previous parser: copies each child out with substring and splitTopLevel, then recurses on the copy.
+     */
+    private static PrerequisiteNode parseBySubstrings(String json) {
+        json = json.trim();
+        if (!json.startsWith("{")) {
+            return PrerequisiteNode.module(json.replaceAll("[\"']", "").split(":")[0]);
+        }
+        int fieldNameStart = json.indexOf('\"') + 1;
+        int fieldNameEnd = json.indexOf('\"', fieldNameStart);
+        String logicOperator = json.substring(fieldNameStart, fieldNameEnd);
+        String childArrayText = json.substring(json.indexOf('['), json.lastIndexOf(']') + 1);
+
+        List<PrerequisiteNode> children = new ArrayList<>();
+        for (String branch : splitTopLevel(childArrayText.substring(1, childArrayText.length() - 1))) {
+            children.add(parseBySubstrings(branch.trim()));
+        }
+        return logicOperator.equals("or") ? PrerequisiteNode.or(children) : PrerequisiteNode.and(children);
+    }
+
+    private static List<String> splitTopLevel(String input) {
+        List<String> elements = new ArrayList<>();
+        StringBuilder currentElement = new StringBuilder();
+        int nestingDepth = 0;
+        boolean insideQuotes = false;
+        for (int i = 0; i < input.length(); ++i) {
+            char currentChar = input.charAt(i);
+            if (currentChar == '"') {
+                insideQuotes = !insideQuotes;
+            } else if (!insideQuotes && (currentChar == '[' || currentChar == '{')) {
+                nestingDepth++;
+            } else if (!insideQuotes && (currentChar == ']' || currentChar == '}')) {
+                nestingDepth--;
+            } else if (!insideQuotes && currentChar == ',' && nestingDepth == 0) {
+                elements.add(currentElement.toString().trim());
+                currentElement.setLength(0);
+                continue;
+            }
+            currentElement.append(currentChar);
+        }
+        if (!currentElement.isEmpty()) {
+            elements.add(currentElement.toString().trim());
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,82 @@
+package modhero.storage;
+
+import modhero.common.util.CharSlice;
+import modhero.common.util.DeserialisationUtil;
+import modhero.common.util.SerialisationUtil;
+import modhero.exceptions.CorruptedDataFileException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a module catalog as one string per line and one substring per field with reading
+ * field views over a single buffer, copying out only the fields a Module keeps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModuleStorageBenchmark {
+    /** Number of modules in the catalog; NUSMods lists about 6000. */
+    @Param({"100", "6000"})
+    public int moduleCount;
+
+    private String buffer;
+
+    @Setup
+    public void setUp() {
+        StringBuilder catalog = new StringBuilder();
+        for (int i = 0; i < moduleCount; i++) {
+            String combination = SerialisationUtil.serialiseMessage("CS" + (1000 + i % 500))
+                    + SerialisationUtil.serialiseMessage("MA" + (1000 + i % 300));
+            String prereqs = SerialisationUtil.serialiseMessage(SerialisationUtil.serialiseMessage(combination));
+            catalog.append(SerialisationUtil.serialiseMessage("CS" + (2000 + i)))
+                    .append(SerialisationUtil.serialiseMessage("Software Engineering and Object-Oriented Programming"))
+                    .append(SerialisationUtil.serialiseMessage("4"))
+                    .append(SerialisationUtil.serialiseMessage("core"))
+                    .append(SerialisationUtil.serialiseMessage("CS2103, CS2103T"))
+                    .append(prereqs)
+                    .append('\n');
+        }
+        buffer = catalog.toString();
+    }
+
+    @Benchmark
+    public void linesAndSubstrings(Blackhole blackhole) throws CorruptedDataFileException {
+        List<String> lines = List.of(buffer.split("\n"));
+        for (List<String> fields : DeserialisationUtil.deserialiseList(lines)) {
+            blackhole.consume(fields.get(0));
+            blackhole.consume(Integer.parseInt(fields.get(2)));
+            List<String> combinations = DeserialisationUtil.deserialiseMessage(fields.get(5));
+            blackhole.consume(DeserialisationUtil.deserialiseList(combinations));
+        }
+    }
+
+    @Benchmark
+    public void bufferViews(Blackhole blackhole) throws CorruptedDataFileException {
+        for (List<CharSlice> fields : DeserialisationUtil.deserialiseLines(buffer)) {
+            blackhole.consume(fields.get(0).toString());
+            blackhole.consume(fields.get(2).parseInt());
+            for (CharSlice combination : DeserialisationUtil.deserialiseFields(fields.get(5))) {
+                for (CharSlice code : DeserialisationUtil.deserialiseFields(combination)) {
+                    blackhole.consume(code.toString());
+                }
+            }
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package modhero;
 
 import modhero.common.Constants.FilePathConstants;
+import modhero.common.Constants.NusmodsConstants;
 
 import modhero.commands.Command;
 import modhero.commands.CommandResult;
 import modhero.commands.ExitCommand;
 import modhero.common.config.LoggerConfig;
+import modhero.data.CatalogRefresher;
 import modhero.data.DataManager;
+import modhero.data.timetable.PlanViolation;
 import modhero.parser.Parser;
 import modhero.ui.Ui;
 
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -54,8 +58,23 @@ public class ModHero {
         this.ui = new Ui();
         this.parser = new Parser();
         this.dataManager = new DataManager(FilePathConstants.MODULES_FILE_PATH, FilePathConstants.MAJOR_FILE_PATH, FilePathConstants.TIMETABLE_FILE_PATH);
+        if (Boolean.getBoolean(NusmodsConstants.REFRESH_ENABLED_PROPERTY)) {
+            dataManager.startCatalogRefresh(CatalogRefresher.createDefault());
+        }
         logger.log(Level.INFO, "Completed setting up data required");
         ui.showWelcome();
+        showLoadedPlanViolations();
+    }
+
+    /**
+     * Warns the user about any rule the saved plan breaks, such as after module data changed.
+     */
+    private void showLoadedPlanViolations() {
+        List<PlanViolation> violations = dataManager.getLoadedPlanViolations();
+        if (violations.isEmpty()) {
+            return;
+        }
+        ui.showResultToUser(new CommandResult(PlanViolation.format("Your saved timetable has", violations)));
     }
 
     /**
@@ -72,7 +91,9 @@ public class ModHero {
     private void runCommandLoopUntilExitCommand() {
         Command command;
         do {
+            dataManager.markIdle();
             String userCommandText = ui.readCommand();
+            dataManager.markBusy();
             logger.log(Level.INFO, "Parsing command");
             command = parser.parseCommand(userCommandText);
             CommandResult result = executeCommand(command);
@@ -89,6 +110,11 @@ public class ModHero {
     private CommandResult executeCommand(Command command) {
         assert command != null : "Command must not be null";
         try {
+            List<String> refreshedCodes = dataManager.applyBackgroundUpdates();
+            if (!refreshedCodes.isEmpty()) {
+                ui.showResultToUser(new CommandResult("Module data refreshed from NUSMods: "
+                        + String.join(", ", refreshedCodes)));
+            }
             command.setData(
                     dataManager.getTimetable(),
                     dataManager.getAllModulesData(),
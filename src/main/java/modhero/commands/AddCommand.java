@@ -4,10 +4,12 @@ import modhero.common.Constants.AcademicConstants;
 
 import modhero.data.modules.Module;
 import modhero.data.nusmods.ModuleRetriever;
+import modhero.data.nusmods.PrerequisitePrefetcher;
 import modhero.data.timetable.Timetable;
 import modhero.exceptions.ModHeroException;
 import modhero.exceptions.ModuleNotFoundException;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -51,7 +53,21 @@ public class AddCommand extends Command {
     }
 
     public static void addModule(Timetable timetable, Map<String, Module> allModulesData, String moduleCode, int year, int term, List<String> exemptedModules) throws ModHeroException {
-        ModuleRetriever moduleRetriever = new ModuleRetriever();
+        Module module = resolveModule(allModulesData, moduleCode);
+        timetable.addModule(year, term, module, exemptedModules);
+    }
+
+    /**
+     * Returns the module with the given code from the local data, fetching it from NUSMods and
+     * adding it to the local data if it is not there yet.
+     *
+     * @param allModulesData mapping of module codes to Module objects
+     * @param moduleCode the upper-case module code
+     * @return the module
+     * @throws ModuleNotFoundException if the module is neither in the local data nor on NUSMods
+     */
+    private static Module resolveModule(Map<String, Module> allModulesData, String moduleCode) throws ModuleNotFoundException {
+        ModuleRetriever moduleRetriever = ModuleRetriever.getShared();
         Module module = allModulesData.get(moduleCode);
         if (module == null) {
             logger.log(Level.INFO, "Module " + moduleCode + " not in local data, trying API fetch...");
@@ -66,8 +82,8 @@ public class AddCommand extends Command {
                 throw new ModuleNotFoundException(moduleCode, "NUSMODS\nPlease ensure you are connected to the internet and provide valid module code");
             }
             allModulesData.put(module.getCode(), module);
+            PrerequisitePrefetcher.getShared().prefetch(module, Collections.unmodifiableSet(allModulesData.keySet()));
         }
-
-        timetable.addModule(year, term, module, exemptedModules);
+        return module;
     }
 }
@@ -2,9 +2,11 @@ package modhero.commands;
 
 import modhero.common.Constants;
 import modhero.data.major.Major;
+import modhero.data.timetable.PlanViolation;
 import modhero.data.timetable.TimetableData;
 import modhero.data.modules.Module;
 
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -68,6 +70,14 @@ public class MajorCommand extends Command {
             }
         logger.log(Level.INFO, () -> "Major successfully set to " + major);
 
-        return new CommandResult("Reset to default Timetable for Major in " + major + ". Type 'schedule' to view your 4-year plan!");
+        //the default plan is added without validation, so check it as a whole
+        StringBuilder feedback = new StringBuilder("Reset to default Timetable for Major in " + major
+                + ". Type 'schedule' to view your 4-year plan!");
+        List<PlanViolation> violations = timetable.validatePlan(exemptedModules);
+        if (!violations.isEmpty()) {
+            logger.log(Level.WARNING, () -> "Default plan for " + major + " has " + violations.size() + " violations");
+            feedback.append('\n').append(PlanViolation.format("The default plan has", violations));
+        }
+        return new CommandResult(feedback.toString());
     }
 }
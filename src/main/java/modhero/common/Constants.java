@@ -96,17 +96,39 @@ public final class Constants {
         public static final int MAX_MODULES_PER_SEM = 5;
     }
 
+    /** Settings for requests made to the NUSMods API. */
+    public static final class NusmodsConstants {
+        public static final String BASE_URL = "https://api.nusmods.com/v2/";
+        public static final String BASE_URL_PROPERTY = "modhero.nusmods.baseUrl";
+        public static final int MAX_CONCURRENT_REQUESTS = 8;
+        public static final int CONNECT_TIMEOUT_SECONDS = 5;
+        public static final int REQUEST_TIMEOUT_SECONDS = 10;
+        public static final int CACHE_TIME_TO_LIVE_HOURS = 24;
+        public static final int CACHE_MAX_ENTRIES = 2000;
+        public static final int NOT_FOUND_CACHE_MINUTES = 10;
+        public static final int PREFETCH_THREADS = 2;
+        public static final int PREFETCH_MAX_DEPTH = 2;
+        public static final int PREFETCH_BUDGET = 20;
+        public static final String REFRESH_ENABLED_PROPERTY = "modhero.refreshCatalog";
+        public static final int REFRESH_INTERVAL_SECONDS = 30;
+        public static final int REFRESH_JITTER_SECONDS = 15;
+        public static final String MODULE_DUMP_FILE = "moduleInfo.json";
+    }
+
     /** File paths used for saving and loading data. */
     public static final class FilePathConstants {
         public static final String MODULES_FILE_PATH = "data/modules.txt";
         public static final String MAJOR_FILE_PATH = "data/major.txt";
         public static final String TIMETABLE_FILE_PATH = "data/save.txt";
+        public static final String NUSMODS_CACHE_DIRECTORY = "data/nusmods-cache";
+        public static final String MODULE_HASHES_FILE_PATH = "data/module-hashes.txt";
     }
 
     /** Delimiters used in serialization. */
     public static final class FormatConstants {
         public static final String START_DELIMITER = "#";
         public static final String END_DELIMITER = "|";
+        public static final String PREREQ_TREE_PREFIX = "T";
     }
 
     /** Lists of modules exempted from prerequisites. */
@@ -9,18 +9,26 @@ import modhero.commands.ExitCommand;
 import modhero.commands.HelpCommand;
 import modhero.commands.MajorCommand;
 import modhero.commands.ScheduleCommand;
+import modhero.common.predata.CatalogIngester;
+import modhero.common.predata.IncrementalModuleGenerator;
 import modhero.common.util.DeserialisationUtil;
 import modhero.common.util.JsonUtil;
 import modhero.common.util.SerialisationUtil;
+import modhero.data.CatalogRefresher;
 import modhero.data.DataManager;
+import modhero.data.ExemptionVerifier;
 import modhero.data.major.Major;
 import modhero.data.modules.Module;
 import modhero.data.modules.ModuleList;
+import modhero.data.nusmods.ModuleRetriever;
 import modhero.data.nusmods.NusmodsAPIClient;
+import modhero.data.nusmods.NusmodsCache;
+import modhero.data.nusmods.PrerequisitePrefetcher;
 import modhero.data.timetable.Timetable;
 import modhero.parser.ModuleParser;
 import modhero.parser.Parser;
 import modhero.storage.MajorStorage;
+import modhero.storage.ModuleHashStorage;
 import modhero.storage.ModuleStorage;
 import modhero.storage.SaveStorage;
 import modhero.storage.Storage;
@@ -50,17 +58,25 @@ public class LoggerConfig {
         setLoggerLevel(HelpCommand.class, level);
         setLoggerLevel(ExitCommand.class, level);
         setLoggerLevel(DataManager.class, level);
+        setLoggerLevel(CatalogRefresher.class, level);
+        setLoggerLevel(ExemptionVerifier.class, level);
         setLoggerLevel(Major.class, level);
         setLoggerLevel(Module.class, level);
         setLoggerLevel(ModuleParser.class, level);
         setLoggerLevel(ModuleList.class, level);
         setLoggerLevel(Timetable.class, level);
+        setLoggerLevel(ModuleRetriever.class, level);
         setLoggerLevel(NusmodsAPIClient.class, level);
+        setLoggerLevel(NusmodsCache.class, level);
+        setLoggerLevel(PrerequisitePrefetcher.class, level);
         setLoggerLevel(SerialisationUtil.class, level);
         setLoggerLevel(DeserialisationUtil.class, level);
         setLoggerLevel(JsonUtil.class, level);
+        setLoggerLevel(CatalogIngester.class, level);
+        setLoggerLevel(IncrementalModuleGenerator.class, level);
         setLoggerLevel(Storage.class, level);
         setLoggerLevel(MajorStorage.class, level);
+        setLoggerLevel(ModuleHashStorage.class, level);
         setLoggerLevel(ModuleStorage.class, level);
         setLoggerLevel(SaveStorage.class, level);
     }
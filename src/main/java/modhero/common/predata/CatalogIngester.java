@@ -0,0 +1,138 @@
+package modhero.common.predata;
+
+import modhero.common.util.JsonStreamReader;
+import modhero.common.util.JsonUtil;
+import modhero.data.modules.Module;
+import modhero.parser.ModuleParser;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Builds the contents of modules.txt from a full NUSMods catalog dump.
+ * The dump is a JSON array of module objects, which is parsed one module at a time so that
+ * only the current module is ever held in memory. Each module is written out in the
+ * serialised format read by {@link modhero.storage.ModuleStorage}.
+ */
+public class CatalogIngester {
+    private static final Logger logger = Logger.getLogger(CatalogIngester.class.getName());
+    private static final int PROGRESS_INTERVAL = 500;
+
+    private final ModuleParser parser = new ModuleParser();
+    private final PrintStream progressOut;
+
+    /**
+     * Creates an ingester that reports its progress to the given stream.
+     *
+     * @param progressOut stream for progress and throughput reports
+     */
+    public CatalogIngester(PrintStream progressOut) {
+        assert progressOut != null : "CatalogIngester progressOut must not be null";
+        this.progressOut = progressOut;
+    }
+
+    /**
+     * Reads every module in the dump and writes one serialised line per valid module.
+     * Modules that cannot be parsed are skipped and counted.
+     *
+     * @param dump the catalog dump, a JSON array of module objects
+     * @param modulesOut where the serialised module lines are written
+     * @return counts and throughput of the ingest
+     * @throws IOException if reading the dump or writing the output fails
+     */
+    public IngestSummary ingest(Reader dump, Writer modulesOut) throws IOException {
+        JsonStreamReader reader = new JsonStreamReader(dump);
+        long startTime = System.nanoTime();
+        int ingested = 0;
+        int skipped = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Module module = parseModule(reader.nextRawValue());
+            if (module == null) {
+                skipped++;
+            } else {
+                module.writeFormatted(modulesOut);
+                modulesOut.write(System.lineSeparator());
+                ingested++;
+            }
+
+            if ((ingested + skipped) % PROGRESS_INTERVAL == 0) {
+                IngestSummary progress = new IngestSummary(ingested, skipped, reader.getCharsRead(),
+                        System.nanoTime() - startTime);
+                progressOut.println("  ... " + progress);
+            }
+        }
+        reader.endArray();
+        modulesOut.flush();
+
+        IngestSummary summary = new IngestSummary(ingested, skipped, reader.getCharsRead(),
+                System.nanoTime() - startTime);
+        logger.log(Level.INFO, "Catalog ingest completed: " + summary);
+        return summary;
+    }
+
+    /**
+     * Parses one module of the dump, treating a module that fails validation as unparseable
+     * so that it is skipped rather than aborting the ingest. The model constructors check their
+     * arguments with assertions, so an assertion failure is treated the same as a runtime exception.
+     *
+     * @param json the raw JSON of the module
+     * @return the module, or null if it cannot be parsed
+     */
+    private Module parseModule(String json) {
+        try {
+            return parser.parseModule(json);
+        } catch (RuntimeException | AssertionError e) {
+            String code = JsonUtil.getArgs(json, Set.of(ModuleParser.CODE)).get(ModuleParser.CODE);
+            logger.log(Level.WARNING, "Skipping module " + code + " that cannot be parsed", e);
+            return null;
+        }
+    }
+
+    /**
+     * Counts and throughput of a catalog ingest.
+     */
+    public static class IngestSummary {
+        private final int ingested;
+        private final int skipped;
+        private final long charsRead;
+        private final long elapsedNanos;
+
+        IngestSummary(int ingested, int skipped, long charsRead, long elapsedNanos) {
+            this.ingested = ingested;
+            this.skipped = skipped;
+            this.charsRead = charsRead;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** @return the number of modules written */
+        public int getIngested() {
+            return ingested;
+        }
+
+        /** @return the number of modules that could not be parsed */
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /** @return the number of modules read per second */
+        public double getModulesPerSecond() {
+            return (ingested + skipped) / Math.max(elapsedNanos / 1e9, 1e-9);
+        }
+
+        @Override
+        public String toString() {
+            double seconds = Math.max(elapsedNanos / 1e9, 1e-9);
+            return String.format("%d modules ingested, %d skipped, %.1f MB read in %d ms (%.0f modules/s, %.1f MB/s)",
+                    ingested, skipped, charsRead / 1e6, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    getModulesPerSecond(), charsRead / 1e6 / seconds);
+        }
+    }
+}
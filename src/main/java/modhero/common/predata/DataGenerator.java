@@ -1,18 +1,26 @@
 package modhero.common.predata;
 
 import static modhero.common.Constants.FilePathConstants.MAJOR_FILE_PATH;
+import static modhero.common.Constants.FilePathConstants.MODULE_HASHES_FILE_PATH;
 import static modhero.common.Constants.FilePathConstants.MODULES_FILE_PATH;
 
 import modhero.common.util.SerialisationUtil;
 import modhero.data.nusmods.NusmodsAPIClient;
-import modhero.parser.ModuleParser;
 import modhero.storage.MajorStorage;
+import modhero.storage.ModuleHashStorage;
 import modhero.storage.ModuleStorage;
-import modhero.data.modules.Module;
-import modhero.data.modules.Prerequisites;
 
-import java.util.ArrayList;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,21 +33,38 @@ public class DataGenerator {
      * Academic year to fetch module data from NUSMods API.
      */
     private static final String ACAD_YEAR = "2025-2026";
+    private static final String DUMP_OPTION = "--dump";
+    private static final String BULK_OPTION = "--bulk";
 
     /**
      * Entry point for generating modules.txt and majors.txt.
      * Fetches, serializes, and saves live module and major data.
+     * <p>
+     * By default only the modules of the supported majors are fetched. Pass {@code --dump FILE}
+     * to build modules.txt from a local full-catalog dump instead, or {@code --bulk} to stream
+     * the full-catalog dump from NUSMods.
+     * </p>
      */
     public static void main(String[] args) {
         // Generate Module Data
-        System.out.println("Fetching live module data from NUSMods API...");
-        String moduleFileContent = generateModulesTxt();
-        if (moduleFileContent != null) {
-            ModuleStorage moduleStorage = new ModuleStorage(MODULES_FILE_PATH);
-            moduleStorage.saveToTextFile(moduleFileContent);
-            System.out.println("Successfully saved to " + MODULES_FILE_PATH);
+        if (args.length >= 2 && args[0].equals(DUMP_OPTION)) {
+            System.out.println("Ingesting module catalog dump from " + args[1] + "...");
+            try {
+                ingestCatalog(new FileReader(args[1], StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.err.println("Failed to open catalog dump: " + e.getMessage());
+            }
+        } else if (args.length >= 1 && args[0].equals(BULK_OPTION)) {
+            System.out.println("Streaming module catalog dump from NUSMods API...");
+            try {
+                InputStream dump = new NusmodsAPIClient().openModuleDump(ACAD_YEAR);
+                ingestCatalog(new InputStreamReader(dump, StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                System.err.println("Failed to download catalog dump: " + e.getMessage());
+            }
         } else {
-            System.err.println("Failed to generate module data. File not saved.");
+            System.out.println("Fetching live module data from NUSMods API...");
+            generateModulesTxt();
         }
 
         // Generate Major Data
@@ -52,15 +77,29 @@ public class DataGenerator {
     }
 
     /**
-     * Fetches module data from NUSMods, parses it, and serializes the results.
-     * Uses dummy data if fetching or parsing fails.
+     * Streams a full-catalog dump into modules.txt, reporting progress and throughput.
      *
-     * @return serialized text content for modules.txt, or null if an error occurs
+     * @param dump reader over the catalog dump, closed once ingest finishes
      */
-    private static String generateModulesTxt() {
-        NusmodsAPIClient client = new NusmodsAPIClient();
-        ModuleParser parser = new ModuleParser();
-        StringBuilder fileContent = new StringBuilder();
+    private static void ingestCatalog(Reader dump) {
+        ModuleStorage moduleStorage = new ModuleStorage(MODULES_FILE_PATH);
+        try (Reader in = new BufferedReader(dump); Writer out = moduleStorage.openTextFileWriter()) {
+            CatalogIngester.IngestSummary summary = new CatalogIngester(System.out).ingest(in, out);
+            System.out.println("Successfully saved to " + MODULES_FILE_PATH + ": " + summary);
+        } catch (IOException e) {
+            System.err.println("Failed to ingest catalog dump: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fetches module data from NUSMods and regenerates the module records whose upstream data changed.
+     * Modules that cannot be fetched or parsed keep their previous record, or use dummy data if new.
+     */
+    private static void generateModulesTxt() {
+        ModuleStorage moduleStorage = new ModuleStorage(MODULES_FILE_PATH);
+        ModuleHashStorage moduleHashStorage = new ModuleHashStorage(MODULE_HASHES_FILE_PATH);
+        Map<String, String> previousHashes = new HashMap<>();
+        moduleHashStorage.load(previousHashes);
 
         List<String> allModules = Arrays.asList(
                 // Computer Science
@@ -75,86 +114,19 @@ public class DataGenerator {
                 "CG2027", "CG2028", "CG2271", "CG3201", "EE4204", "CG3207"
         );
 
-        for (String code : allModules) {
-            try {
-                String json = client.fetchModuleDataSafely(ACAD_YEAR, code);
-                String moduleCode = code;
-                String moduleName;
-                String moduleMc;
-                String preclude;
-                String serialisedPrereqsBlob;
-
-                if (json == null) {
-                    System.err.println("Failed to fetch data for " + code + ": null response. Using dummy data.");
-                    moduleName = code;
-                    moduleMc = "4";
-                    preclude = "";
-                    serialisedPrereqsBlob = serializePrereqList(new ArrayList<>()); // Empty prerequisites
-                } else {
-                    Module module = parser.parseModule(json);
-
-                    if (module == null) {
-                        System.err.println("ModuleParser failed to parse " + code + ". Using dummy data.");
-                        moduleName = code;
-                        moduleMc = "4";
-                        preclude = "";
-                        serialisedPrereqsBlob = serializePrereqList(new ArrayList<>());
-                    } else {
-                        moduleName = module.getName();
-                        moduleMc = String.valueOf(module.getMc());
-                        preclude = module.getPreclude();
-                        Prerequisites prereqs = module.getPrerequisites();
-
-                        // Get the prerequisite combinations from the Prerequisites object
-                        // List<List<String>> prereqCombos = prereqs.getPrerequisiteCombinations();
-                        serialisedPrereqsBlob = prereqs.toFormatedString();
-                    }
-                }
-
-                String desc = "core";
-
-                // Build the module line with triple-serialized prerequisites
-                String line = SerialisationUtil.serialiseMessage(moduleCode)
-                        + SerialisationUtil.serialiseMessage(moduleName)
-                        + SerialisationUtil.serialiseMessage(moduleMc)
-                        + SerialisationUtil.serialiseMessage(desc)
-                        + SerialisationUtil.serialiseMessage(preclude)
-                        + SerialisationUtil.serialiseMessage(serialisedPrereqsBlob);
-
-                fileContent.append(line).append(System.lineSeparator());
-
-            } catch (Exception e) {
-                System.err.println("Failed to generate data for " + code + ": " + e.getMessage());
-                e.printStackTrace();
-                return null;
-            }
-        }
-        return fileContent.toString();
-    }
-
-    /**
-     * Serializes nested prerequisite structures into a compact, text-safe format.
-     *
-     * @param prereqCombinations list of OR-groups of prerequisite module codes
-     * @return doubly serialized string representing prerequisites
-     */
-    private static String serializePrereqList(List<List<String>> prereqCombinations) {
-        if (prereqCombinations == null || prereqCombinations.isEmpty()) {
-            return "";
-        }
-
-        StringBuilder prereqBlobBuilder = new StringBuilder();
+        NusmodsAPIClient client = new NusmodsAPIClient();
+        IncrementalModuleGenerator.GenerationResult result = new IncrementalModuleGenerator(client, System.err)
+                .generate(ACAD_YEAR, allModules, moduleStorage.loadFromTextFile(), previousHashes);
 
-        for (List<String> combo : prereqCombinations) {
-            StringBuilder comboBuilder = new StringBuilder();
-            for (String moduleCode : combo) {
-                comboBuilder.append(SerialisationUtil.serialiseMessage(moduleCode));
-            }
-            prereqBlobBuilder.append(SerialisationUtil.serialiseMessage(comboBuilder.toString()));
+        if (result.hasChanges()) {
+            moduleStorage.saveToTextFile(result.getModulesFileContent());
+            System.out.println("Successfully saved to " + MODULES_FILE_PATH + ": " + result);
+        } else {
+            System.out.println(MODULES_FILE_PATH + " is up to date: " + result);
         }
-
-        // Return the doubly-serialized blob
-        return prereqBlobBuilder.toString();
+        moduleHashStorage.save(result.getHashes());
+        System.out.printf("Average request latency %d ms over %d requests%n", client.getAverageLatencyMillis(),
+                client.getCompletedRequestCount());
     }
 
     /**
@@ -201,23 +173,42 @@ public class DataGenerator {
      */
     private static String buildMajorLine(String name, String abbr,
                                          List<String> moduleCodes, Map<String, int[]> schedule) {
-        StringBuilder modulesBlobBuilder = new StringBuilder();
+        int modulesBlobLength = 0;
         for (String code : moduleCodes) {
-            int[] yearSem = schedule.get(code);
-            if (yearSem == null) {
-                yearSem = new int[]{0, 0};
+            modulesBlobLength += SerialisationUtil.messageLength(tripletLength(code, yearSemesterOf(code, schedule)));
+        }
+
+        StringBuilder line = new StringBuilder();
+        try {
+            SerialisationUtil.appendMessage(line, name);
+            SerialisationUtil.appendMessage(line, abbr);
+            SerialisationUtil.appendStart(line, modulesBlobLength);
+            for (String code : moduleCodes) {
+                int[] yearSem = yearSemesterOf(code, schedule);
+                SerialisationUtil.appendStart(line, tripletLength(code, yearSem));
+                SerialisationUtil.appendMessage(line, code);
+                SerialisationUtil.appendMessage(line, yearSem[0]);
+                SerialisationUtil.appendMessage(line, yearSem[1]);
+                SerialisationUtil.appendEnd(line);
             }
+            SerialisationUtil.appendEnd(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        return line.toString();
+    }
 
-            String tripletContent = SerialisationUtil.serialiseMessage(code)
-                    + SerialisationUtil.serialiseMessage(String.valueOf(yearSem[0]))
-                    + SerialisationUtil.serialiseMessage(String.valueOf(yearSem[1]));
+    private static int[] yearSemesterOf(String code, Map<String, int[]> schedule) {
+        int[] yearSem = schedule.get(code);
+        return yearSem == null ? new int[]{0, 0} : yearSem;
+    }
 
-            modulesBlobBuilder.append(SerialisationUtil.serialiseMessage(tripletContent));
-        }
-        String modulesBlob = modulesBlobBuilder.toString();
-        String line = SerialisationUtil.serialiseMessage(name)
-                + SerialisationUtil.serialiseMessage(abbr)
-                + SerialisationUtil.serialiseMessage(modulesBlob);
-        return line;
+    /**
+     * Returns the length of a serialized (code, year, semester) triplet.
+     */
+    private static int tripletLength(String code, int[] yearSem) {
+        return SerialisationUtil.messageLength(code.length())
+                + SerialisationUtil.messageLength(SerialisationUtil.decimalLength(yearSem[0]))
+                + SerialisationUtil.messageLength(SerialisationUtil.decimalLength(yearSem[1]));
     }
 }
@@ -0,0 +1,237 @@
+package modhero.common.predata;
+
+import modhero.common.util.DeserialisationUtil;
+import modhero.data.modules.Module;
+import modhero.data.modules.Prerequisites;
+import modhero.data.nusmods.NusmodsAPIClient;
+import modhero.parser.ModuleParser;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Regenerates module records for modules.txt, reusing records whose upstream JSON has not changed.
+ * <p>
+ * All modules are fetched concurrently, and a hash of each module's raw JSON is kept alongside its
+ * record. A record is only rebuilt when the hash differs from the previous run. A module that cannot
+ * be fetched or parsed keeps its previous record, or gets a placeholder record if it had none, so one
+ * bad module never aborts the whole file.
+ * </p>
+ */
+public class IncrementalModuleGenerator {
+    private static final Logger logger = Logger.getLogger(IncrementalModuleGenerator.class.getName());
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int PLACEHOLDER_MC = 4;
+
+    private final NusmodsAPIClient client;
+    private final ModuleParser parser = new ModuleParser();
+    private final PrintStream errorOut;
+
+    /**
+     * Creates a generator that fetches modules through the given client.
+     *
+     * @param client the client used to fetch module JSON
+     * @param errorOut stream that modules which could not be regenerated are reported to
+     */
+    public IncrementalModuleGenerator(NusmodsAPIClient client, PrintStream errorOut) {
+        assert client != null && errorOut != null : "IncrementalModuleGenerator arguments must not be null";
+        this.client = client;
+        this.errorOut = errorOut;
+    }
+
+    /**
+     * Fetches the given modules and builds their records, reusing previous records where possible.
+     *
+     * @param acadYear The academic year in format "YYYY-YYYY" (e.g., "2025-2026").
+     * @param moduleCodes the modules to generate, in the order they should be written
+     * @param previousRecords the lines of the previous modules.txt
+     * @param previousHashes the content hashes saved with the previous modules.txt, by module code
+     * @return the new records and hashes, with counts of what changed
+     */
+    public GenerationResult generate(String acadYear, List<String> moduleCodes, List<String> previousRecords,
+                                     Map<String, String> previousHashes) {
+        long startTime = System.nanoTime();
+        Map<String, String> previousRecordsByCode = indexRecordsByCode(previousRecords);
+        List<String> distinctCodes = new ArrayList<>(new LinkedHashSet<>(moduleCodes));
+        Map<String, CompletableFuture<String>> responses = client.fetchModules(acadYear, distinctCodes);
+
+        GenerationResult result = new GenerationResult();
+        for (String code : distinctCodes) {
+            String previousRecord = previousRecordsByCode.get(code);
+            String json = awaitResponse(code, responses.get(code));
+            String hash = json == null ? null : hash(json);
+
+            if (hash != null && previousRecord != null && hash.equals(previousHashes.get(code))) {
+                result.add(code, previousRecord, hash);
+                result.unchanged++;
+                continue;
+            }
+
+            Module module = parseModule(code, json);
+            if (module == null) {
+                result.failed++;
+                if (previousRecord != null) {
+                    result.add(code, previousRecord, previousHashes.get(code));
+                } else {
+                    result.add(code, buildPlaceholderRecord(code), null);
+                    result.hasPlaceholders = true;
+                }
+            } else if (previousRecord == null) {
+                result.add(code, module.toFormatedString(), hash);
+                result.added++;
+            } else {
+                result.add(code, module.toFormatedString(), hash);
+                result.updated++;
+            }
+        }
+
+        for (String previousCode : previousRecordsByCode.keySet()) {
+            if (!result.records.containsKey(previousCode)) {
+                result.removed++;
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - startTime;
+        logger.log(Level.INFO, "Module generation completed: " + result);
+        return result;
+    }
+
+    /**
+     * Maps each previous record to its module code, dropping records that cannot be read.
+     */
+    private Map<String, String> indexRecordsByCode(List<String> records) {
+        Map<String, String> recordsByCode = new LinkedHashMap<>();
+        for (String record : records) {
+            if (record.isBlank()) {
+                continue;
+            }
+            List<String> moduleArgs = DeserialisationUtil.deserialiseMessage(record);
+            if (moduleArgs != null && !moduleArgs.isEmpty()) {
+                recordsByCode.put(moduleArgs.get(0), record);
+            }
+        }
+        return recordsByCode;
+    }
+
+    /**
+     * Waits for a module request to complete.
+     *
+     * @return the raw JSON of the module, or null if the request failed
+     */
+    private String awaitResponse(String code, CompletableFuture<String> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            errorOut.println("Request for " + code + " failed: " + e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    private Module parseModule(String code, String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            Module module = parser.parseModule(json);
+            if (module == null) {
+                errorOut.println("ModuleParser failed to parse " + code + ". Keeping previous data.");
+            }
+            return module;
+        } catch (RuntimeException e) {
+            errorOut.println("Failed to generate data for " + code + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String buildPlaceholderRecord(String code) {
+        return new Module(code, code, PLACEHOLDER_MC, "core", "", new Prerequisites()).toFormatedString();
+    }
+
+    private static String hash(String json) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * Module records and hashes produced by a generation run, with counts of what changed.
+     */
+    public static class GenerationResult {
+        private final Map<String, String> records = new LinkedHashMap<>();
+        private final Map<String, String> hashes = new LinkedHashMap<>();
+        private int unchanged;
+        private int updated;
+        private int added;
+        private int removed;
+        private int failed;
+        private boolean hasPlaceholders;
+        private long elapsedNanos;
+
+        private void add(String code, String record, String hash) {
+            records.put(code, record);
+            if (hash != null) {
+                hashes.put(code, hash);
+            }
+        }
+
+        /** @return the contents of the new modules.txt */
+        public String getModulesFileContent() {
+            StringBuilder fileContent = new StringBuilder();
+            for (String record : records.values()) {
+                fileContent.append(record).append(System.lineSeparator());
+            }
+            return fileContent.toString();
+        }
+
+        /** @return the content hash of each module record, by module code */
+        public Map<String, String> getHashes() {
+            return hashes;
+        }
+
+        /** @return true if modules.txt differs from the previous run and needs to be rewritten */
+        public boolean hasChanges() {
+            return updated > 0 || added > 0 || removed > 0 || hasPlaceholders;
+        }
+
+        public int getUnchanged() {
+            return unchanged;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public int getAdded() {
+            return added;
+        }
+
+        public int getRemoved() {
+            return removed;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d unchanged, %d updated, %d added, %d removed, %d failed in %d ms",
+                    unchanged, updated, added, removed, failed, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
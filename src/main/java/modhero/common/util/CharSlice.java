@@ -0,0 +1,97 @@
+package modhero.common.util;
+
+/**
+ * A read-only view of a range of characters in a larger character sequence, such as one field of a
+ * loaded data file. No characters are copied until {@link #toString()} is called.
+ */
+public final class CharSlice implements CharSequence {
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+
+    /**
+     * Creates a view of {@code source} from {@code start} inclusive to {@code end} exclusive.
+     *
+     * @param source the characters being viewed
+     * @param start the start index in the source
+     * @param end the end index in the source
+     */
+    public CharSlice(CharSequence source, int start, int end) {
+        assert source != null : "CharSlice source must not be null";
+        assert 0 <= start && start <= end && end <= source.length() : "CharSlice range must lie within the source";
+
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /** @return the characters being viewed */
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /** @return the start index of the view in the source */
+    public int getStart() {
+        return start;
+    }
+
+    /** @return the end index (exclusive) of the view in the source */
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length());
+        }
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public CharSlice subSequence(int from, int to) {
+        if (from < 0 || from > to || to > end - start) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length());
+        }
+        return new CharSlice(source, start + from, start + to);
+    }
+
+    /**
+     * Checks whether the view starts with the given prefix.
+     *
+     * @param prefix the prefix to look for
+     * @return true if the viewed characters begin with {@code prefix}
+     */
+    public boolean startsWith(String prefix) {
+        if (prefix.length() > end - start) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (source.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the viewed characters as a decimal integer without copying them.
+     *
+     * @return the parsed value
+     * @throws NumberFormatException if the view is not a valid integer
+     */
+    public int parseInt() throws NumberFormatException {
+        return Integer.parseInt(source, start, end, 10);
+    }
+
+    /** Copies the viewed characters into a new string. */
+    @Override
+    public String toString() {
+        return source.subSequence(start, end).toString();
+    }
+}
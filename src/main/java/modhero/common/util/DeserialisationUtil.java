@@ -40,6 +40,44 @@ public class DeserialisationUtil {
         return deserialisedList;
     }
 
+    /**
+     * Deserialises every non-blank line of a loaded text file into views of its fields,
+     * without copying any field out of the text.
+     *
+     * @param text the whole text of the file
+     * @return one list of field views per non-blank line, in file order
+     * @throws CorruptedDataFileException if any line is corrupted or cannot be parsed
+     */
+    public static List<List<CharSlice>> deserialiseLines(CharSequence text) throws CorruptedDataFileException {
+        assert text != null : "deserialiseLines text must not be null";
+        logger.log(Level.FINEST, "Deserialising lines");
+
+        List<List<CharSlice>> deserialisedLines = new ArrayList<>();
+        int textLength = text.length();
+        int lineStart = 0;
+        while (lineStart < textLength) {
+            int lineEnd = indexOf(text, "\n", lineStart, textLength);
+            int nextLineStart = lineEnd == -1 ? textLength : lineEnd + 1;
+            lineEnd = lineEnd == -1 ? textLength : lineEnd;
+            if (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            if (lineEnd > lineStart) {
+                List<CharSlice> fields = deserialiseFields(text, lineStart, lineEnd);
+                if (fields == null) {
+                    logger.log(Level.WARNING, "Corrupted data encountered during line deserialisation");
+                    throw new CorruptedDataFileException("Corrupted data encountered during line deserialisation");
+                }
+                deserialisedLines.add(fields);
+            }
+            lineStart = nextLineStart;
+        }
+
+        logger.log(Level.FINEST, "Successful deserialising lines");
+        return deserialisedLines;
+    }
+
     /**
      * Deserialises a single serialised string into a list of its component messages.
      *
@@ -49,57 +87,122 @@ public class DeserialisationUtil {
     public static List<String> deserialiseMessage(String serialisedMessage) {
         assert serialisedMessage != null && !serialisedMessage.isEmpty() : "deserialiseMessage serialisedMessage must not be null or empty";
 
-        List<String> message = new ArrayList<>();
-        int currentIndex = 0;
-        int serialisedTaskLength = serialisedMessage.length();
+        List<CharSlice> fields = deserialiseFields(serialisedMessage, 0, serialisedMessage.length());
+        if (fields == null) {
+            return null;
+        }
+        List<String> message = new ArrayList<>(fields.size());
+        for (CharSlice field : fields) {
+            message.add(field.toString());
+        }
+
+        logger.log(Level.FINEST, () -> "Successful deserialising:" + serialisedMessage);
+        return message;
+    }
+
+    /**
+     * Deserialises a serialised message into views of its component messages, without copying them.
+     *
+     * @param serialisedMessage the serialised message, which may itself be a view
+     * @return views of the component messages, or null if the message is corrupted
+     */
+    public static List<CharSlice> deserialiseFields(CharSequence serialisedMessage) {
+        assert serialisedMessage != null : "deserialiseFields serialisedMessage must not be null";
+
+        if (serialisedMessage instanceof CharSlice) {
+            CharSlice slice = (CharSlice) serialisedMessage;
+            return deserialiseFields(slice.getSource(), slice.getStart(), slice.getEnd());
+        }
+        return deserialiseFields(serialisedMessage, 0, serialisedMessage.length());
+    }
+
+    /**
+     * Deserialises the serialised message held in {@code source} from {@code start} to {@code end}
+     * into views of its component messages, without copying them.
+     *
+     * @param source the characters holding the message
+     * @param start the start index of the message
+     * @param end the end index (exclusive) of the message
+     * @return views of the component messages, or null if the message is corrupted
+     */
+    public static List<CharSlice> deserialiseFields(CharSequence source, int start, int end) {
+        List<CharSlice> message = new ArrayList<>();
+        int currentIndex = start;
 
-        while (currentIndex < serialisedTaskLength) {
-            int delimiterIndex = serialisedMessage.indexOf(FormatConstants.START_DELIMITER, currentIndex);
+        while (currentIndex < end) {
+            int delimiterIndex = indexOf(source, FormatConstants.START_DELIMITER, currentIndex, end);
             boolean isDelimiterMissing = delimiterIndex == -1;
             if (isDelimiterMissing) {
-                logger.log(Level.WARNING, "Delimiter missing during deserialisation, " + serialisedMessage);
+                logger.log(Level.WARNING, () -> "Delimiter missing during deserialisation, " + source.subSequence(start, end));
                 return null;
             }
 
-            int argumentLength = parseComponentLength(serialisedMessage, currentIndex, delimiterIndex);
+            int argumentLength = parseComponentLength(source, currentIndex, delimiterIndex);
             boolean isArgumentLengthCorrupted = argumentLength == -1;
             if (isArgumentLengthCorrupted) {
-                logger.log(Level.WARNING, "Invalid argument length encountered, " + serialisedMessage);
+                logger.log(Level.WARNING, () -> "Invalid argument length encountered, " + source.subSequence(start, end));
                 return null;
             }
 
             currentIndex = delimiterIndex + FormatConstants.START_DELIMITER.length();
             int nextIndex = currentIndex + argumentLength;
-            if (nextIndex > serialisedTaskLength) {
-                logger.log(Level.WARNING, "Argument length exceeds message size, " + serialisedMessage);
+            if (nextIndex > end) {
+                logger.log(Level.WARNING, () -> "Argument length exceeds message size, " + source.subSequence(start, end));
                 return null;
             }
 
-            String argument = serialisedMessage.substring(currentIndex, nextIndex);
-            message.add(argument);
+            message.add(new CharSlice(source, currentIndex, nextIndex));
             currentIndex = nextIndex + FormatConstants.END_DELIMITER.length();
         }
 
-        logger.log(Level.FINEST, "Successful deserialising:" + serialisedMessage);
         return message;
     }
 
+    /**
+     * Finds the first occurrence of {@code target} in {@code source} between {@code from} and {@code end}.
+     *
+     * @return the index of the occurrence, or -1 if there is none
+     */
+    private static int indexOf(CharSequence source, String target, int from, int end) {
+        if (source instanceof String) {
+            int index = ((String) source).indexOf(target, from);
+            return index == -1 || index + target.length() > end ? -1 : index;
+        }
+        char first = target.charAt(0);
+        for (int i = from; i + target.length() <= end; i++) {
+            if (source.charAt(i) == first && regionMatches(source, i, target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(CharSequence source, int offset, String target) {
+        for (int i = 1; i < target.length(); i++) {
+            if (source.charAt(offset + i) != target.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Parses the length of the next component from its string representation.
-     * Extracts the substring between 'start' and 'end', and converts it to an integer.
+     * Reads the characters between 'start' and 'end' in place and converts them to a non-negative integer.
      *
-     * @param serialisedTask the serialized string
-     * @param startIndex     the starting index of the substring
-     * @param endIndex       the ending index (exclusive) of the substring
+     * @param serialisedTask the serialized characters
+     * @param startIndex     the starting index of the length
+     * @param endIndex       the ending index (exclusive) of the length
      * @return the parsed integer length, or -1 if parsing fails
      */
-    private static int parseComponentLength(String serialisedTask, int startIndex, int endIndex) {
-        assert serialisedTask != null && !serialisedTask.isEmpty() : "String serialisedTask must not be null or empty";
+    private static int parseComponentLength(CharSequence serialisedTask, int startIndex, int endIndex) {
+        assert serialisedTask != null && serialisedTask.length() > 0 : "String serialisedTask must not be null or empty";
         assert startIndex >= 0 && startIndex < serialisedTask.length() : "Integer start index must be within the string length";
         assert endIndex >= 0 && endIndex < serialisedTask.length() : "Integer end index must be within the string length";
 
         try {
-            return Integer.parseInt(serialisedTask.substring(startIndex, endIndex));
+            int length = Integer.parseInt(serialisedTask, startIndex, endIndex, 10);
+            return length < 0 ? -1 : length;
         } catch (NumberFormatException e) {
             return -1;
         }
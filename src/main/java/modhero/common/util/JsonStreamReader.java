@@ -0,0 +1,469 @@
+package modhero.common.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Set;
+
+/**
+ * Reads JSON incrementally, one value at a time, from a character stream or from text held in memory.
+ * Characters are scanned from a buffer in tight loops, so skipped values are never copied and strings
+ * are only materialised when they are read. Only the structure needed to walk arrays and objects is
+ * tracked, so large streamed documents are never held in memory as a whole.
+ */
+public class JsonStreamReader {
+    private static final int END_OF_INPUT = -1;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private long charsBeforeBuffer;
+
+    /**
+     * Creates a reader over the given character stream, which is read in blocks into an internal buffer.
+     *
+     * @param reader the character stream holding a JSON document
+     */
+    public JsonStreamReader(Reader reader) {
+        assert reader != null : "JsonStreamReader reader must not be null";
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+    }
+
+    /**
+     * Creates a reader over JSON already held in memory, which is scanned as a single buffer.
+     *
+     * @param json the JSON text
+     */
+    public JsonStreamReader(CharSequence json) {
+        assert json != null : "JsonStreamReader json must not be null";
+        this.reader = null;
+        this.buffer = json.toString().toCharArray();
+        this.limit = buffer.length;
+    }
+
+    /**
+     * Consumes the opening bracket of an array.
+     *
+     * @throws IOException if reading fails or the next value is not an array
+     */
+    public void beginArray() throws IOException {
+        expect('[');
+    }
+
+    /**
+     * Consumes the closing bracket of an array.
+     *
+     * @throws IOException if reading fails or the array has more elements
+     */
+    public void endArray() throws IOException {
+        expect(']');
+    }
+
+    /**
+     * Consumes the opening brace of an object.
+     *
+     * @throws IOException if reading fails or the next value is not an object
+     */
+    public void beginObject() throws IOException {
+        expect('{');
+    }
+
+    /**
+     * Consumes the closing brace of an object.
+     *
+     * @throws IOException if reading fails or the object has more members
+     */
+    public void endObject() throws IOException {
+        expect('}');
+    }
+
+    /**
+     * Checks whether the current array or object has another element, consuming the comma before it.
+     *
+     * @return true if another element follows, false if the closing bracket or brace is next
+     * @throws IOException if reading fails or the document ends early
+     */
+    public boolean hasNext() throws IOException {
+        int next = peekNonWhitespace();
+        if (next == ',') {
+            position++;
+            next = peekNonWhitespace();
+        }
+        if (next == END_OF_INPUT) {
+            throw new IOException("Unexpected end of JSON");
+        }
+        return next != ']' && next != '}';
+    }
+
+    /**
+     * Reads the name of the next object member and consumes the colon after it.
+     *
+     * @return the unescaped member name
+     * @throws IOException if reading fails or the next token is not a member name
+     */
+    public String nextName() throws IOException {
+        expectStringStart("Expected member name");
+        String name = readString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Reads the name of the next object member and consumes the colon after it, comparing the name
+     * against the candidates in place unless it contains escapes or crosses the end of the buffer.
+     *
+     * @param candidates the names of interest
+     * @return the candidate equal to the member name, or null if it is none of them
+     * @throws IOException if reading fails or the next token is not a member name
+     */
+    public String nextName(Set<String> candidates) throws IOException {
+        expectStringStart("Expected member name");
+        int start = position;
+        int end = start;
+        while (end < limit && buffer[end] != '"' && buffer[end] != '\\') {
+            end++;
+        }
+
+        String match = null;
+        if (end < limit && buffer[end] == '"') {
+            for (String candidate : candidates) {
+                if (regionEquals(candidate, start, end)) {
+                    match = candidate;
+                    break;
+                }
+            }
+            position = end + 1;
+        } else {
+            String name = readString();
+            match = candidates.contains(name) ? name : null;
+        }
+        expect(':');
+        return match;
+    }
+
+    /**
+     * Checks whether the next value is a string.
+     *
+     * @return true if the next value starts with a quote
+     * @throws IOException if reading fails
+     */
+    public boolean isNextString() throws IOException {
+        return peekNonWhitespace() == '"';
+    }
+
+    /**
+     * Checks whether the next value is an object.
+     *
+     * @return true if the next value starts with a brace
+     * @throws IOException if reading fails
+     */
+    public boolean isNextObject() throws IOException {
+        return peekNonWhitespace() == '{';
+    }
+
+    /**
+     * Reads the next value as a string.
+     *
+     * @return the unescaped content of the string, without its quotes
+     * @throws IOException if reading fails or the next value is not a well-formed string
+     */
+    public String nextString() throws IOException {
+        expectStringStart("Expected string");
+        return readString();
+    }
+
+    /**
+     * Reads the next value and returns its raw JSON text.
+     *
+     * @return the value exactly as it appears in the document
+     * @throws IOException if reading fails or the value is malformed
+     */
+    public String nextRawValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        copyValue(value);
+        return value.toString();
+    }
+
+    /**
+     * Appends the raw JSON text of the next value to {@code out}.
+     *
+     * @param out the builder to append to
+     * @throws IOException if reading fails or the value is malformed
+     */
+    public void nextRawValue(StringBuilder out) throws IOException {
+        copyValue(out);
+    }
+
+    /**
+     * Skips the next value, including any nested arrays and objects, without keeping its text.
+     *
+     * @throws IOException if reading fails or the value is malformed
+     */
+    public void skipValue() throws IOException {
+        copyValue(null);
+    }
+
+    /** @return the number of characters consumed from the input so far */
+    public long getCharsRead() {
+        return charsBeforeBuffer + position;
+    }
+
+    /**
+     * Copies (or skips, when {@code out} is null) one complete value.
+     */
+    private void copyValue(StringBuilder out) throws IOException {
+        int first = peekNonWhitespace();
+        if (first == END_OF_INPUT) {
+            throw new IOException("Unexpected end of JSON");
+        }
+        if (first == '"') {
+            position++;
+            append(out, '"');
+            copyString(out, true);
+        } else if (first == '{' || first == '[') {
+            copyContainer(out);
+        } else {
+            copyLiteral(out);
+        }
+    }
+
+    /**
+     * Copies an array or object one buffer at a time. Strings inside it are stepped over by
+     * {@link #skipStringContent}, whose loop only looks for the closing quote, as they hold most
+     * of a container's characters.
+     */
+    private void copyContainer(StringBuilder out) throws IOException {
+        int depth = 0;
+        boolean inString = false;
+        int carriedEscape = 0;
+        while (fill()) {
+            char[] chars = buffer;
+            int start = position;
+            int end = limit;
+            int i = start + carriedEscape;
+            if (inString) {
+                i = skipStringContent(chars, i, end);
+            }
+            for (; i < end; i++) {
+                char c = chars[i];
+                if (c == '"') {
+                    i = skipStringContent(chars, i + 1, end) - 1;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth == 0) {
+                    append(out, start, i + 1);
+                    position = i + 1;
+                    return;
+                }
+            }
+            inString = i > end;
+            carriedEscape = inString ? i - end - 1 : 0;
+            append(out, start, end);
+            position = end;
+        }
+        throw new IOException("Unexpected end of JSON");
+    }
+
+    /**
+     * Steps over the content of a string up to and including its closing quote.
+     *
+     * @return the index after the closing quote, or if {@code end} comes first, {@code end + 1} plus
+     *         the number of escaped characters that spill over past {@code end}
+     */
+    private static int skipStringContent(char[] chars, int from, int end) {
+        int i = from;
+        while (i < end) {
+            char c = chars[i];
+            if (c == '"') {
+                return i + 1;
+            }
+            i += c == '\\' ? 2 : 1;
+        }
+        return i + 1;
+    }
+
+    /**
+     * Reads a string after its opening quote, copying it straight out of the buffer unless it
+     * contains escapes or crosses the end of the buffer.
+     */
+    private String readString() throws IOException {
+        for (int i = position; i < limit; i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                String value = new String(buffer, position, i - position);
+                position = i + 1;
+                return value;
+            }
+            if (c == '\\') {
+                break;
+            }
+        }
+        StringBuilder value = new StringBuilder();
+        copyString(value, false);
+        return value.toString();
+    }
+
+    /**
+     * Copies a string after its opening quote up to and including its closing quote, keeping the
+     * closing quote and escapes when {@code raw} is true, or appending only the unescaped content otherwise.
+     */
+    private void copyString(StringBuilder out, boolean raw) throws IOException {
+        while (fill()) {
+            int start = position;
+            int end = start;
+            while (end < limit && buffer[end] != '"' && buffer[end] != '\\') {
+                end++;
+            }
+            append(out, start, end);
+            position = end;
+            if (end == limit) {
+                continue;
+            }
+
+            position++;
+            if (buffer[end] == '"') {
+                if (raw) {
+                    append(out, '"');
+                }
+                return;
+            }
+            int escaped = read();
+            if (escaped == END_OF_INPUT) {
+                break;
+            }
+            if (raw) {
+                append(out, '\\');
+                append(out, (char) escaped);
+            } else {
+                append(out, unescape(escaped));
+            }
+        }
+        throw new IOException("Unterminated string in JSON");
+    }
+
+    /**
+     * Copies a number, boolean or null literal.
+     */
+    private void copyLiteral(StringBuilder out) throws IOException {
+        while (fill()) {
+            int start = position;
+            int end = start;
+            while (end < limit && !isLiteralEnd(buffer[end])) {
+                end++;
+            }
+            append(out, start, end);
+            position = end;
+            if (end < limit) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isLiteralEnd(char c) {
+        return c == ',' || c == '}' || c == ']' || Character.isWhitespace(c);
+    }
+
+    private char unescape(int escaped) throws IOException {
+        switch (escaped) {
+        case 'n':
+            return '\n';
+        case 't':
+            return '\t';
+        case 'r':
+            return '\r';
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'u':
+            int codePoint = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(read(), 16);
+                if (digit < 0) {
+                    throw new IOException("Invalid unicode escape at character " + getCharsRead());
+                }
+                codePoint = codePoint * 16 + digit;
+            }
+            return (char) codePoint;
+        default:
+            return (char) escaped;
+        }
+    }
+
+    private boolean regionEquals(String candidate, int start, int end) {
+        if (candidate.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            if (buffer[start + i] != candidate.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void expectStringStart(String message) throws IOException {
+        if (peekNonWhitespace() != '"') {
+            throw new IOException(message + " at character " + getCharsRead());
+        }
+        position++;
+    }
+
+    private void expect(char expected) throws IOException {
+        if (peekNonWhitespace() != expected) {
+            throw new IOException("Expected '" + expected + "' at character " + getCharsRead());
+        }
+        position++;
+    }
+
+    private int peekNonWhitespace() throws IOException {
+        while (fill()) {
+            char c = buffer[position];
+            if (!Character.isWhitespace(c)) {
+                return c;
+            }
+            position++;
+        }
+        return END_OF_INPUT;
+    }
+
+    private int read() throws IOException {
+        return fill() ? buffer[position++] : END_OF_INPUT;
+    }
+
+    /**
+     * Makes sure at least one unread character is buffered, refilling the buffer from the stream if needed.
+     *
+     * @return false if the input is exhausted
+     */
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (reader == null) {
+            return false;
+        }
+        int count = reader.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            return false;
+        }
+        charsBeforeBuffer += limit;
+        position = 0;
+        limit = count;
+        return true;
+    }
+
+    private void append(StringBuilder out, int start, int end) {
+        if (out != null && end > start) {
+            out.append(buffer, start, end - start);
+        }
+    }
+
+    private static void append(StringBuilder out, char c) {
+        if (out != null) {
+            out.append(c);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package modhero.common.util;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -8,96 +13,73 @@ public final class JsonUtil {
     private static final Logger logger = Logger.getLogger(JsonUtil.class.getName());
 
     /**
-     * Extracts the value associated with a given key from a JSON string.
-     * Handles both JSON objects (enclosed in {@code {}}) and string/primitive values.
+     * Extracts the values of several top-level keys from a JSON object.
+     * String values are unescaped and object values are returned as raw JSON;
+     * keys with any other kind of value are left out. Members that are not requested are skipped
+     * without being copied, and keys nested inside other values are never matched.
+     * Members are walked in order up to the last requested key. On large documents this costs more than
+     * searching the text for each key, so callers should pass JSON already projected down to the members
+     * they read, as {@code NusmodsAPIClient} does.
      *
-     * @param json The JSON string to parse.
-     * @param dataType The key name to search for in the JSON.
-     * @return The extracted value as a string, or {@code null} if the key is not found.
+     * @param json The JSON object to parse.
+     * @param keys The key names to extract.
+     * @return A map from each key found to its value, empty if the JSON is malformed.
      */
-    public static String getArg(String json, String dataType) {
-        int keyIndex = findKeyIndex(json, dataType);
-        if (keyIndex == -1) {
-            return null;
-        }
-
-        int valueStart = findValueStart(json, keyIndex);
-        char firstChar = json.charAt(valueStart);
-
-        if (firstChar == '{') {
-            return extractJsonObject(json, valueStart);
-        } else if (firstChar == '\"') {
-            return extractJsonString(json, valueStart);
+    public static Map<String, String> getArgs(CharSequence json, Set<String> keys) {
+        Map<String, String> args = new HashMap<>();
+        try {
+            JsonStreamReader jsonReader = new JsonStreamReader(json);
+            jsonReader.beginObject();
+            while (jsonReader.hasNext() && args.size() < keys.size()) {
+                String name = jsonReader.nextName(keys);
+                if (name == null || args.containsKey(name)) {
+                    jsonReader.skipValue();
+                } else if (jsonReader.isNextString()) {
+                    args.put(name, jsonReader.nextString());
+                } else if (jsonReader.isNextObject()) {
+                    args.put(name, jsonReader.nextRawValue());
+                } else {
+                    logger.log(Level.WARNING, "Invalid data structure for key: " + name);
+                    jsonReader.skipValue();
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Malformed JSON: " + e.getMessage());
+            return new HashMap<>();
         }
-
-        logger.log(Level.WARNING, "Invalid data structure for key: " + dataType);
-        return null;
-    }
-
-    /**
-     * Finds the index of a given key in a JSON string.
-     *
-     * @param json The JSON string to search in.
-     * @param key The key name to find.
-     * @return The index of the key, or {@code -1} if not found.
-     */
-    private static int findKeyIndex(String json, String key) {
-        return json.indexOf('\"' + key + '\"');
+        return args;
     }
 
     /**
-     * Finds the starting index of the value associated with a key in JSON.
-     * Skips whitespace after the colon separator.
+     * Reads a JSON object from a stream, keeping only the given top-level members.
+     * Other members are skipped as they are read, without being held in memory.
      *
-     * @param json The JSON string.
-     * @param keyIndex The index where the key was found.
-     * @return The index where the value starts, or {@code -1} if malformed.
+     * @param reader The stream holding a JSON object, which should be buffered.
+     * @param keys The names of the members to keep.
+     * @return A compact JSON object holding the kept members in their original order and raw form.
+     * @throws IOException If reading fails or the stream does not hold a JSON object.
      */
-    private static int findValueStart(String json, int keyIndex) {
-        int colonIdx = json.indexOf(':', keyIndex);
-        int idx = colonIdx + 1;
-        while (idx < json.length() && Character.isWhitespace(json.charAt(idx))) {
-            idx++;
-        }
-        return idx;
-    }
+    public static String projectObject(Reader reader, Set<String> keys) throws IOException {
+        JsonStreamReader jsonReader = new JsonStreamReader(reader);
+        StringBuilder projection = new StringBuilder("{");
 
-    /**
-     * Extracts a JSON object (enclosed in curly braces) from a JSON string.
-     * Handles nested objects by counting opening and closing braces.
-     *
-     * @param json The JSON string.
-     * @param startIdx The index where the object starts (position of opening brace).
-     * @return The extracted JSON object as a string, including the braces,
-     *         or {@code null} if the object is malformed.
-     */
-    private static String extractJsonObject(String json, int startIdx) {
-        int braceCount = 0;
-        for (int i = startIdx; i < json.length(); i++) {
-            char c = json.charAt(i);
-            if (c == '{') {
-                braceCount++;
-            } else if (c == '}') {
-                braceCount--;
-                if (braceCount == 0) {
-                    return json.substring(startIdx, i + 1);
-                }
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (!keys.contains(name)) {
+                jsonReader.skipValue();
+                continue;
             }
+            if (projection.length() > 1) {
+                projection.append(',');
+            }
+            projection.append('"').append(name).append("\":");
+            jsonReader.nextRawValue(projection);
         }
-        return null;
-    }
+        jsonReader.endObject();
 
-    /**
-     * Extracts a string value (enclosed in quotes) from a JSON string.
-     *
-     * @param json The JSON string.
-     * @param startIdx The index where the opening quote is located.
-     * @return The extracted string value without the surrounding quotes,
-     *         or {@code null} if malformed.
-     */
-    private static String extractJsonString(String json, int startIdx) {
-        int quoteStart = startIdx + 1;
-        int quoteEnd = json.indexOf('\"', quoteStart);
-        return json.substring(quoteStart, quoteEnd);
+        logger.log(Level.FINEST, () -> String.format("Projected %d of %d characters", projection.length() + 1,
+                jsonReader.getCharsRead()));
+        return projection.append('}').toString();
     }
 }
@@ -1,18 +1,47 @@
 package modhero.common.util;
 
 import modhero.data.modules.Module;
+import modhero.data.modules.ModuleCodeDictionary;
+import modhero.data.modules.PreclusionIndex;
 import modhero.exceptions.ModulePreclusionConflictException;
 
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Utility class for handling module preclusion logic.
  * This class cannot be instantiated.
  */
 public final class PreclusionUtil {
+    private static final Pattern MODULE_CODE =
+            Pattern.compile("\\b[A-Z]{2,4}(?:\\d{1,4}[A-Z]{0,3}%|\\d{4}[A-Z]{0,3}\\b)");
 
     private PreclusionUtil() { }
 
+    /**
+     * Extracts the module codes mentioned in a preclusion rule.
+     * Only whole codes are matched, so a rule mentioning CS1010S does not preclude CS1010.
+     * A code ending with a wildcard, such as {@code CS1010%}, is kept with its trailing {@code %}.
+     *
+     * @param preclusionRule the raw preclusion rule, in any letter case
+     * @return the upper-case module codes in the rule, empty if there are none
+     */
+    public static Set<String> parsePreclusionCodes(String preclusionRule) {
+        if (preclusionRule == null || preclusionRule.isBlank()) {
+            return Set.of();
+        }
+        Set<String> codes = new HashSet<>();
+        Matcher matcher = MODULE_CODE.matcher(preclusionRule.toUpperCase());
+        while (matcher.find()) {
+            codes.add(matcher.group());
+        }
+        return codes;
+    }
+
     /**
      * Validates that a module to be added does not have any preclusion conflicts
      * with modules already in the timetable.
@@ -23,20 +52,51 @@ public final class PreclusionUtil {
      */
     public static void validatePreclusions(Module moduleToAdd, List<Module> allExistingModules)
             throws ModulePreclusionConflictException {
-        String newModuleCode = moduleToAdd.getCode();
-        String newModulePreclusions = moduleToAdd.getPreclude();
+        validatePreclusions(moduleToAdd, allExistingModules, new PreclusionIndex());
+    }
 
-        if (newModulePreclusions == null || newModulePreclusions.isBlank()) {
-            return;
+    /**
+     * Validates that a module to be added does not have any preclusion conflicts with modules
+     * already in the timetable, in either direction.
+     * The modules involved are added to the index if they are not in it yet, such as modules
+     * fetched from NUSMods after the catalog was loaded.
+     *
+     * @param moduleToAdd        The new module to be added.
+     * @param allExistingModules A list of all modules currently in the timetable.
+     * @param preclusionIndex    The preclusion index to look conflicts up in.
+     * @throws ModulePreclusionConflictException if a preclusion conflict is found.
+     */
+    public static void validatePreclusions(Module moduleToAdd, List<Module> allExistingModules,
+            PreclusionIndex preclusionIndex) throws ModulePreclusionConflictException {
+        preclusionIndex.add(moduleToAdd);
+        for (Module existingModule : allExistingModules) {
+            preclusionIndex.add(existingModule);
         }
 
         for (Module existingModule : allExistingModules) {
-            String existingCode = existingModule.getCode();
-
-            // Just check if the preclusion string of the new module mentions the existing one
-            if (newModulePreclusions.toUpperCase().contains(existingCode.toUpperCase())) {
-                throw new ModulePreclusionConflictException(newModuleCode, existingCode);
+            if (preclusionIndex.isPrecluded(moduleToAdd.getCode(), existingModule.getCode())) {
+                throw new ModulePreclusionConflictException(moduleToAdd.getCode(), existingModule.getCode());
             }
         }
     }
+
+    /**
+     * Validates that a module to be added does not have any preclusion conflicts with modules
+     * already in the timetable, given their IDs. The existing modules must already be in the index.
+     *
+     * @param moduleToAdd        The new module to be added.
+     * @param existingModuleIds  IDs of all modules currently in the timetable.
+     * @param preclusionIndex    The preclusion index to look conflicts up in.
+     * @throws ModulePreclusionConflictException if a preclusion conflict is found.
+     */
+    public static void validatePreclusions(Module moduleToAdd, BitSet existingModuleIds,
+            PreclusionIndex preclusionIndex) throws ModulePreclusionConflictException {
+        preclusionIndex.add(moduleToAdd);
+
+        int precludedId = preclusionIndex.findPrecluded(moduleToAdd.getCode(), existingModuleIds).nextSetBit(0);
+        if (precludedId >= 0) {
+            throw new ModulePreclusionConflictException(moduleToAdd.getCode(),
+                    ModuleCodeDictionary.getShared().codeOf(precludedId));
+        }
+    }
 }
@@ -1,10 +1,13 @@
 package modhero.common.util;
 
+import modhero.data.modules.ModuleCodeList;
 import modhero.data.modules.Prerequisites;
+import modhero.data.modules.TakenCodes;
 import modhero.exceptions.ModuleAdditionBlockedException;
 import modhero.exceptions.ModuleDeletionBlockedException;
 import modhero.data.modules.Module;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,18 +17,6 @@ public final class PrerequisiteUtil {
 
     private PrerequisiteUtil() {} // prevent instantiation
 
-    /**
-     * Checks if a single prerequisite module code is satisfied by completed or exempted modules.
-     * Supports wildcard prefix match (ending with '%').
-     */
-    private static boolean isPrerequisiteSatisfied(String prereqCode, List<String> completedCodes, List<String> exemptedModules) {
-        if (prereqCode.endsWith("%") && prereqCode.length() > 1) {
-            String prefix = prereqCode.substring(0, prereqCode.length() - 1);
-            return completedCodes.stream().anyMatch(c -> c.startsWith(prefix));
-        }
-        return (completedCodes.contains(prereqCode) || exemptedModules.contains(prereqCode));
-    }
-
     /**
      * Checks if a set of prerequisite groups (OR logic) is satisfied.
      *
@@ -36,9 +27,11 @@ public final class PrerequisiteUtil {
      */
     public static boolean arePrerequisitesMet(List<List<String>> prereqSets, List<String> completedCodes, List <String> exemptedModules) {
         if (prereqSets == null || prereqSets.isEmpty()) return true;
-        return prereqSets.stream().anyMatch(
-                option -> option.stream().allMatch(code -> isPrerequisiteSatisfied(code, completedCodes, exemptedModules))
-        );
+        for (List<String> option : prereqSets) {
+            if (option.isEmpty()) return true;
+        }
+
+        return isSatisfied(new Prerequisites(prereqSets), takenCodesOf(completedCodes, exemptedModules));
     }
 
     /**
@@ -52,15 +45,41 @@ public final class PrerequisiteUtil {
      */
     public static void validatePrerequisites(String moduleCode, Prerequisites prereqs, List<String> completedCodes, List<String> exemptedModules)
             throws ModuleAdditionBlockedException{
-        if (prereqs == null || prereqs.getPrereq() == null || prereqs.getPrereq().isEmpty()) return;
+        if (prereqs == null || prereqs.isEmpty()) return;
+
+        validatePrerequisites(moduleCode, prereqs, takenCodesOf(completedCodes, exemptedModules));
+    }
 
-        boolean satisfied = arePrerequisitesMet(prereqs.getPrereq(), completedCodes, exemptedModules);
+    /**
+     * Validates that a module's prerequisites are satisfied by the given completed and exempted modules.
+     *
+     * @param moduleCode the module being added
+     * @param prereqs its prerequisites object
+     * @param taken the completed and exempted module codes
+     * @throws ModuleAdditionBlockedException if prerequisites are not satisfied
+     */
+    public static void validatePrerequisites(String moduleCode, Prerequisites prereqs, TakenCodes taken)
+            throws ModuleAdditionBlockedException {
+        if (prereqs == null || prereqs.isEmpty()) return;
 
-        if (!satisfied) {
+        if (!isSatisfied(prereqs, taken)) {
             throw new ModuleAdditionBlockedException(moduleCode, prereqs.toString());
         }
     }
 
+    /**
+     * Checks whether prerequisites are satisfied, using their compiled bitmasks.
+     * Exact and wildcard codes are both met by a completed or an exempted module.
+     *
+     * @param prereqs the prerequisites to check
+     * @param taken the completed and exempted module codes
+     * @return true if there are no prerequisites or they are satisfied
+     */
+    public static boolean isSatisfied(Prerequisites prereqs, TakenCodes taken) {
+        if (prereqs == null || prereqs.isEmpty()) return true;
+        return prereqs.getCompiled().isSatisfiedBy(taken);
+    }
+
     /**
      * Validates that deleting a module does not break future modules' prerequisites.
      *
@@ -73,18 +92,35 @@ public final class PrerequisiteUtil {
     public static void validateFutureDependencies(String moduleCodeToDelete, List<Module> futureModules,
                                                   List<String> completedCodes, List<String> exemptedModules)
             throws ModuleDeletionBlockedException {
+        validateFutureDependencies(moduleCodeToDelete, futureModules, takenCodesOf(completedCodes, exemptedModules));
+    }
+
+    /**
+     * Validates that deleting a module does not break future modules' prerequisites,
+     * given the modules that remain completed and the exempted modules.
+     *
+     * @param moduleCodeToDelete the module being deleted
+     * @param futureModules modules scheduled after the target module
+     * @param taken the codes of modules completed without the deleted module, and of exempted modules
+     * @throws ModuleDeletionBlockedException listing every future module whose prerequisites deletion breaks
+     */
+    public static void validateFutureDependencies(String moduleCodeToDelete, List<Module> futureModules,
+                                                  TakenCodes taken)
+            throws ModuleDeletionBlockedException {
+        List<String> blockedModules = new ArrayList<>();
         for (Module futureModule : futureModules) {
-            try {
-                PrerequisiteUtil.validatePrerequisites(
-                        futureModule.getCode(),
-                        futureModule.getPrerequisites(),
-                        completedCodes,
-                        exemptedModules
-                );
-            } catch (ModuleAdditionBlockedException e) {
-                throw new ModuleDeletionBlockedException(moduleCodeToDelete, futureModule.getCode());
+            if (!isSatisfied(futureModule.getPrerequisites(), taken)) {
+                blockedModules.add(futureModule.getCode());
             }
         }
+        if (!blockedModules.isEmpty()) {
+            throw new ModuleDeletionBlockedException(moduleCodeToDelete, blockedModules);
+        }
+    }
+
+    private static TakenCodes takenCodesOf(List<String> completedCodes, List<String> exemptedModules) {
+        return TakenCodes.of(ModuleCodeList.idsOf(completedCodes), ModuleCodeList.sortedCodesOf(completedCodes),
+                ModuleCodeList.idsOf(exemptedModules), ModuleCodeList.sortedCodesOf(exemptedModules));
     }
 
     /**
@@ -95,6 +131,6 @@ public final class PrerequisiteUtil {
      * @return true if the module is exempted
      */
     public static boolean isExemptedModule(String moduleCode, List<String> exemptedModules) {
-        return exemptedModules.contains(moduleCode);
+        return exemptedModules.contains(moduleCode); // a bitset lookup for a ModuleCodeList
     }
 }
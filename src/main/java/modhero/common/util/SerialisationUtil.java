@@ -2,6 +2,8 @@ package modhero.common.util;
 
 import modhero.common.Constants.FormatConstants;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -10,10 +12,24 @@ import java.util.logging.Logger;
  * Provides utility methods for serialising strings and string lists into a
  * length-prefixed format suitable for persistent storage.
  * Serialisation Format: [length of content][START_DELIMITER][content][END_DELIMITER]
+ * The {@code append} methods write the same format straight to an {@link Appendable}, so nested
+ * messages can be streamed out once their content lengths are known.
  */
 public class SerialisationUtil {
     private static final Logger logger = Logger.getLogger(SerialisationUtil.class.getName());
 
+    /** Decimal forms of small integers, so that lengths and counts are written with one append each. */
+    private static final String[] SMALL_DECIMALS = new String[1024];
+    /** Length prefixes of content shorter than {@code SMALL_DECIMALS.length}, start delimiter included. */
+    private static final String[] SMALL_PREFIXES = new String[SMALL_DECIMALS.length];
+
+    static {
+        for (int i = 0; i < SMALL_DECIMALS.length; i++) {
+            SMALL_DECIMALS[i] = Integer.toString(i);
+            SMALL_PREFIXES[i] = i + FormatConstants.START_DELIMITER;
+        }
+    }
+
     /**
      * Serialises a list of strings into a format suitable for file storage.
      *
@@ -24,11 +40,21 @@ public class SerialisationUtil {
         assert messageList != null : "serialiseList message list must not be null";
         logger.log(Level.FINEST, "Serialising list");
 
-        StringBuilder stringBuilder = new StringBuilder();
+        int contentLength = 0;
         for (String message : messageList) {
-            stringBuilder.append(serialiseMessage(message));
+            contentLength += messageLength(message.length());
         }
-        String serialisedList = serialiseMessage(stringBuilder.toString());
+        StringBuilder stringBuilder = new StringBuilder(messageLength(contentLength));
+        try {
+            appendStart(stringBuilder, contentLength);
+            for (String message : messageList) {
+                appendMessage(stringBuilder, message);
+            }
+            appendEnd(stringBuilder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        String serialisedList = stringBuilder.toString();
 
         logger.log(Level.FINEST, "Successful serialising list");
         return serialisedList;
@@ -43,9 +69,124 @@ public class SerialisationUtil {
     public static String serialiseMessage(String message) {
         assert message != null : "serialiseMessage message must not be null";
 
-        String serialisedMessage = message.length() + FormatConstants.START_DELIMITER + message + FormatConstants.END_DELIMITER;
+        StringBuilder serialisedMessage = new StringBuilder(messageLength(message.length()));
+        try {
+            appendMessage(serialisedMessage, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
 
-        logger.log(Level.FINEST, "Successful serialising message: " + serialisedMessage);
-        return serialisedMessage;
+        logger.log(Level.FINEST, () -> "Successful serialising message: " + serialisedMessage);
+        return serialisedMessage.toString();
+    }
+
+    /**
+     * Writes a single string in serialised form, without building the serialised string first.
+     *
+     * @param out where the serialised message is written
+     * @param message the characters to serialise
+     * @throws IOException if writing to {@code out} fails
+     */
+    public static void appendMessage(Appendable out, CharSequence message) throws IOException {
+        assert message != null : "appendMessage message must not be null";
+
+        appendStart(out, message.length());
+        out.append(message);
+        appendEnd(out);
+    }
+
+    /**
+     * Writes the decimal form of an integer in serialised form, without converting it to a string.
+     *
+     * @param out where the serialised message is written
+     * @param value the integer to serialise
+     * @throws IOException if writing to {@code out} fails
+     */
+    public static void appendMessage(Appendable out, int value) throws IOException {
+        appendStart(out, decimalLength(value));
+        appendDecimal(out, value);
+        appendEnd(out);
+    }
+
+    /**
+     * Writes the length prefix and start delimiter of a message whose content is written next.
+     * The content must be exactly {@code contentLength} characters and be followed by {@link #appendEnd}.
+     *
+     * @param out where the prefix is written
+     * @param contentLength the number of characters in the content
+     * @throws IOException if writing to {@code out} fails
+     */
+    public static void appendStart(Appendable out, int contentLength) throws IOException {
+        assert contentLength >= 0 : "appendStart contentLength must not be negative";
+
+        if (contentLength < SMALL_PREFIXES.length) {
+            out.append(SMALL_PREFIXES[contentLength]);
+            return;
+        }
+        appendDecimal(out, contentLength);
+        out.append(FormatConstants.START_DELIMITER);
+    }
+
+    /**
+     * Writes the end delimiter of a message started with {@link #appendStart}.
+     *
+     * @param out where the delimiter is written
+     * @throws IOException if writing to {@code out} fails
+     */
+    public static void appendEnd(Appendable out) throws IOException {
+        out.append(FormatConstants.END_DELIMITER);
+    }
+
+    /**
+     * Returns the number of characters in the serialised form of content of the given length.
+     *
+     * @param contentLength the number of characters in the content
+     * @return the length of the serialised message
+     */
+    public static int messageLength(int contentLength) {
+        return decimalLength(contentLength) + FormatConstants.START_DELIMITER.length() + contentLength
+                + FormatConstants.END_DELIMITER.length();
+    }
+
+    /**
+     * Returns the number of characters in the decimal form of an integer, as given by {@link Integer#toString(int)}.
+     *
+     * @param value the integer
+     * @return the number of characters, including any minus sign
+     */
+    public static int decimalLength(int value) {
+        if (value < 0) {
+            return value == Integer.MIN_VALUE ? 11 : 1 + decimalLength(-value);
+        }
+        int length = 1;
+        for (long bound = 10; bound <= value; bound *= 10) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Writes the decimal form of an integer, digit by digit unless it is small.
+     */
+    private static void appendDecimal(Appendable out, int value) throws IOException {
+        if (value >= 0 && value < SMALL_DECIMALS.length) {
+            out.append(SMALL_DECIMALS[value]);
+            return;
+        }
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                out.append(Integer.toString(value));
+                return;
+            }
+            out.append('-');
+            value = -value;
+        }
+        int divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
     }
 }
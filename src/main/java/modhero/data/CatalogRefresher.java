@@ -0,0 +1,193 @@
+package modhero.data;
+
+import modhero.common.Constants.AcademicConstants;
+import modhero.common.Constants.NusmodsConstants;
+import modhero.data.modules.Module;
+import modhero.data.nusmods.NusmodsAPIClient;
+import modhero.data.timetable.Timetable;
+import modhero.parser.ModuleParser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Revalidates the modules the user works with against NUSMods while the application waits for input.
+ * <p>
+ * At a low rate with random jitter, the refresher fetches one of the modules in the timetable,
+ * but only while no command is running. Each fetch is sent to the server even while the cached copy is
+ * within its time-to-live, conditional on that copy, so an unchanged module costs a 304 response. Modules that changed upstream are queued and
+ * swapped into the application data by {@link #applyUpdates(Map, Timetable)} on the main thread,
+ * so a command never sees a half-applied refresh and never waits on one.
+ * </p>
+ */
+public class CatalogRefresher {
+    private static final Logger logger = Logger.getLogger(CatalogRefresher.class.getName());
+
+    private final NusmodsAPIClient client;
+    private final ModuleParser parser = new ModuleParser();
+    private final ScheduledExecutorService scheduler;
+    private final long intervalMillis;
+    private final long jitterMillis;
+    private final Random random = new Random();
+
+    private final Queue<Module> refreshedModules = new ConcurrentLinkedQueue<>();
+    private volatile boolean isIdle;
+    private volatile Map<String, Module> touchedModules = Map.of();
+    private final Deque<String> pendingCodes = new ArrayDeque<>();
+
+    /**
+     * Creates a refresher that fetches through the given client on the given scheduler.
+     *
+     * @param client the client used to revalidate modules
+     * @param scheduler runs the refresh ticks
+     * @param intervalMillis the minimum time between two refreshes
+     * @param jitterMillis the maximum random time added to each interval
+     */
+    public CatalogRefresher(NusmodsAPIClient client, ScheduledExecutorService scheduler,
+                            long intervalMillis, long jitterMillis) {
+        assert client != null && scheduler != null : "CatalogRefresher arguments must not be null";
+        this.client = client;
+        this.scheduler = scheduler;
+        this.intervalMillis = intervalMillis;
+        this.jitterMillis = jitterMillis;
+    }
+
+    /**
+     * Creates a refresher with the default client and rate, running on its own daemon thread.
+     *
+     * @return the refresher, which is yet to be started
+     */
+    public static CatalogRefresher createDefault() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new CatalogRefresher(new NusmodsAPIClient(), scheduler,
+                TimeUnit.SECONDS.toMillis(NusmodsConstants.REFRESH_INTERVAL_SECONDS),
+                TimeUnit.SECONDS.toMillis(NusmodsConstants.REFRESH_JITTER_SECONDS));
+    }
+
+    /**
+     * Schedules the first refresh.
+     */
+    public void start() {
+        scheduleNextRefresh();
+        logger.log(Level.INFO, "Catalog refresher started");
+    }
+
+    /**
+     * Stops refreshing. Refreshes already queued can still be applied.
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Marks the application as waiting for input, allowing refreshes to run.
+     *
+     * @param modules the modules the user currently works with, which are the ones refreshed
+     */
+    public void markIdle(Collection<Module> modules) {
+        Map<String, Module> snapshot = new LinkedHashMap<>();
+        for (Module module : modules) {
+            snapshot.put(module.getCode(), module);
+        }
+        touchedModules = snapshot;
+        isIdle = true;
+    }
+
+    /**
+     * Marks the application as running a command, holding back refreshes until it is idle again.
+     */
+    public void markBusy() {
+        isIdle = false;
+    }
+
+    /**
+     * Swaps refreshed modules into the application data. Must be called from the thread that runs commands.
+     *
+     * @param allModulesData mapping of module codes to Module objects
+     * @param timetable the timetable whose scheduled modules are replaced
+     * @return codes of the modules that were refreshed
+     */
+    public List<String> applyUpdates(Map<String, Module> allModulesData, Timetable timetable) {
+        List<String> refreshedCodes = new ArrayList<>();
+        Module module;
+        while ((module = refreshedModules.poll()) != null) {
+            allModulesData.put(module.getCode(), module);
+            timetable.replaceModule(module);
+            refreshedCodes.add(module.getCode());
+        }
+        if (!refreshedCodes.isEmpty()) {
+            logger.log(Level.INFO, "Applied refreshed module data: " + refreshedCodes);
+        }
+        return refreshedCodes;
+    }
+
+    /**
+     * Revalidates the next touched module if the application is idle.
+     * Runs on the scheduler thread; package-private so that tests can drive it directly.
+     */
+    void refreshNext() {
+        if (!isIdle) {
+            return;
+        }
+
+        Map<String, Module> modules = touchedModules;
+        String code = nextCode(modules);
+        if (code == null) {
+            return;
+        }
+
+        try {
+            Module fetched = parser.parseModule(client.revalidateModuleAsync(AcademicConstants.ACAD_YEAR, code).join());
+            Module current = modules.get(code);
+            if (fetched == null || current == null) {
+                return;
+            }
+            Module refreshed = new Module(fetched.getCode(), fetched.getName(), fetched.getMc(), current.getType(),
+                    fetched.getPreclude(), fetched.getPrerequisites());
+            if (!refreshed.toFormatedString().equals(current.toFormatedString())) {
+                refreshedModules.add(refreshed);
+                logger.log(Level.INFO, "Module changed upstream: " + code);
+            } else {
+                logger.log(Level.FINE, () -> "Module unchanged upstream: " + code);
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE, "Failed to refresh module " + code, e);
+        }
+    }
+
+    /**
+     * Takes the next code of a round over the touched modules, starting a new round when one ends.
+     */
+    private String nextCode(Map<String, Module> modules) {
+        pendingCodes.removeIf(code -> !modules.containsKey(code));
+        if (pendingCodes.isEmpty()) {
+            pendingCodes.addAll(modules.keySet());
+        }
+        return pendingCodes.poll();
+    }
+
+    private void scheduleNextRefresh() {
+        long delayMillis = intervalMillis + (jitterMillis > 0 ? (long) (random.nextDouble() * jitterMillis) : 0);
+        scheduler.schedule(() -> {
+            refreshNext();
+            scheduleNextRefresh();
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+}
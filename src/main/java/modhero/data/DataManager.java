@@ -3,12 +3,14 @@ package modhero.data;
 import modhero.exceptions.CorruptedDataFileException;
 import modhero.data.major.Major;
 import modhero.data.modules.Module;
+import modhero.data.modules.ModuleCodeList;
+import modhero.data.modules.PreclusionIndex;
 import modhero.storage.MajorStorage;
 import modhero.storage.ModuleStorage;
+import modhero.data.timetable.PlanViolation;
 import modhero.data.timetable.Timetable;
 import modhero.storage.SaveStorage;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,9 +24,13 @@ public class DataManager {
     private static final Logger logger = Logger.getLogger(DataManager.class.getName());
 
     private final Timetable timetable;
+    private final PreclusionIndex preclusionIndex;
     private final Map<String, Module> allModulesData;
     private final Map<String, Major> allMajorsData;
     private final List<String> exemptedModules;
+    private final ExemptionVerifier exemptionVerifier;
+    private CatalogRefresher catalogRefresher;
+    private List<PlanViolation> loadedPlanViolations = List.of();
 
     /**
      * Creates a new DataManager with specified storage paths.
@@ -33,10 +39,12 @@ public class DataManager {
      * @param majorPath Path to major data storage.
      */
     public DataManager(String modulesPath, String majorPath, String timetablePath) {
-        this.timetable = new Timetable();
+        this.preclusionIndex = new PreclusionIndex();
+        this.timetable = new Timetable(preclusionIndex);
         this.allModulesData = new HashMap<>();
         this.allMajorsData = new HashMap<>();
-        this.exemptedModules = new ArrayList<>();
+        this.exemptedModules = new ModuleCodeList();
+        this.exemptionVerifier = new ExemptionVerifier();
         initializeData(modulesPath, majorPath, timetablePath);
     }
 
@@ -48,11 +56,14 @@ public class DataManager {
             ModuleStorage moduleStorage = new ModuleStorage(modulesPath);
             MajorStorage majorStorage = new MajorStorage(majorPath);
             moduleStorage.load(allModulesData);
+            preclusionIndex.addAll(allModulesData.values());
             majorStorage.load(allModulesData, allMajorsData);
             logger.log(Level.INFO, "Data loaded successfully");
             SaveStorage saveStorage = new SaveStorage(timetablePath);
             saveStorage.setLoadData(allModulesData, exemptedModules);
             saveStorage.load(timetable);
+            loadedPlanViolations = saveStorage.getPlanViolations();
+            exemptionVerifier.verify(saveStorage.getProvisionalExemptions());
         } catch (CorruptedDataFileException e) {
             timetable.clearTimetable();
             exemptedModules.clear();
@@ -61,6 +72,49 @@ public class DataManager {
         }
     }
 
+    /**
+     * Starts revalidating the modules in the timetable against NUSMods while the application is idle.
+     *
+     * @param catalogRefresher the refresher to start
+     */
+    public void startCatalogRefresh(CatalogRefresher catalogRefresher) {
+        this.catalogRefresher = catalogRefresher;
+        catalogRefresher.start();
+    }
+
+    /**
+     * Marks the application as waiting for input, letting background refreshes run.
+     */
+    public void markIdle() {
+        if (catalogRefresher != null) {
+            catalogRefresher.markIdle(timetable.getAllModules());
+        }
+    }
+
+    /**
+     * Marks the application as running a command, holding back background refreshes.
+     */
+    public void markBusy() {
+        if (catalogRefresher != null) {
+            catalogRefresher.markBusy();
+        }
+    }
+
+    /**
+     * Applies the results of background work, such as verification of provisional exemptions
+     * and refreshed module data.
+     * Must be called from the thread that runs commands, before the data is handed to a command.
+     *
+     * @return codes of the modules whose data was refreshed
+     */
+    public List<String> applyBackgroundUpdates() {
+        exemptionVerifier.applyResults(allModulesData, exemptedModules);
+        if (catalogRefresher == null) {
+            return List.of();
+        }
+        return catalogRefresher.applyUpdates(allModulesData, timetable);
+    }
+
     // Getters
     public Timetable getTimetable() {
         return timetable;
@@ -77,4 +131,9 @@ public class DataManager {
     public List<String> getExemptedModules() {
         return exemptedModules;
     }
+
+    /** @return the violations found when the saved plan was loaded, empty if it was valid */
+    public List<PlanViolation> getLoadedPlanViolations() {
+        return loadedPlanViolations;
+    }
 }
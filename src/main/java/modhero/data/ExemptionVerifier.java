@@ -0,0 +1,86 @@
+package modhero.data;
+
+import modhero.common.Constants.AcademicConstants;
+import modhero.data.modules.Module;
+import modhero.data.nusmods.ModuleRetriever;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Verifies exempted modules that are not in the local module data against NUSMods in the background.
+ * <p>
+ * Such exemptions are accepted provisionally when the save file is loaded, so startup never waits
+ * on the network. Lookups complete on background threads, but their outcomes are only queued there;
+ * they are applied to the application data by {@link #applyResults(Map, List)} on the main thread.
+ * Exemptions NUSMods does not know are dropped, while exemptions that could not be checked because
+ * NUSMods is unreachable are kept.
+ * </p>
+ */
+public class ExemptionVerifier {
+    private static final Logger logger = Logger.getLogger(ExemptionVerifier.class.getName());
+
+    private final ModuleRetriever moduleRetriever;
+    private final Queue<Module> verifiedModules = new ConcurrentLinkedQueue<>();
+    private final Queue<String> rejectedCodes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a verifier that looks modules up through the shared retriever.
+     */
+    public ExemptionVerifier() {
+        this(ModuleRetriever.getShared());
+    }
+
+    /**
+     * Creates a verifier that looks modules up through the given retriever.
+     *
+     * @param moduleRetriever the retriever used to look up provisional exemptions
+     */
+    public ExemptionVerifier(ModuleRetriever moduleRetriever) {
+        assert moduleRetriever != null : "ExemptionVerifier moduleRetriever must not be null";
+        this.moduleRetriever = moduleRetriever;
+    }
+
+    /**
+     * Starts looking up each provisional exemption without blocking the calling thread.
+     *
+     * @param provisionalCodes module codes that were exempted but are not in the local module data
+     */
+    public void verify(List<String> provisionalCodes) {
+        for (String code : provisionalCodes) {
+            moduleRetriever.getModuleAsync(AcademicConstants.ACAD_YEAR, code).whenComplete((module, error) -> {
+                if (error != null) {
+                    logger.log(Level.INFO, "Keeping unverified exemption " + code + " as NUSMods is unreachable");
+                } else if (module == null) {
+                    rejectedCodes.add(code);
+                } else {
+                    verifiedModules.add(module);
+                }
+            });
+        }
+        logger.log(Level.FINE, () -> "Verifying " + provisionalCodes.size() + " provisional exemptions");
+    }
+
+    /**
+     * Applies the outcomes of completed lookups. Must be called from the thread that owns the data.
+     *
+     * @param allModulesData mapping of module codes to Module objects, which verified modules are added to
+     * @param exemptedModules list of exempted module codes, which rejected exemptions are removed from
+     */
+    public void applyResults(Map<String, Module> allModulesData, List<String> exemptedModules) {
+        Module module;
+        while ((module = verifiedModules.poll()) != null) {
+            allModulesData.putIfAbsent(module.getCode(), module);
+        }
+
+        String code;
+        while ((code = rejectedCodes.poll()) != null) {
+            exemptedModules.remove(code);
+            logger.log(Level.WARNING, "Removed exemption not recognised by NUSMods: " + code);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package modhero.data.modules;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A prerequisite tree compiled into bitmasks over {@link ModuleCodeDictionary} IDs.
+ * Each AND/OR/N_OF node keeps the IDs of its module code children as a sparse mask of 64-bit words,
+ * so the number of those children already taken is a popcount of a few ANDed words instead of a
+ * lookup per code. Nested groups and wildcard codes are evaluated after the mask, and only when the
+ * mask alone does not decide the node.
+ */
+public final class CompiledPrerequisites {
+    private final int required;
+    private final int[] wordIndices;
+    private final long[] wordMasks;
+    private final String[] prefixes;
+    private final CompiledPrerequisites[] groups;
+
+    private CompiledPrerequisites(int required, int[] wordIndices, long[] wordMasks,
+                                  String[] prefixes, CompiledPrerequisites[] groups) {
+        this.required = required;
+        this.wordIndices = wordIndices;
+        this.wordMasks = wordMasks;
+        this.prefixes = prefixes;
+        this.groups = groups;
+    }
+
+    /**
+     * Compiles a prerequisite tree.
+     *
+     * @param tree the tree; a single module code is compiled as a group requiring that code
+     * @return the compiled tree
+     */
+    public static CompiledPrerequisites compile(PrerequisiteNode tree) {
+        assert tree != null : "CompiledPrerequisites tree must not be null";
+
+        List<PrerequisiteNode> children = tree.getType() == PrerequisiteNode.Type.MODULE
+                ? List.of(tree) : tree.getChildren();
+
+        BitSet codeIds = new BitSet();
+        List<String> prefixes = new ArrayList<>();
+        List<CompiledPrerequisites> groups = new ArrayList<>();
+        for (PrerequisiteNode child : children) {
+            if (child.getType() != PrerequisiteNode.Type.MODULE) {
+                groups.add(compile(child));
+            } else if (child.isWildcard()) {
+                prefixes.add(child.getCode().substring(0, child.getCode().length() - PrerequisiteNode.WILDCARD_SUFFIX.length()));
+            } else {
+                codeIds.set(child.getCodeId());
+            }
+        }
+
+        long[] words = codeIds.toLongArray();
+        int nonZeroWords = 0;
+        for (long word : words) {
+            nonZeroWords += word != 0 ? 1 : 0;
+        }
+        int[] wordIndices = new int[nonZeroWords];
+        long[] wordMasks = new long[nonZeroWords];
+        for (int i = 0, k = 0; i < words.length; i++) {
+            if (words[i] != 0) {
+                wordIndices[k] = i;
+                wordMasks[k++] = words[i];
+            }
+        }
+
+        // PrerequisiteNode drops repeated children and clamps N_OF, so every child is one distinct bit or entry
+        assert tree.getRequired() <= codeIds.cardinality() + prefixes.size() + groups.size()
+                : "CompiledPrerequisites node requires more children than it has";
+        return new CompiledPrerequisites(tree.getRequired(), wordIndices, wordMasks,
+                prefixes.toArray(new String[0]), groups.toArray(new CompiledPrerequisites[0]));
+    }
+
+    /**
+     * Evaluates the compiled tree.
+     *
+     * @param taken IDs of the module codes that count as taken
+     * @param isPrefixTaken tells whether a wildcard code's prefix is met, given the prefix without the wildcard
+     * @return true if the prerequisites are satisfied
+     */
+    public boolean isSatisfiedBy(BitSet taken, Predicate<String> isPrefixTaken) {
+        return isSatisfiedBy(taken.toLongArray(), isPrefixTaken);
+    }
+
+    /**
+     * Evaluates the compiled tree against taken codes, looking up wildcard prefixes in their sorted index.
+     *
+     * @param taken the completed and exempted module codes
+     * @return true if the prerequisites are satisfied
+     */
+    public boolean isSatisfiedBy(TakenCodes taken) {
+        return isSatisfiedBy(taken.getWords(), taken::hasCodeWithPrefix);
+    }
+
+    /**
+     * Evaluates the compiled tree against taken IDs given as the words of a bitset, as returned by
+     * {@link BitSet#toLongArray()}, so that one conversion can serve many evaluations.
+     *
+     * @param takenWords words of the set of taken module code IDs
+     * @param isPrefixTaken tells whether a wildcard code's prefix is met, given the prefix without the wildcard
+     * @return true if the prerequisites are satisfied
+     */
+    public boolean isSatisfiedBy(long[] takenWords, Predicate<String> isPrefixTaken) {
+        int satisfied = 0;
+        for (int k = 0; k < wordIndices.length; k++) {
+            int index = wordIndices[k];
+            if (index < takenWords.length) {
+                satisfied += Long.bitCount(takenWords[index] & wordMasks[k]);
+            }
+        }
+        if (satisfied >= required) {
+            return true;
+        }
+
+        int remaining = groups.length + prefixes.length;
+        for (CompiledPrerequisites group : groups) {
+            if (satisfied + remaining < required) {
+                return false;
+            }
+            remaining--;
+            if (group.isSatisfiedBy(takenWords, isPrefixTaken) && ++satisfied >= required) {
+                return true;
+            }
+        }
+        for (String prefix : prefixes) {
+            if (satisfied + remaining < required) {
+                return false;
+            }
+            remaining--;
+            if (isPrefixTaken.test(prefix) && ++satisfied >= required) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,8 +1,12 @@
 package modhero.data.modules;
 
+import modhero.common.util.PreclusionUtil;
 import modhero.common.util.SerialisationUtil;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,11 +18,13 @@ public class Module {
     public static final Logger logger = Logger.getLogger(Module.class.getName());
 
     private String code;    // e.g. CS2113
+    private int id;         // dense ID of the code in the ModuleCodeDictionary
     private String name;    // e.g. Software Engineering
     private int mc;         // e.g. modular credits
     private String type;    // e.g. core, elective, etc.
     private String preclude;    // e.g. core, elective, etc.
     private Prerequisites prerequisites; // e.g. ["CS1010", "CS1231"]
+    private Set<String> preclusionCodes; // parsed from preclude on first use
 
     /**
      * Creates a new Module object.
@@ -37,7 +43,8 @@ public class Module {
         assert preclude != null : "Module preclusion must not be empty";
         assert prerequisites != null : "Prerequisites list must not be null";
 
-        this.code = code;
+        this.id = ModuleCodeDictionary.getShared().idOf(code);
+        this.code = ModuleCodeDictionary.getShared().codeOf(id);
         this.name = name;
         this.mc = mc;
         this.type = type;
@@ -57,7 +64,8 @@ public class Module {
         assert preclude != null : "Module preclusion must not be empty";
         assert prerequisites != null : "Prerequisites list must not be null";
 
-        this.code = code;
+        this.id = ModuleCodeDictionary.getShared().idOf(code);
+        this.code = ModuleCodeDictionary.getShared().codeOf(id);
         this.name = name;
         this.mc = mc;
         this.type = type;
@@ -72,6 +80,11 @@ public class Module {
         return code;
     }
 
+    /** @return the ID of the module code in the shared {@link ModuleCodeDictionary} */
+    public int getId() {
+        return id;
+    }
+
     /** @return the module name */
     public String getName() {
         return name;
@@ -92,6 +105,14 @@ public class Module {
         return preclude;
     }
 
+    /** @return the module codes mentioned in the preclusion string, parsed once */
+    public Set<String> getPreclusionCodes() {
+        if (preclusionCodes == null) {
+            preclusionCodes = PreclusionUtil.parsePreclusionCodes(preclude);
+        }
+        return preclusionCodes;
+    }
+
     /** @return the list of prerequisite module codes */
     public Prerequisites getPrerequisites() {
         return prerequisites;
@@ -103,17 +124,35 @@ public class Module {
      * @return the serialized module string
      */
     public String toFormatedString() {
-        logger.log(Level.FINEST, "Serialising module: " + code);
-
-        String formattedString = SerialisationUtil.serialiseMessage(code)
-                + SerialisationUtil.serialiseMessage(name)
-                + SerialisationUtil.serialiseMessage(Integer.toString(mc))
-                + SerialisationUtil.serialiseMessage(type)
-                + SerialisationUtil.serialiseMessage(preclude)
-                + SerialisationUtil.serialiseMessage(prerequisites.toFormatedString());
+        StringBuilder builder = new StringBuilder();
+        try {
+            writeFormatted(builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        return builder.toString();
+    }
 
-        logger.log(Level.FINEST, "Successful serialising module: " + code);
-        return formattedString;
+    /**
+     * Writes the representation given by {@link #toFormatedString()} field by field,
+     * without building the serialized string first.
+     *
+     * @param out where the serialized module is written
+     * @throws IOException if writing to {@code out} fails
+     */
+    public void writeFormatted(Appendable out) throws IOException {
+        logger.log(Level.FINEST, () -> "Serialising module: " + code);
+
+        SerialisationUtil.appendMessage(out, code);
+        SerialisationUtil.appendMessage(out, name);
+        SerialisationUtil.appendMessage(out, mc);
+        SerialisationUtil.appendMessage(out, type);
+        SerialisationUtil.appendMessage(out, preclude);
+        SerialisationUtil.appendStart(out, prerequisites.formattedLength());
+        prerequisites.writeFormatted(out);
+        SerialisationUtil.appendEnd(out);
+
+        logger.log(Level.FINEST, () -> "Successful serialising module: " + code);
     }
 
     @Override
@@ -125,6 +164,11 @@ public class Module {
             return false;
         }
         Module module = (Module) obj;
-        return code.equals(module.code);
+        return id == module.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
     }
 }
@@ -0,0 +1,102 @@
+package modhero.data.modules;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every module code a dense integer ID, so that module codes can be compared and
+ * looked up as array or bitset indices instead of strings.
+ * Codes are canonicalised to trimmed upper case, and each canonical code is held as a single
+ * shared string instance. IDs are assigned on first sight, which for catalog modules is when
+ * the catalog is loaded, and are never reused.
+ */
+public final class ModuleCodeDictionary {
+    /** ID returned for codes that have not been assigned one. */
+    public static final int NO_ID = -1;
+
+    private static final int INITIAL_CAPACITY = 8192;
+    private static final ModuleCodeDictionary shared = new ModuleCodeDictionary();
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>(INITIAL_CAPACITY);
+    private volatile String[] codes = new String[INITIAL_CAPACITY];
+    private int size;
+
+    ModuleCodeDictionary() {
+    }
+
+    /**
+     * Returns the dictionary shared by the whole application.
+     *
+     * @return the shared dictionary
+     */
+    public static ModuleCodeDictionary getShared() {
+        return shared;
+    }
+
+    /**
+     * Returns the ID of a module code, assigning the next free ID if the code is new.
+     *
+     * @param code the module code, in any letter case
+     * @return the ID of the canonical code
+     */
+    public int idOf(String code) {
+        String canonical = normalise(code);
+        Integer id = ids.get(canonical);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(canonical);
+            if (id == null) {
+                id = size;
+                if (size == codes.length) {
+                    codes = Arrays.copyOf(codes, size * 2);
+                }
+                codes[size++] = canonical;
+                ids.put(canonical, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the ID of a module code without assigning one.
+     *
+     * @param code the module code, in any letter case
+     * @return the ID, or {@link #NO_ID} if the code has never been seen
+     */
+    public int findId(String code) {
+        return ids.getOrDefault(normalise(code), NO_ID);
+    }
+
+    /**
+     * Returns the canonical code of an ID.
+     *
+     * @param id an ID returned by {@link #idOf}
+     * @return the canonical upper-case code
+     */
+    public String codeOf(int id) {
+        return codes[id];
+    }
+
+    /**
+     * Returns the shared canonical instance of a module code, assigning it an ID if it is new.
+     *
+     * @param code the module code, in any letter case
+     * @return the canonical upper-case code
+     */
+    public String canonical(String code) {
+        return codeOf(idOf(code));
+    }
+
+    /** @return the number of IDs assigned so far */
+    public synchronized int size() {
+        return size;
+    }
+
+    private static String normalise(String code) {
+        assert code != null : "ModuleCodeDictionary code must not be null";
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+}
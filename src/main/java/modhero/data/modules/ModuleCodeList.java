@@ -0,0 +1,206 @@
+package modhero.data.modules;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.RandomAccess;
+import java.util.TreeSet;
+
+/**
+ * An ordered list of distinct module codes, held as IDs from the {@link ModuleCodeDictionary}.
+ * Codes are canonicalised when added and a code already in the list is not added again, so
+ * membership checks are a single bitset lookup. The codes are also kept sorted, so that a search
+ * for any code with a given prefix is logarithmic.
+ */
+public class ModuleCodeList extends AbstractList<String> implements RandomAccess {
+    private final ModuleCodeDictionary dictionary;
+    private final BitSet members = new BitSet();
+    private final NavigableSet<String> sortedCodes = new TreeSet<>();
+    private int[] ids = new int[8];
+    private int size;
+
+    /** Creates an empty list over the shared dictionary. */
+    public ModuleCodeList() {
+        this(ModuleCodeDictionary.getShared());
+    }
+
+    /**
+     * Creates a list holding the given codes, in order and without duplicates.
+     *
+     * @param codes the module codes
+     */
+    public ModuleCodeList(Collection<String> codes) {
+        this();
+        addAll(codes);
+    }
+
+    ModuleCodeList(ModuleCodeDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Creates a bitset of the IDs of the given codes, reusing the list's own bitset when the
+     * codes are already a {@code ModuleCodeList}. Codes not yet in the dictionary are assigned an ID.
+     *
+     * @param codes the module codes
+     * @return the IDs of the codes; must not be modified
+     */
+    public static BitSet idsOf(Collection<String> codes) {
+        if (codes instanceof ModuleCodeList) {
+            return ((ModuleCodeList) codes).members;
+        }
+        ModuleCodeDictionary dictionary = ModuleCodeDictionary.getShared();
+        BitSet idSet = new BitSet();
+        for (String code : codes) {
+            idSet.set(dictionary.idOf(code));
+        }
+        return idSet;
+    }
+
+    /**
+     * Returns the given codes as a sorted set of canonical codes, reusing the list's own sorted
+     * codes when the codes are already a {@code ModuleCodeList}.
+     *
+     * @param codes the module codes
+     * @return the sorted canonical codes; must not be modified
+     */
+    public static NavigableSet<String> sortedCodesOf(Collection<String> codes) {
+        if (codes instanceof ModuleCodeList) {
+            return Collections.unmodifiableNavigableSet(((ModuleCodeList) codes).sortedCodes);
+        }
+        ModuleCodeDictionary dictionary = ModuleCodeDictionary.getShared();
+        NavigableSet<String> sorted = new TreeSet<>();
+        for (String code : codes) {
+            sorted.add(dictionary.canonical(code));
+        }
+        return sorted;
+    }
+
+    /**
+     * Checks whether the list holds the module with the given ID.
+     *
+     * @param id the module code ID
+     * @return true if the code is in the list
+     */
+    public boolean containsId(int id) {
+        return id >= 0 && members.get(id);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String && containsId(dictionary.findId((String) o));
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!contains(o)) {
+            return -1;
+        }
+        int id = dictionary.findId((String) o);
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public String get(int index) {
+        checkIndex(index, size);
+        return dictionary.codeOf(ids[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a code at the end of the list unless it is already present.
+     *
+     * @return true if the code was added
+     */
+    @Override
+    public boolean add(String code) {
+        int sizeBefore = size;
+        add(size, code);
+        return size != sizeBefore;
+    }
+
+    /**
+     * Inserts a code at the given position unless it is already present, in which case the list is unchanged.
+     */
+    @Override
+    public void add(int index, String code) {
+        checkIndex(index, size + 1);
+        int id = dictionary.idOf(code);
+        if (members.get(id)) {
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        members.set(id);
+        sortedCodes.add(dictionary.codeOf(id));
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public String remove(int index) {
+        checkIndex(index, size);
+        int id = ids[index];
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        members.clear(id);
+        sortedCodes.remove(dictionary.codeOf(id));
+        modCount++;
+        return dictionary.codeOf(id);
+    }
+
+    /**
+     * Replaces the code at the given position.
+     *
+     * @throws IllegalArgumentException if the new code is already elsewhere in the list
+     */
+    @Override
+    public String set(int index, String code) {
+        checkIndex(index, size);
+        int id = dictionary.idOf(code);
+        int previous = ids[index];
+        if (id != previous && members.get(id)) {
+            throw new IllegalArgumentException("Module code already in list: " + code);
+        }
+        members.clear(previous);
+        members.set(id);
+        sortedCodes.remove(dictionary.codeOf(previous));
+        sortedCodes.add(dictionary.codeOf(id));
+        ids[index] = id;
+        return dictionary.codeOf(previous);
+    }
+
+    @Override
+    public void clear() {
+        members.clear();
+        sortedCodes.clear();
+        size = 0;
+        modCount++;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package modhero.data.modules;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Symmetric index of module preclusions, built from each module's parsed preclusion rule.
+ * A rule of one module that mentions another precludes both ways, so a conflict is found by
+ * one lookup whichever of the two modules carries the rule.
+ * Wildcard codes such as {@code CS1010%} are kept by prefix, since they preclude every module
+ * whose code starts with the prefix.
+ */
+public class PreclusionIndex {
+    private static final Logger logger = Logger.getLogger(PreclusionIndex.class.getName());
+
+    private final Map<String, Set<String>> precludedCodes = new HashMap<>();
+    private final Map<String, Set<String>> precludedByPrefix = new HashMap<>();
+    private final Map<String, Set<String>> ruleCodes = new HashMap<>();
+
+    /**
+     * Adds the preclusions of a module, unless a module with the same code was added before.
+     *
+     * @param module the module whose preclusion rule is indexed
+     */
+    public void add(Module module) {
+        assert module != null : "PreclusionIndex module must not be null";
+        if (ruleCodes.containsKey(module.getCode())) {
+            return;
+        }
+        Set<String> codes = new HashSet<>();
+        for (String precludedCode : module.getPreclusionCodes()) {
+            if (precludedCode.endsWith(PrerequisiteNode.WILDCARD_SUFFIX)) {
+                codes.add(precludedCode);
+                precludedByPrefix.computeIfAbsent(prefixOf(precludedCode), k -> new HashSet<>()).add(module.getCode());
+            } else if (!precludedCode.equals(module.getCode())) {
+                codes.add(precludedCode);
+                link(module.getCode(), precludedCode);
+                link(precludedCode, module.getCode());
+            }
+        }
+        ruleCodes.put(module.getCode(), codes);
+    }
+
+    /**
+     * Replaces the preclusions of a module with those of its current rule, as when its data is refreshed.
+     * Links that came only from the old rule are removed, while links that the other module's own rule
+     * also gives are kept.
+     *
+     * @param module the module whose preclusion rule is indexed
+     */
+    public void replace(Module module) {
+        assert module != null : "PreclusionIndex module must not be null";
+        String code = module.getCode();
+        Set<String> oldCodes = ruleCodes.remove(code);
+        if (oldCodes != null) {
+            for (String precludedCode : oldCodes) {
+                if (precludedCode.endsWith(PrerequisiteNode.WILDCARD_SUFFIX)) {
+                    unlink(precludedByPrefix, prefixOf(precludedCode), code);
+                } else if (!ruleCodes.getOrDefault(precludedCode, Set.of()).contains(code)) {
+                    unlink(precludedCodes, code, precludedCode);
+                    unlink(precludedCodes, precludedCode, code);
+                }
+            }
+        }
+        add(module);
+    }
+
+    /**
+     * Adds the preclusions of every module.
+     *
+     * @param modules the modules to index; a module appearing more than once is indexed once
+     */
+    public void addAll(Collection<Module> modules) {
+        for (Module module : modules) {
+            add(module);
+        }
+        logger.log(Level.FINE, () -> String.format("Preclusion index holds %d modules", ruleCodes.size()));
+    }
+
+    /**
+     * Returns the codes of modules precluded with the given module, in either direction, including
+     * modules whose rule precludes it through a wildcard. Modules matched by a wildcard in the given
+     * module's own rule cannot be listed; use {@link #isPrecluded} or {@link #findPrecluded} to include them.
+     *
+     * @param code the module code
+     * @return the precluded module codes, empty if there are none
+     */
+    public Set<String> getPrecluded(String code) {
+        Set<String> exactCodes = precludedCodes.getOrDefault(code, Set.of());
+        Set<String> codes = null;
+        for (Map.Entry<String, Set<String>> entry : precludedByPrefix.entrySet()) {
+            if (code.startsWith(entry.getKey())) {
+                if (codes == null) {
+                    codes = new HashSet<>(exactCodes);
+                }
+                codes.addAll(entry.getValue());
+            }
+        }
+        if (codes == null) {
+            return exactCodes;
+        }
+        codes.remove(code);
+        return codes;
+    }
+
+    /**
+     * Checks whether two modules preclude each other, through either module's rule.
+     *
+     * @param code the module code
+     * @param otherCode the code of the other module
+     * @return true if the modules are precluded with each other
+     */
+    public boolean isPrecluded(String code, String otherCode) {
+        if (code.equals(otherCode)) {
+            return false;
+        }
+        return precludedCodes.getOrDefault(code, Set.of()).contains(otherCode)
+                || matchesRulePrefix(code, otherCode) || matchesRulePrefix(otherCode, code);
+    }
+
+    /**
+     * Finds which of the given modules are precluded with a module, including through wildcards.
+     *
+     * @param code the module code
+     * @param moduleIds the IDs of the modules to check, from the shared {@link ModuleCodeDictionary}
+     * @return the IDs among {@code moduleIds} of modules precluded with the module, empty if there are none
+     */
+    public BitSet findPrecluded(String code, BitSet moduleIds) {
+        ModuleCodeDictionary dictionary = ModuleCodeDictionary.getShared();
+        BitSet precludedIds = new BitSet();
+        for (String precludedCode : getPrecluded(code)) {
+            int precludedId = dictionary.findId(precludedCode);
+            if (precludedId != ModuleCodeDictionary.NO_ID && moduleIds.get(precludedId)) {
+                precludedIds.set(precludedId);
+            }
+        }
+
+        // Only a rule with wildcards needs every module checked against its prefixes
+        if (hasRulePrefix(code)) {
+            for (int id = moduleIds.nextSetBit(0); id >= 0; id = moduleIds.nextSetBit(id + 1)) {
+                String otherCode = dictionary.codeOf(id);
+                if (!otherCode.equals(code) && matchesRulePrefix(code, otherCode)) {
+                    precludedIds.set(id);
+                }
+            }
+        }
+        return precludedIds;
+    }
+
+    private boolean hasRulePrefix(String code) {
+        for (String ruleCode : ruleCodes.getOrDefault(code, Set.of())) {
+            if (ruleCode.endsWith(PrerequisiteNode.WILDCARD_SUFFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a wildcard in the rule of module {@code code} matches {@code otherCode}.
+     */
+    private boolean matchesRulePrefix(String code, String otherCode) {
+        for (String ruleCode : ruleCodes.getOrDefault(code, Set.of())) {
+            if (ruleCode.endsWith(PrerequisiteNode.WILDCARD_SUFFIX) && otherCode.startsWith(prefixOf(ruleCode))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String prefixOf(String wildcardCode) {
+        return wildcardCode.substring(0, wildcardCode.length() - PrerequisiteNode.WILDCARD_SUFFIX.length());
+    }
+
+    private void link(String code, String precludedCode) {
+        precludedCodes.computeIfAbsent(code, k -> new HashSet<>()).add(precludedCode);
+    }
+
+    private static void unlink(Map<String, Set<String>> index, String key, String code) {
+        Set<String> codes = index.get(key);
+        if (codes != null && codes.remove(code) && codes.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package modhero.data.modules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A node of a prerequisite tree as given by NUSMods: a single module code, or an AND/OR/N_OF
+ * of child nodes.
+ * The tree is evaluated by walking it directly, so it never has to be expanded into every
+ * combination of module codes that would satisfy it.
+ */
+public final class PrerequisiteNode {
+    /** Kinds of prerequisite tree node. */
+    public enum Type {
+        MODULE, AND, OR, N_OF
+    }
+
+    /** Suffix of a leaf code that matches any module code starting with the rest of it. */
+    public static final String WILDCARD_SUFFIX = "%";
+
+    private final Type type;
+    private final String code;
+    private final int codeId;
+    private final int required;
+    private final List<PrerequisiteNode> children;
+
+    private PrerequisiteNode(Type type, String code, int required, List<PrerequisiteNode> children) {
+        this.type = type;
+        this.code = code;
+        this.codeId = code == null || isWildcard(code)
+                ? ModuleCodeDictionary.NO_ID : ModuleCodeDictionary.getShared().idOf(code);
+        this.required = required;
+        this.children = children;
+    }
+
+    private static boolean isWildcard(String code) {
+        return code.endsWith(WILDCARD_SUFFIX) && code.length() > WILDCARD_SUFFIX.length();
+    }
+
+    /**
+     * Creates a leaf requiring a single module.
+     *
+     * @param code the module code, optionally ending with '%' to match any module with that prefix
+     * @return the leaf node
+     */
+    public static PrerequisiteNode module(String code) {
+        assert code != null && !code.isEmpty() : "PrerequisiteNode code must not be empty";
+        String canonicalCode = isWildcard(code)
+                ? code.trim().toUpperCase(Locale.ROOT) : ModuleCodeDictionary.getShared().canonical(code);
+        return new PrerequisiteNode(Type.MODULE, canonicalCode, 1, List.of());
+    }
+
+    /**
+     * Creates a node satisfied only when every child is satisfied.
+     * A single child is returned as is.
+     *
+     * @param children the child nodes
+     * @return the AND node
+     */
+    public static PrerequisiteNode and(List<PrerequisiteNode> children) {
+        return group(Type.AND, children);
+    }
+
+    /**
+     * Creates a node satisfied when any child is satisfied.
+     * A single child is returned as is.
+     *
+     * @param children the child nodes
+     * @return the OR node
+     */
+    public static PrerequisiteNode or(List<PrerequisiteNode> children) {
+        return group(Type.OR, children);
+    }
+
+    /**
+     * Creates a node satisfied when at least {@code required} of its children are satisfied.
+     * Requiring one child is an OR, and requiring every child is an AND. A repeated child counts once,
+     * and requiring more distinct children than there are, as when a parser drops children it does not
+     * recognise, is clamped to requiring all of them.
+     *
+     * @param required the number of children that must be satisfied, at least 1
+     * @param children the child nodes
+     * @return the N_OF node
+     */
+    public static PrerequisiteNode nOf(int required, List<PrerequisiteNode> children) {
+        assert required > 0 : "PrerequisiteNode required count must be positive";
+        assert children != null && !children.isEmpty() : "PrerequisiteNode children must not be empty";
+        List<PrerequisiteNode> distinctChildren = distinct(children);
+        if (required == 1) {
+            return or(distinctChildren);
+        }
+        if (required >= distinctChildren.size()) {
+            return and(distinctChildren);
+        }
+        return new PrerequisiteNode(Type.N_OF, null, required, distinctChildren);
+    }
+
+    private static PrerequisiteNode group(Type type, List<PrerequisiteNode> children) {
+        assert children != null && !children.isEmpty() : "PrerequisiteNode children must not be empty";
+        List<PrerequisiteNode> distinctChildren = distinct(children);
+        if (distinctChildren.size() == 1) {
+            return distinctChildren.get(0);
+        }
+        return new PrerequisiteNode(type, null, type == Type.AND ? distinctChildren.size() : 1, distinctChildren);
+    }
+
+    /**
+     * Drops repeated children, keeping the first of each, so that a child repeated under one node counts once.
+     */
+    private static List<PrerequisiteNode> distinct(List<PrerequisiteNode> children) {
+        return List.copyOf(new LinkedHashSet<>(children));
+    }
+
+    /**
+     * Builds the tree equivalent to a list of alternative module combinations,
+     * an OR over one AND per combination.
+     *
+     * @param combinations the combinations, any one of which satisfies the requirement
+     * @return the equivalent tree, or null if there are no combinations or an empty combination
+     *         makes the requirement always satisfied
+     */
+    public static PrerequisiteNode fromCombinations(List<List<String>> combinations) {
+        if (combinations == null) {
+            return null;
+        }
+        List<PrerequisiteNode> options = new ArrayList<>();
+        for (List<String> combination : combinations) {
+            if (combination.isEmpty()) {
+                return null;
+            }
+            List<PrerequisiteNode> codes = new ArrayList<>();
+            for (String code : combination) {
+                codes.add(module(code));
+            }
+            options.add(and(codes));
+        }
+        return options.isEmpty() ? null : or(options);
+    }
+
+    /** @return the kind of this node */
+    public Type getType() {
+        return type;
+    }
+
+    /** @return the module code of a leaf, or null for an AND/OR/N_OF node */
+    public String getCode() {
+        return code;
+    }
+
+    /** @return the dictionary ID of a leaf's module code, or {@link ModuleCodeDictionary#NO_ID} for a wildcard or non-leaf */
+    public int getCodeId() {
+        return codeId;
+    }
+
+    /** @return true if this is a leaf matching every module code that starts with its prefix */
+    public boolean isWildcard() {
+        return type == Type.MODULE && isWildcard(code);
+    }
+
+    /** @return the number of children that must be satisfied; 1 for a leaf */
+    public int getRequired() {
+        return required;
+    }
+
+    /** @return the children of an AND/OR/N_OF node, empty for a leaf */
+    public List<PrerequisiteNode> getChildren() {
+        return children;
+    }
+
+    /**
+     * Evaluates the tree, stopping as soon as the children seen so far decide each node.
+     * An N_OF node counts satisfied children and stops once the count is reached or can no longer be.
+     *
+     * @param isTaken tells whether a leaf's module code requirement is met
+     * @return true if the tree is satisfied
+     */
+    public boolean isSatisfiedBy(Predicate<String> isTaken) {
+        switch (type) {
+        case MODULE:
+            return isTaken.test(code);
+        case AND:
+            for (PrerequisiteNode child : children) {
+                if (!child.isSatisfiedBy(isTaken)) {
+                    return false;
+                }
+            }
+            return true;
+        case OR:
+            for (PrerequisiteNode child : children) {
+                if (child.isSatisfiedBy(isTaken)) {
+                    return true;
+                }
+            }
+            return false;
+        default:
+            int satisfied = 0;
+            int remaining = children.size();
+            for (PrerequisiteNode child : children) {
+                remaining--;
+                if (child.isSatisfiedBy(isTaken) && ++satisfied >= required) {
+                    return true;
+                }
+                if (satisfied + remaining < required) {
+                    return false;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Adds every module code mentioned in the tree to the given set.
+     *
+     * @param codes the set to add to
+     */
+    public void collectCodes(Set<String> codes) {
+        if (type == Type.MODULE) {
+            codes.add(code);
+            return;
+        }
+        for (PrerequisiteNode child : children) {
+            child.collectCodes(codes);
+        }
+    }
+
+    /**
+     * Expands the tree into every combination of module codes that satisfies it.
+     * The number of combinations grows with the product of the OR sizes under each AND, and with
+     * the binomial coefficient of each N_OF, so this is only meant for callers that need the flat form.
+     *
+     * @return the combinations, any one of which satisfies the tree
+     */
+    public List<List<String>> toCombinations() {
+        if (type == Type.MODULE) {
+            List<String> single = new ArrayList<>();
+            single.add(code);
+            List<List<String>> result = new ArrayList<>();
+            result.add(single);
+            return result;
+        }
+
+        if (type == Type.OR) {
+            List<List<String>> result = new ArrayList<>();
+            for (PrerequisiteNode child : children) {
+                result.addAll(child.toCombinations());
+            }
+            return result;
+        }
+
+        if (type == Type.N_OF) {
+            List<List<String>> result = new ArrayList<>();
+            addChosenCombinations(0, new ArrayList<>(), result);
+            return result;
+        }
+
+        return productOf(children);
+    }
+
+    /**
+     * Adds the combinations of every way to choose {@code required} children, starting from {@code next}.
+     */
+    private void addChosenCombinations(int next, List<PrerequisiteNode> chosen, List<List<String>> result) {
+        if (chosen.size() == required) {
+            result.addAll(productOf(chosen));
+            return;
+        }
+        for (int i = next; i <= children.size() - (required - chosen.size()); i++) {
+            chosen.add(children.get(i));
+            addChosenCombinations(i + 1, chosen, result);
+            chosen.remove(chosen.size() - 1);
+        }
+    }
+
+    /**
+     * Combines one combination of each node in every possible way, as required by an AND.
+     */
+    private static List<List<String>> productOf(List<PrerequisiteNode> nodes) {
+        List<List<String>> result = new ArrayList<>();
+        result.add(Collections.emptyList());
+        for (PrerequisiteNode child : nodes) {
+            List<List<String>> childCombinations = child.toCombinations();
+            List<List<String>> nextResult = new ArrayList<>();
+            for (List<String> partial : result) {
+                for (List<String> childCombination : childCombinations) {
+                    List<String> combined = new ArrayList<>(partial);
+                    combined.addAll(childCombination);
+                    nextResult.add(combined);
+                }
+            }
+            result = nextResult;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PrerequisiteNode)) {
+            return false;
+        }
+        PrerequisiteNode other = (PrerequisiteNode) obj;
+        return type == other.type && required == other.required && Objects.equals(code, other.code)
+                && children.equals(other.children);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, code, required, children);
+    }
+
+    /** Returns the tree in infix form, e.g. {@code CS1231 AND (CS2040 OR CS2040C)} or {@code 2 of (A, B, C)}. */
+    @Override
+    public String toString() {
+        if (type == Type.MODULE) {
+            return code;
+        }
+        StringBuilder sb = new StringBuilder();
+        String separator = type == Type.AND ? " AND " : type == Type.OR ? " OR " : ", ";
+        for (int i = 0; i < children.size(); i++) {
+            PrerequisiteNode child = children.get(i);
+            if (i > 0) {
+                sb.append(separator);
+            }
+            if (child.type == Type.MODULE || type == Type.N_OF) {
+                sb.append(child);
+            } else {
+                sb.append('(').append(child).append(')');
+            }
+        }
+        return type == Type.N_OF ? required + " of (" + sb + ")" : sb.toString();
+    }
+}
@@ -1,88 +1,283 @@
 package modhero.data.modules;
 
+import modhero.common.Constants.FormatConstants;
 import modhero.common.util.SerialisationUtil;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Represents module prerequisites as a list of OR-groups.
- * Each inner list represents a set of modules where any one satisfies the requirement.
+ * Represents module prerequisites as a tree of AND/OR/N_OF requirements over module codes.
+ * The flat list of module combinations that satisfy the tree is only expanded on request.
  */
 public class Prerequisites {
     public static final Logger logger = Logger.getLogger(Prerequisites.class.getName());
 
-    /** OR-grouped prerequisite modules. */
+    /** Prerequisite tree, or null if there are no prerequisites. */
+    private final PrerequisiteNode tree;
+
+    /** Combinations of modules, any one of which satisfies the prerequisites; expanded lazily. */
     private List<List<String>> prereq;
 
+    /** Tree compiled into bitmasks over module code IDs, compiled on first evaluation. */
+    private CompiledPrerequisites compiled;
+
+    /** Serialized length of each tree node in pre-order, computed on first write. */
+    private int[] nodeLengths;
+
     /** Creates an empty prerequisites object. */
     public Prerequisites() {
+        this.tree = null;
         this.prereq = new ArrayList<>();
     }
 
     /**
-     * Creates a prerequisites object with predefined OR-groups.
+     * Creates a prerequisites object from combinations of modules.
      *
-     * @param prereq list of OR-groups (each inner list contains module codes)
+     * @param prereq list of combinations, any one of which satisfies the prerequisites
      */
     public Prerequisites(List<List<String>> prereq) {
+        this.tree = PrerequisiteNode.fromCombinations(prereq);
         this.prereq = prereq;
     }
 
-    /** Returns the list of OR-groups representing prerequisites. */
+    /**
+     * Creates a prerequisites object from a prerequisite tree.
+     *
+     * @param tree the prerequisite tree, or null if there are no prerequisites
+     */
+    public Prerequisites(PrerequisiteNode tree) {
+        this.tree = tree;
+    }
+
+    /** Returns the prerequisite tree, or null if there are no prerequisites. */
+    public PrerequisiteNode getTree() {
+        return tree;
+    }
+
+    /** Returns true if there are no prerequisites. */
+    public boolean isEmpty() {
+        return tree == null;
+    }
+
+    /**
+     * Checks whether the prerequisites are satisfied, walking the tree without expanding it.
+     *
+     * @param isTaken tells whether a single module code requirement is met
+     * @return true if there are no prerequisites or the tree is satisfied
+     */
+    public boolean isSatisfiedBy(Predicate<String> isTaken) {
+        return tree == null || tree.isSatisfiedBy(isTaken);
+    }
+
+    /**
+     * Returns the prerequisites compiled into bitmasks over module code IDs, compiling them on first use.
+     *
+     * @return the compiled tree, or null if there are no prerequisites
+     */
+    public CompiledPrerequisites getCompiled() {
+        if (compiled == null && tree != null) {
+            compiled = CompiledPrerequisites.compile(tree);
+        }
+        return compiled;
+    }
+
+    /**
+     * Returns the combinations of modules, any one of which satisfies the prerequisites.
+     * For prerequisites built from a tree this expands the tree on first use, which can be large.
+     */
     public List<List<String>> getPrereq() {
+        if (prereq == null) {
+            prereq = tree == null ? new ArrayList<>() : tree.toCombinations();
+        }
         return prereq;
     }
 
     /**
-     * Serializes prerequisites into a doubly-serialized string.
-     * Each module code in a combination is serialized, then the combination is serialized.
-     * Intended to be wrapped again by the caller for triple serialization.
+     * Serializes prerequisites for storage.
+     * Prerequisites that are already a list of combinations (an OR of ANDs of module codes) are
+     * doubly-serialized: each module code in a combination is serialized, then the combination is
+     * serialized. Any other tree is written node by node after {@link FormatConstants#PREREQ_TREE_PREFIX},
+     * so it is never expanded. Intended to be wrapped again by the caller for triple serialization.
      *
-     * @return doubly-serialized prerequisites string
+     * @return serialized prerequisites string
      */
     public String toFormatedString() {
+        StringBuilder builder = new StringBuilder(formattedLength());
+        try {
+            writeFormatted(builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns the number of characters written by {@link #writeFormatted}, so a caller can
+     * write the length prefix of the enclosing message before the prerequisites themselves.
+     *
+     * @return length of the serialized prerequisites
+     */
+    public int formattedLength() {
+        if (tree == null) {
+            return 0;
+        }
+        if (!isCombinationList(tree)) {
+            return FormatConstants.PREREQ_TREE_PREFIX.length() + getNodeLengths()[0];
+        }
+        int length = 0;
+        for (List<String> combination : getPrereq()) {
+            length += SerialisationUtil.messageLength(combinationLength(combination));
+        }
+        return length;
+    }
+
+    /**
+     * Writes the serialized prerequisites described in {@link #toFormatedString()} without
+     * building any intermediate strings.
+     *
+     * @param out where the serialized prerequisites are written
+     * @throws IOException if writing to {@code out} fails
+     */
+    public void writeFormatted(Appendable out) throws IOException {
         logger.log(Level.FINEST, "Serialising prerequisites");
 
-        if (prereq == null || prereq.isEmpty()) {
+        if (tree == null) {
             logger.log(Level.FINEST, "No prerequisites to serialize");
-            return "";
+            return;
         }
 
-        SerialisationUtil serialisationUtil = new SerialisationUtil();
-        StringBuilder outerBuilder = new StringBuilder();
+        if (!isCombinationList(tree)) {
+            out.append(FormatConstants.PREREQ_TREE_PREFIX);
+            writeNode(out, tree, getNodeLengths(), 0);
+            logger.log(Level.FINEST, "Successfully serialized prerequisite tree");
+            return;
+        }
 
-        for (List<String> combination : prereq) {
-            StringBuilder innerBuilder = new StringBuilder();
+        for (List<String> combination : getPrereq()) {
+            SerialisationUtil.appendStart(out, combinationLength(combination));
             for (String moduleCode : combination) {
-                innerBuilder.append(serialisationUtil.serialiseMessage(moduleCode));
+                SerialisationUtil.appendMessage(out, moduleCode);
             }
-            outerBuilder.append(serialisationUtil.serialiseMessage(innerBuilder.toString()));
+            SerialisationUtil.appendEnd(out);
         }
-
-        String serialisedPrereqs = outerBuilder.toString();
         logger.log(Level.FINEST, "Successfully serialized prerequisites (doubly-serialized)");
-        return serialisedPrereqs;
+    }
+
+    private static int combinationLength(List<String> combination) {
+        int length = 0;
+        for (String moduleCode : combination) {
+            length += SerialisationUtil.messageLength(moduleCode.length());
+        }
+        return length;
+    }
+
+    private int[] getNodeLengths() {
+        if (nodeLengths == null) {
+            int[] lengths = new int[countNodes(tree)];
+            fillNodeLengths(tree, lengths, 0);
+            nodeLengths = lengths;
+        }
+        return nodeLengths;
+    }
+
+    private static int countNodes(PrerequisiteNode node) {
+        int count = 1;
+        for (PrerequisiteNode child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    /**
+     * Stores the serialized length of a node and each of its descendants, as written by
+     * {@link #writeNode}, at their pre-order positions from {@code index}.
+     *
+     * @return the position after the node's subtree
+     */
+    private static int fillNodeLengths(PrerequisiteNode node, int[] lengths, int index) {
+        int next = index + 1;
+        int length;
+        if (node.getType() == PrerequisiteNode.Type.MODULE) {
+            length = SerialisationUtil.messageLength(node.getCode().length());
+        } else {
+            length = SerialisationUtil.messageLength(node.getType().name().length());
+            if (node.getType() == PrerequisiteNode.Type.N_OF) {
+                length += SerialisationUtil.messageLength(SerialisationUtil.decimalLength(node.getRequired()));
+            }
+            for (PrerequisiteNode child : node.getChildren()) {
+                int childIndex = next;
+                next = fillNodeLengths(child, lengths, next);
+                length += SerialisationUtil.messageLength(lengths[childIndex]);
+            }
+        }
+        lengths[index] = length;
+        return next;
+    }
+
+    /**
+     * Writes a node as its module code, or as its operator, required count for N_OF,
+     * and serialized children, taking each child's length from its pre-order position.
+     *
+     * @return the position after the node's subtree
+     */
+    private static int writeNode(Appendable out, PrerequisiteNode node, int[] lengths, int index) throws IOException {
+        int next = index + 1;
+        if (node.getType() == PrerequisiteNode.Type.MODULE) {
+            SerialisationUtil.appendMessage(out, node.getCode());
+            return next;
+        }
+
+        SerialisationUtil.appendMessage(out, node.getType().name());
+        if (node.getType() == PrerequisiteNode.Type.N_OF) {
+            SerialisationUtil.appendMessage(out, node.getRequired());
+        }
+        for (PrerequisiteNode child : node.getChildren()) {
+            SerialisationUtil.appendStart(out, lengths[next]);
+            next = writeNode(out, child, lengths, next);
+            SerialisationUtil.appendEnd(out);
+        }
+        return next;
+    }
+
+    /**
+     * Checks whether a tree is already a list of combinations, so the flat format stores it without expansion.
+     */
+    private static boolean isCombinationList(PrerequisiteNode node) {
+        if (node.getType() == PrerequisiteNode.Type.OR) {
+            for (PrerequisiteNode child : node.getChildren()) {
+                if (!isCombination(child)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return isCombination(node);
+    }
+
+    private static boolean isCombination(PrerequisiteNode node) {
+        if (node.getType() == PrerequisiteNode.Type.AND) {
+            for (PrerequisiteNode child : node.getChildren()) {
+                if (child.getType() != PrerequisiteNode.Type.MODULE) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return node.getType() == PrerequisiteNode.Type.MODULE;
     }
 
     /** Returns a human-readable string representation of prerequisites. */
     @Override
     public String toString() {
-        if (prereq == null || prereq.isEmpty()) {
+        if (tree == null) {
             return "No prerequisites";
         }
-
-        StringBuilder sb = new StringBuilder("Prerequisites: [");
-        for (int i = 0; i < prereq.size(); i++) {
-            List<String> group = prereq.get(i);
-            sb.append(group);
-            if (i < prereq.size() - 1) {
-                sb.append(" OR ");
-            }
-        }
-        sb.append("]");
-        return sb.toString();
+        return "Prerequisites: [" + tree + "]";
     }
 }
@@ -0,0 +1,113 @@
+package modhero.data.modules;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * The module codes that count as taken when checking prerequisites: completed and exempted modules alike.
+ * Exact codes are looked up in the words of a bitset of {@link ModuleCodeDictionary} IDs, and wildcard
+ * prefixes in sorted sets of the same codes, where the first code not below the prefix is the only one
+ * that needs comparing.
+ */
+public final class TakenCodes {
+    private final long[] words;
+    private NavigableSet<String> completedCodes;
+    private final NavigableSet<String> exemptedCodes;
+
+    private TakenCodes(long[] words, NavigableSet<String> completedCodes, NavigableSet<String> exemptedCodes) {
+        this.words = words;
+        this.completedCodes = completedCodes;
+        this.exemptedCodes = exemptedCodes;
+    }
+
+    /**
+     * Combines completed and exempted modules whose codes are already kept sorted, as a
+     * {@code Timetable} and a {@link ModuleCodeList} do.
+     *
+     * @param completedIds IDs of modules already completed
+     * @param completedCodes sorted codes of the same modules
+     * @param exemptedIds IDs of modules exempted from prerequisites
+     * @param exemptedCodes sorted codes of the same modules
+     * @return the taken codes, sharing the given sets
+     */
+    public static TakenCodes of(BitSet completedIds, NavigableSet<String> completedCodes,
+                                BitSet exemptedIds, NavigableSet<String> exemptedCodes) {
+        assert completedCodes.size() == completedIds.cardinality() : "TakenCodes completed codes must match IDs";
+        assert exemptedCodes.size() == exemptedIds.cardinality() : "TakenCodes exempted codes must match IDs";
+        return new TakenCodes(wordsOf(completedIds, exemptedIds), completedCodes, exemptedCodes);
+    }
+
+    /**
+     * Combines completed and exempted module IDs. Their codes are sorted on the first prefix query,
+     * so checks without wildcards never pay for it.
+     *
+     * @param completedIds IDs of modules already completed
+     * @param exemptedIds IDs of modules exempted from prerequisites
+     * @return the taken codes
+     */
+    public static TakenCodes of(BitSet completedIds, BitSet exemptedIds) {
+        return new TakenCodes(wordsOf(completedIds, exemptedIds), null, new TreeSet<>());
+    }
+
+    private static long[] wordsOf(BitSet completedIds, BitSet exemptedIds) {
+        long[] completedWords = completedIds.toLongArray();
+        if (exemptedIds.isEmpty()) {
+            return completedWords;
+        }
+        long[] exemptedWords = exemptedIds.toLongArray();
+        long[] takenWords = Arrays.copyOf(completedWords, Math.max(completedWords.length, exemptedWords.length));
+        for (int i = 0; i < exemptedWords.length; i++) {
+            takenWords[i] |= exemptedWords[i];
+        }
+        return takenWords;
+    }
+
+    /**
+     * Returns the taken IDs as the words of a bitset, as returned by {@link BitSet#toLongArray()}.
+     * The array is shared and must not be modified.
+     */
+    public long[] getWords() {
+        return words;
+    }
+
+    /**
+     * Checks whether a module code is taken.
+     *
+     * @param code the module code, in any letter case
+     * @return true if the code is completed or exempted
+     */
+    public boolean contains(String code) {
+        int id = ModuleCodeDictionary.getShared().findId(code);
+        return id != ModuleCodeDictionary.NO_ID && id >> 6 < words.length && (words[id >> 6] & 1L << id) != 0;
+    }
+
+    /**
+     * Checks whether any taken code starts with the given prefix.
+     *
+     * @param prefix the prefix of a wildcard code, without the wildcard
+     * @return true if a completed or exempted code starts with the prefix
+     */
+    public boolean hasCodeWithPrefix(String prefix) {
+        if (completedCodes == null) {
+            completedCodes = sortCodes(words);
+        }
+        return hasCodeWithPrefix(completedCodes, prefix) || hasCodeWithPrefix(exemptedCodes, prefix);
+    }
+
+    private static boolean hasCodeWithPrefix(NavigableSet<String> codes, String prefix) {
+        String candidate = codes.ceiling(prefix);
+        return candidate != null && candidate.startsWith(prefix);
+    }
+
+    private static NavigableSet<String> sortCodes(long[] words) {
+        ModuleCodeDictionary dictionary = ModuleCodeDictionary.getShared();
+        NavigableSet<String> codes = new TreeSet<>();
+        BitSet ids = BitSet.valueOf(words);
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            codes.add(dictionary.codeOf(id));
+        }
+        return codes;
+    }
+}
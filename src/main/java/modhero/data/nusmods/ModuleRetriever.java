@@ -1,20 +1,211 @@
 package modhero.data.nusmods;
 
+import modhero.common.Constants.NusmodsConstants;
+import modhero.exceptions.NusmodsRequestException;
 import modhero.parser.ModuleParser;
 import modhero.data.modules.Module;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
  * Retrieve NUS module information parse into module.
+ * <p>
+ * Acts as a thread-safe read-through cache in front of the NUSMods API. Modules that were
+ * retrieved before are returned from memory, concurrent requests for the same module share one
+ * fetch, and modules that NUSMods does not know are remembered for a configurable window so
+ * repeated typos do not go back to the network.
+ * </p>
  */
 public class ModuleRetriever {
-    private final NusmodsAPIClient client = new NusmodsAPIClient();
+    private static final Logger logger = Logger.getLogger(ModuleRetriever.class.getName());
+    private static final int HTTP_NOT_FOUND = 404;
+
+    private static ModuleRetriever sharedRetriever;
+
+    private final NusmodsAPIClient client;
     private final ModuleParser parser = new ModuleParser();
+    private final long notFoundWindowMillis;
+
+    private final ConcurrentHashMap<String, Module> retrievedModules = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> notFoundUntilMillis = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Module>> inFlightFetches = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong notFoundHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong fetchCount = new AtomicLong();
+    private final AtomicLong totalFetchNanos = new AtomicLong();
+
+    /**
+     * Creates a retriever with its own default client and the default not-found window.
+     */
+    public ModuleRetriever() {
+        this(new NusmodsAPIClient(), TimeUnit.MINUTES.toMillis(NusmodsConstants.NOT_FOUND_CACHE_MINUTES));
+    }
+
+    /**
+     * Creates a retriever that fetches through the given client.
+     *
+     * @param client the client used to fetch modules that are not cached
+     * @param notFoundWindowMillis how long a module that NUSMods does not know is remembered as missing
+     */
+    public ModuleRetriever(NusmodsAPIClient client, long notFoundWindowMillis) {
+        assert client != null : "ModuleRetriever client must not be null";
+        this.client = client;
+        this.notFoundWindowMillis = notFoundWindowMillis;
+    }
+
+    /**
+     * Returns the retriever shared by the whole application.
+     *
+     * @return the shared retriever
+     */
+    public static synchronized ModuleRetriever getShared() {
+        if (sharedRetriever == null) {
+            sharedRetriever = new ModuleRetriever();
+        }
+        return sharedRetriever;
+    }
 
+    /**
+     * Retrieves a module, blocking until it is available.
+     *
+     * @param acadYear The academic year in format "YYYY-YYYY" (e.g., "2025-2026").
+     * @param code The module code (e.g., "CS2113").
+     * @return The module, or null if it does not exist or cannot be fetched.
+     */
     public Module getModule(String acadYear, String code) {
-        String json = client.fetchModuleDataSafely(acadYear, code);
-        if (json == null) {
+        try {
+            return getModuleAsync(acadYear, code).join();
+        } catch (CompletionException e) {
+            logger.log(Level.WARNING, "Failed to retrieve module " + code, e.getCause());
             return null;
         }
-        return parser.parseModule(json);
+    }
+
+    /**
+     * Retrieves a module without blocking the calling thread.
+     *
+     * @param acadYear The academic year in format "YYYY-YYYY" (e.g., "2025-2026").
+     * @param code The module code (e.g., "CS2113").
+     * @return A future of the module, completed with null if NUSMods does not know the module,
+     *         or completed exceptionally if NUSMods cannot be reached.
+     */
+    public CompletableFuture<Module> getModuleAsync(String acadYear, String code) {
+        assert code != null : "getModuleAsync code must not be null";
+        String moduleCode = code.trim().toUpperCase();
+        String key = acadYear + "/" + moduleCode;
+
+        Module retrieved = retrievedModules.get(key);
+        if (retrieved != null) {
+            hitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(retrieved);
+        }
+
+        Long notFoundUntil = notFoundUntilMillis.get(key);
+        if (notFoundUntil != null) {
+            if (System.currentTimeMillis() < notFoundUntil) {
+                notFoundHitCount.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            }
+            notFoundUntilMillis.remove(key, notFoundUntil);
+        }
+
+        missCount.incrementAndGet();
+        CompletableFuture<Module> fetch = new CompletableFuture<>();
+        CompletableFuture<Module> existingFetch = inFlightFetches.putIfAbsent(key, fetch);
+        if (existingFetch != null) {
+            logger.log(Level.FINEST, () -> "Joining in-flight fetch for " + key);
+            return existingFetch;
+        }
+        startFetch(acadYear, moduleCode, key, fetch);
+        return fetch;
+    }
+
+    /** @return the number of lookups answered with a module held in memory */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /** @return the number of lookups answered from the remembered not-found modules */
+    public long getNotFoundHitCount() {
+        return notFoundHitCount.get();
+    }
+
+    /** @return the number of lookups that had to wait for a fetch, including joined in-flight fetches */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /** @return the number of fetches started */
+    public long getFetchCount() {
+        return fetchCount.get();
+    }
+
+    /** @return the mean time a completed fetch took in milliseconds, or 0 if none have completed */
+    public long getAverageFetchLatencyMillis() {
+        long count = fetchCount.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalFetchNanos.get()) / count;
+    }
+
+    /**
+     * Fetches and parses a module, recording the outcome before completing {@code fetch}.
+     */
+    private void startFetch(String acadYear, String moduleCode, String key, CompletableFuture<Module> fetch) {
+        fetchCount.incrementAndGet();
+        long startTime = System.nanoTime();
+
+        client.fetchModuleAsync(acadYear, moduleCode).whenComplete((json, error) -> {
+            totalFetchNanos.addAndGet(System.nanoTime() - startTime);
+            Module module = null;
+            Throwable failure = null;
+
+            try {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (isNotFound(cause)) {
+                        rememberNotFound(key);
+                    } else {
+                        failure = cause;
+                    }
+                } else {
+                    module = parser.parseModule(json);
+                    if (module == null) {
+                        rememberNotFound(key);
+                    } else {
+                        retrievedModules.put(key, module);
+                    }
+                }
+            } catch (Throwable t) {
+                // Waiters must never be left blocked on a fetch that can no longer complete
+                logger.log(Level.WARNING, "Failed to parse module " + moduleCode, t);
+                failure = t;
+            } finally {
+                inFlightFetches.remove(key, fetch);
+            }
+
+            if (failure != null) {
+                fetch.completeExceptionally(failure);
+            } else {
+                fetch.complete(module);
+            }
+        });
+    }
+
+    private boolean isNotFound(Throwable cause) {
+        return cause instanceof NusmodsRequestException
+                && ((NusmodsRequestException) cause).getStatusCode() == HTTP_NOT_FOUND;
+    }
+
+    private void rememberNotFound(String key) {
+        logger.log(Level.FINE, () -> "Remembering " + key + " as not found");
+        notFoundUntilMillis.put(key, System.currentTimeMillis() + notFoundWindowMillis);
     }
 }
@@ -1,18 +1,130 @@
 package modhero.data.nusmods;
 
+import modhero.common.Constants.NusmodsConstants;
+import modhero.common.util.JsonUtil;
+import modhero.exceptions.NusmodsRequestException;
+import modhero.parser.ModuleParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
 
 /**
- * Make HTTP GET requests to the NUSMods API
+ * Make HTTP GET requests to the NUSMods API.
+ * All clients share one long-lived HTTP/2 connection pool, and each client caps
+ * the number of requests it has in flight at any one time. Responses are kept in a
+ * {@link NusmodsCache}, so fresh entries skip the network and stale entries are revalidated
+ * with conditional requests.
+ * <p>
+ * Responses are requested gzip-compressed and parsed as they stream in. Only the members that
+ * {@link ModuleParser} reads are kept, so the semester and timetable data that make up most of
+ * a module response are never held in memory.
+ * </p>
+ * <p>
+ * Requests go to the public NUSMods API unless another base URL is given, either to the constructor
+ * or through the {@code modhero.nusmods.baseUrl} system property.
+ * </p>
  */
 public class NusmodsAPIClient {
     private static final Logger logger = Logger.getLogger(NusmodsAPIClient.class.getName());
 
+    private static final HttpClient SHARED_HTTP_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(NusmodsConstants.CONNECT_TIMEOUT_SECONDS))
+            .build();
+
+    /** Runs the blocking reads of streamed response bodies, off the HTTP client's own threads. */
+    private static final ExecutorService BODY_READERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "nusmods-body-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Set<String> MODULE_FIELDS = Set.of("acadYear", ModuleParser.CODE, ModuleParser.NAME,
+            ModuleParser.MC, ModuleParser.PRECLUDE, ModuleParser.PREREQ);
+
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final String GZIP_ENCODING = "gzip";
+
+    private final String baseUrl;
+    private final Semaphore requestPermits;
+    private final NusmodsCache cache;
+    private final Queue<Runnable> pendingRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isDispatching = new AtomicBoolean();
+    private final AtomicLong completedRequests = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+
+    /**
+     * Creates a client that allows the default number of concurrent requests and uses the default cache.
+     */
+    public NusmodsAPIClient() {
+        this(NusmodsConstants.MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Creates a client that allows at most {@code maxConcurrentRequests} requests in flight
+     * and uses the default cache.
+     *
+     * @param maxConcurrentRequests the maximum number of requests sent but not yet answered
+     */
+    public NusmodsAPIClient(int maxConcurrentRequests) {
+        this(maxConcurrentRequests, NusmodsCache.getDefault());
+    }
+
+    /**
+     * Creates a client that allows at most {@code maxConcurrentRequests} requests in flight.
+     *
+     * @param maxConcurrentRequests the maximum number of requests sent but not yet answered
+     * @param cache the response cache to read and fill, or null to always use the network
+     */
+    public NusmodsAPIClient(int maxConcurrentRequests, NusmodsCache cache) {
+        this(System.getProperty(NusmodsConstants.BASE_URL_PROPERTY, NusmodsConstants.BASE_URL),
+                maxConcurrentRequests, cache);
+    }
+
+    /**
+     * Creates a client that sends its requests to the given base URL.
+     *
+     * @param baseUrl the URL the academic year and module paths are appended to
+     * @param maxConcurrentRequests the maximum number of requests sent but not yet answered
+     * @param cache the response cache to read and fill, or null to always use the network
+     */
+    public NusmodsAPIClient(String baseUrl, int maxConcurrentRequests, NusmodsCache cache) {
+        assert baseUrl != null && !baseUrl.isEmpty() : "baseUrl must not be empty";
+        assert maxConcurrentRequests > 0 : "maxConcurrentRequests must be positive";
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.requestPermits = new Semaphore(maxConcurrentRequests);
+        this.cache = cache;
+    }
+
     /**
      * Safely fetches module data by handling exceptions.
      * Logs any errors that occur during the fetch operation.
@@ -30,6 +142,105 @@ public class NusmodsAPIClient {
         }
     }
 
+    /**
+     * Fetches the raw module data of many modules concurrently.
+     * Duplicate module codes are only requested once.
+     *
+     * @param acadYear The academic year in format "YYYY-YYYY" (e.g., "2025-2026").
+     * @param moduleCodes The module codes to fetch.
+     * @return A map from each module code to a future of its raw JSON, in the order the codes were given.
+     *         A future completes exceptionally if its request fails.
+     */
+    public Map<String, CompletableFuture<String>> fetchModules(String acadYear, Collection<String> moduleCodes) {
+        assert moduleCodes != null : "fetchModules moduleCodes must not be null";
+
+        Map<String, CompletableFuture<String>> responses = new LinkedHashMap<>();
+        for (String moduleCode : moduleCodes) {
+            if (!responses.containsKey(moduleCode)) {
+                responses.put(moduleCode, fetchModuleAsync(acadYear, moduleCode));
+            }
+        }
+        logger.log(Level.FINE, () -> "Queued " + responses.size() + " module requests");
+        return responses;
+    }
+
+    /**
+     * Fetches raw module data without blocking the calling thread.
+     * A fresh cache entry is returned immediately; otherwise the request waits in a queue
+     * while the client is at its in-flight limit.
+     *
+     * @param acadYear The academic year in format "YYYY-YYYY" (e.g., "2025-2026").
+     * @param moduleCode The module code (e.g., "CS2113").
+     * @return A future of the module JSON, holding only the members read by {@link ModuleParser},
+     *         which completes exceptionally if the request fails.
+     */
+    public CompletableFuture<String> fetchModuleAsync(String acadYear, String moduleCode) {
+        NusmodsCache.Entry cached = cache == null ? null : cache.get(acadYear, moduleCode);
+        if (cached != null && cache.isFresh(cached)) {
+            logger.log(Level.FINEST, () -> "Serving " + moduleCode + " from cache");
+            return CompletableFuture.completedFuture(cached.getJson());
+        }
+        return queueRequest(acadYear, moduleCode, cached);
+    }
+
+    /**
+     * Asks the server whether module data changed, even if the cached copy is still fresh.
+     * When the module is cached the request is conditional, so an unchanged module costs a
+     * 304 response without a body; the cache is updated with whatever the server returns.
+     *
+     * @param acadYear The academic year in format "YYYY-YYYY" (e.g., "2025-2026").
+     * @param moduleCode The module code (e.g., "CS2113").
+     * @return A future of the current module JSON, holding only the members read by {@link ModuleParser},
+     *         which completes exceptionally if the request fails and nothing is cached.
+     */
+    public CompletableFuture<String> revalidateModuleAsync(String acadYear, String moduleCode) {
+        NusmodsCache.Entry cached = cache == null ? null : cache.get(acadYear, moduleCode);
+        return queueRequest(acadYear, moduleCode, cached);
+    }
+
+    /**
+     * Queues a request for a module, conditional on the cached entry if there is one.
+     */
+    private CompletableFuture<String> queueRequest(String acadYear, String moduleCode, NusmodsCache.Entry cached) {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        pendingRequests.add(() -> sendRequest(acadYear, moduleCode, cached, response));
+        dispatchPendingRequests();
+        return response;
+    }
+
+    /**
+     * Opens a stream over the full module catalog dump of an academic year.
+     * The response body is read as it arrives, so the dump is never held in memory as a whole.
+     *
+     * @param acadYear The academic year in format "YYYY-YYYY" (e.g., "2025-2026").
+     * @return The response body stream, which the caller must close.
+     * @throws Exception If the HTTP request fails, encounters network issues, or returns a non-200 status.
+     */
+    public InputStream openModuleDump(String acadYear) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + acadYear + "/" + NusmodsConstants.MODULE_DUMP_FILE))
+                .header("Accept-Encoding", GZIP_ENCODING)
+                .build();
+        HttpResponse<InputStream> response = SHARED_HTTP_CLIENT.send(request,
+                HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != HTTP_OK) {
+            response.body().close();
+            throw new NusmodsRequestException(NusmodsConstants.MODULE_DUMP_FILE, response.statusCode());
+        }
+        return openBody(response);
+    }
+
+    /** @return the number of requests that have completed, successfully or not */
+    public long getCompletedRequestCount() {
+        return completedRequests.get();
+    }
+
+    /** @return the mean latency of completed requests in milliseconds, or 0 if none have completed */
+    public long getAverageLatencyMillis() {
+        long count = completedRequests.get();
+        return count == 0 ? 0 : totalLatencyMillis.get() / count;
+    }
+
     /**
      * Fetches raw module data from the NUSMods API for a given academic year and module code.
      *
@@ -39,20 +250,178 @@ public class NusmodsAPIClient {
      * @throws Exception If the HTTP request fails, encounters network issues, or returns a non-200 status.
      */
     private String fetchModuleData(String acadYear, String moduleCode) throws Exception {
-        String url = "https://api.nusmods.com/v2/" + acadYear + "/modules/" + moduleCode + ".json";
+        try {
+            return fetchModuleAsync(acadYear, moduleCode).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
 
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .build();
+    /**
+     * Starts queued requests until the queue is empty or no request permits are left.
+     * Called whenever a request is queued and whenever a request completes.
+     * <p>
+     * Only one thread dispatches at a time. A request that fails before it is sent completes on the
+     * dispatching thread and calls back in here; that call returns at once and the outer loop starts
+     * the next request, so the stack does not grow with the length of the queue. The queue and permits
+     * are checked again after the flag is cleared, so work added by a caller turned away meanwhile is not missed.
+     * </p>
+     */
+    private void dispatchPendingRequests() {
+        while (!pendingRequests.isEmpty() && requestPermits.availablePermits() > 0
+                && isDispatching.compareAndSet(false, true)) {
+            try {
+                while (!pendingRequests.isEmpty() && requestPermits.tryAcquire()) {
+                    Runnable request = pendingRequests.poll();
+                    if (request == null) {
+                        requestPermits.release();
+                        break;
+                    }
+                    request.run();
+                }
+            } finally {
+                isDispatching.set(false);
+            }
+        }
+    }
+
+    /**
+     * Sends one request on the shared HTTP client and completes {@code response} with its outcome.
+     * The caller must hold a request permit, which is released when the request completes.
+     *
+     * @param acadYear The academic year in format "YYYY-YYYY".
+     * @param moduleCode The module code to request.
+     * @param cached The stale cache entry to revalidate, or null if there is none.
+     * @param response The future to complete with the response body or the failure.
+     */
+    private void sendRequest(String acadYear, String moduleCode, NusmodsCache.Entry cached,
+                             CompletableFuture<String> response) {
+        long startTime = System.nanoTime();
+        CompletableFuture<ModuleResponse> httpResponse;
+        try {
+            HttpRequest request = buildRequest(acadYear, moduleCode, cached);
+            httpResponse = SHARED_HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                    .thenApplyAsync(NusmodsAPIClient::readModuleResponse, BODY_READERS);
+        } catch (RuntimeException e) {
+            httpResponse = CompletableFuture.failedFuture(e);
+        }
+
+        httpResponse.whenComplete((result, error) -> {
+            requestPermits.release();
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            completedRequests.incrementAndGet();
+            totalLatencyMillis.addAndGet(latencyMillis);
+
+            if (error != null) {
+                logger.log(Level.FINE, () -> String.format("Request for %s failed after %d ms", moduleCode,
+                        latencyMillis));
+                completeFromFailure(moduleCode, cached, error, response);
+            } else {
+                logger.log(Level.FINE, () -> String.format("Request for %s returned HTTP %d in %d ms", moduleCode,
+                        result.statusCode, latencyMillis));
+                completeFromResponse(acadYear, moduleCode, cached, result, response);
+            }
+            dispatchPendingRequests();
+        });
+    }
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Builds the GET request for a module, made conditional when a cached copy can be revalidated.
+     */
+    private HttpRequest buildRequest(String acadYear, String moduleCode, NusmodsCache.Entry cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + acadYear + "/modules/" + moduleCode + ".json"))
+                .timeout(Duration.ofSeconds(NusmodsConstants.REQUEST_TIMEOUT_SECONDS))
+                .header("Accept-Encoding", GZIP_ENCODING);
+        if (cached != null && cached.getETag() != null) {
+            builder.header("If-None-Match", cached.getETag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            builder.header("If-Modified-Since", cached.getLastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads a streamed module response, projecting a 200 body down to the members in {@link #MODULE_FIELDS}
+     * and discarding any other body unread.
+     */
+    private static ModuleResponse readModuleResponse(HttpResponse<InputStream> result) {
+        if (result.statusCode() != HTTP_OK) {
+            try {
+                result.body().close();
+            } catch (IOException e) {
+                logger.log(Level.FINEST, "Failed to discard response body", e);
+            }
+            return new ModuleResponse(result.statusCode(), result.headers(), null);
+        }
+
+        try (Reader body = new BufferedReader(new InputStreamReader(openBody(result), StandardCharsets.UTF_8))) {
+            return new ModuleResponse(HTTP_OK, result.headers(), JsonUtil.projectObject(body, MODULE_FIELDS));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the body stream of a response, decompressing it if the server sent it gzip-encoded.
+     */
+    private static InputStream openBody(HttpResponse<InputStream> result) throws IOException {
+        boolean isGzipped = result.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase(GZIP_ENCODING))
+                .orElse(false);
+        return isGzipped ? new GZIPInputStream(result.body()) : result.body();
+    }
+
+    /**
+     * Completes a request from the HTTP response, updating the cache on 200 and 304.
+     */
+    private void completeFromResponse(String acadYear, String moduleCode, NusmodsCache.Entry cached,
+                                      ModuleResponse result, CompletableFuture<String> response) {
+        int status = result.statusCode;
+        if (status == HTTP_NOT_MODIFIED && cached != null) {
+            cache.markRevalidated(acadYear, moduleCode, cached,
+                    result.headers.firstValue("ETag").orElse(null),
+                    result.headers.firstValue("Last-Modified").orElse(null));
+            response.complete(cached.getJson());
+        } else if (status == HTTP_OK) {
+            if (cache != null) {
+                cache.put(acadYear, moduleCode, result.body,
+                        result.headers.firstValue("ETag").orElse(null),
+                        result.headers.firstValue("Last-Modified").orElse(null));
+            }
+            response.complete(result.body);
+        } else {
+            response.completeExceptionally(new NusmodsRequestException(moduleCode, status));
+        }
+    }
 
-        int status = response.statusCode();
-        if (status != 200) {
-            throw new Exception("Failed to fetch module data: HTTP " + status);
+    /**
+     * Completes a request that could not reach the server, falling back to a stale cached copy if there is one.
+     */
+    private void completeFromFailure(String moduleCode, NusmodsCache.Entry cached, Throwable error,
+                                     CompletableFuture<String> response) {
+        if (cached != null) {
+            logger.log(Level.INFO, "Serving stale cached data for " + moduleCode + " as revalidation failed");
+            response.complete(cached.getJson());
+        } else {
+            response.completeExceptionally(error);
         }
+    }
 
-        return response.body();
+    /**
+     * Status, headers and projected body of a module response.
+     */
+    private static class ModuleResponse {
+        private final int statusCode;
+        private final HttpHeaders headers;
+        private final String body;
+
+        private ModuleResponse(int statusCode, HttpHeaders headers, String body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
     }
 }
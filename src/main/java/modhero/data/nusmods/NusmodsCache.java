@@ -0,0 +1,379 @@
+package modhero.data.nusmods;
+
+import modhero.common.Constants.FilePathConstants;
+import modhero.common.Constants.NusmodsConstants;
+import modhero.common.util.DeserialisationUtil;
+import modhero.common.util.SerialisationUtil;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Disk-backed cache of raw NUSMods module responses, keyed by academic year and module code.
+ * <p>
+ * Each entry is one file holding a serialised header line (ETag, Last-Modified and fetch time)
+ * followed by the raw JSON. Entries younger than the time-to-live are served without touching
+ * the network; older entries are kept so they can be revalidated with a conditional GET.
+ * The number of entries is bounded, evicting the least recently used entry first.
+ * </p>
+ * <p>
+ * Entries are read from disk at most once and then served from memory. Their last use is
+ * recorded in the file modification time so the eviction order survives a restart, but only
+ * when the recorded time is more than {@link #ACCESS_TIME_RESOLUTION_MILLIS} old, so most hits
+ * do no I/O at all.
+ * </p>
+ */
+public class NusmodsCache {
+    private static final Logger logger = Logger.getLogger(NusmodsCache.class.getName());
+
+    private static final String ENTRY_EXTENSION = ".json";
+    private static final String VALID_KEY_PATTERN = "[A-Za-z0-9-]+";
+    private static final int EXPECTED_HEADER_ARGS = 3;
+    private static final long ACCESS_TIME_RESOLUTION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static NusmodsCache defaultCache;
+
+    private final Path cacheDirectory;
+    private final long timeToLiveMillis;
+    private final int maxEntries;
+    private final LinkedHashMap<Path, IndexedEntry> recentlyUsedEntries;
+
+    /**
+     * Creates a cache stored in the given directory, indexing any entries already on disk.
+     *
+     * @param cacheDirectory directory that holds the cache entries
+     * @param timeToLiveMillis how long an entry is served without revalidation
+     * @param maxEntries the maximum number of entries kept on disk
+     */
+    public NusmodsCache(String cacheDirectory, long timeToLiveMillis, int maxEntries) {
+        assert cacheDirectory != null && !cacheDirectory.isEmpty() : "Cache directory must not be empty";
+        assert maxEntries > 0 : "Cache must hold at least one entry";
+
+        this.cacheDirectory = Paths.get(cacheDirectory);
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.maxEntries = maxEntries;
+        this.recentlyUsedEntries = new LinkedHashMap<>(16, 0.75f, true);
+        indexExistingEntries();
+    }
+
+    /**
+     * Returns the cache shared by all default NUSMods clients.
+     *
+     * @return the default cache under the data directory
+     */
+    public static synchronized NusmodsCache getDefault() {
+        if (defaultCache == null) {
+            defaultCache = new NusmodsCache(FilePathConstants.NUSMODS_CACHE_DIRECTORY,
+                    TimeUnit.HOURS.toMillis(NusmodsConstants.CACHE_TIME_TO_LIVE_HOURS),
+                    NusmodsConstants.CACHE_MAX_ENTRIES);
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Looks up the cached response for a module, marking it as recently used.
+     *
+     * @param acadYear the academic year of the module
+     * @param moduleCode the module code
+     * @return the cached entry, which may be stale, or null if there is none
+     */
+    public Entry get(String acadYear, String moduleCode) {
+        Path entryPath = resolveEntryPath(acadYear, moduleCode);
+        if (entryPath == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry;
+        boolean isAccessTimeOutdated;
+        synchronized (this) {
+            IndexedEntry indexed = recentlyUsedEntries.get(entryPath);
+            if (indexed == null) {
+                return null;
+            }
+            if (indexed.entry == null) {
+                indexed.entry = loadEntry(entryPath);
+                if (indexed.entry == null) {
+                    return null;
+                }
+            }
+            entry = indexed.entry;
+            isAccessTimeOutdated = now - indexed.lastUsedOnDiskMillis >= ACCESS_TIME_RESOLUTION_MILLIS;
+            if (isAccessTimeOutdated) {
+                indexed.lastUsedOnDiskMillis = now;
+            }
+        }
+
+        if (isAccessTimeOutdated) {
+            recordLastUse(entryPath, now);
+        }
+        return entry;
+    }
+
+    /**
+     * Stores a freshly fetched response, evicting the least recently used entry if the cache is full.
+     *
+     * @param acadYear the academic year of the module
+     * @param moduleCode the module code
+     * @param json the raw JSON response
+     * @param eTag the ETag header of the response, or null if absent
+     * @param lastModified the Last-Modified header of the response, or null if absent
+     */
+    public synchronized void put(String acadYear, String moduleCode, String json, String eTag, String lastModified) {
+        assert json != null : "Cached json must not be null";
+        Path entryPath = resolveEntryPath(acadYear, moduleCode);
+        if (entryPath == null) {
+            return;
+        }
+
+        Entry entry = new Entry(json, eTag, lastModified, System.currentTimeMillis());
+        try {
+            writeEntry(entryPath, entry);
+            recentlyUsedEntries.put(entryPath, new IndexedEntry(entry, entry.getFetchedAtMillis()));
+            evictLeastRecentlyUsed();
+            logger.log(Level.FINEST, "Cached module response: " + entryPath);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to write cache entry: " + entryPath, e);
+        }
+    }
+
+    /**
+     * Restarts the time-to-live of an entry after the server confirmed it is unchanged.
+     * Validators sent with the confirmation replace the stored ones, which are kept otherwise.
+     *
+     * @param acadYear the academic year of the module
+     * @param moduleCode the module code
+     * @param entry the entry that was revalidated
+     * @param eTag the ETag header of the 304 response, or null if absent
+     * @param lastModified the Last-Modified header of the 304 response, or null if absent
+     */
+    public void markRevalidated(String acadYear, String moduleCode, Entry entry, String eTag, String lastModified) {
+        put(acadYear, moduleCode, entry.getJson(), eTag == null ? entry.getETag() : eTag,
+                lastModified == null ? entry.getLastModified() : lastModified);
+    }
+
+    /**
+     * Checks whether an entry can still be served without revalidation.
+     *
+     * @param entry the cached entry
+     * @return true if the entry is younger than the time-to-live
+     */
+    public boolean isFresh(Entry entry) {
+        return System.currentTimeMillis() - entry.getFetchedAtMillis() < timeToLiveMillis;
+    }
+
+    /** @return the number of entries currently in the cache */
+    public synchronized int size() {
+        return recentlyUsedEntries.size();
+    }
+
+    /**
+     * Loads the entries already on disk into the LRU index, least recently used first.
+     */
+    private void indexExistingEntries() {
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        List<Path> entryPaths = new ArrayList<>();
+        try (DirectoryStream<Path> yearDirectories = Files.newDirectoryStream(cacheDirectory, Files::isDirectory)) {
+            for (Path yearDirectory : yearDirectories) {
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(yearDirectory, "*" + ENTRY_EXTENSION)) {
+                    entries.forEach(entryPaths::add);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to index cache directory: " + cacheDirectory, e);
+        }
+
+        Map<Path, Long> lastUsedMillis = new HashMap<>();
+        for (Path entryPath : entryPaths) {
+            lastUsedMillis.put(entryPath, getLastUsedMillis(entryPath));
+        }
+        entryPaths.sort(Comparator.comparingLong(lastUsedMillis::get));
+        for (Path entryPath : entryPaths) {
+            recentlyUsedEntries.put(entryPath, new IndexedEntry(null, lastUsedMillis.get(entryPath)));
+        }
+        evictLeastRecentlyUsed();
+        logger.log(Level.FINE, () -> "Indexed " + recentlyUsedEntries.size() + " cached module responses");
+    }
+
+    private long getLastUsedMillis(Path entryPath) {
+        try {
+            return Files.getLastModifiedTime(entryPath).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads an indexed entry from disk for the first time, dropping it from the cache if it cannot be used.
+     *
+     * @return the entry, or null if it is corrupted or unreadable
+     */
+    private Entry loadEntry(Path entryPath) {
+        try {
+            Entry entry = readEntry(entryPath);
+            if (entry == null) {
+                logger.log(Level.WARNING, "Discarding corrupted cache entry: " + entryPath);
+                removeEntry(entryPath);
+            }
+            return entry;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to read cache entry: " + entryPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Records the last use of an entry in its file modification time, outside the cache lock.
+     * The entry may have been evicted meanwhile, in which case there is nothing to record.
+     */
+    private void recordLastUse(Path entryPath, long usedAtMillis) {
+        try {
+            Files.setLastModifiedTime(entryPath, FileTime.fromMillis(usedAtMillis));
+        } catch (IOException e) {
+            logger.log(Level.FINEST, "Failed to record last use of cache entry: " + entryPath, e);
+        }
+    }
+
+    /**
+     * Deletes least recently used entries until the cache is within its size bound.
+     */
+    private void evictLeastRecentlyUsed() {
+        while (recentlyUsedEntries.size() > maxEntries) {
+            Path eldest = recentlyUsedEntries.keySet().iterator().next();
+            removeEntry(eldest);
+            logger.log(Level.FINEST, "Evicted cache entry: " + eldest);
+        }
+    }
+
+    private void removeEntry(Path entryPath) {
+        recentlyUsedEntries.remove(entryPath);
+        try {
+            Files.deleteIfExists(entryPath);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to delete cache entry: " + entryPath, e);
+        }
+    }
+
+    /**
+     * Maps a cache key to its file, rejecting keys that are not plain codes.
+     *
+     * @return the entry path, or null if the key cannot be cached
+     */
+    private Path resolveEntryPath(String acadYear, String moduleCode) {
+        if (acadYear == null || moduleCode == null
+                || !acadYear.matches(VALID_KEY_PATTERN) || !moduleCode.matches(VALID_KEY_PATTERN)) {
+            return null;
+        }
+        return cacheDirectory.resolve(acadYear).resolve(moduleCode.toUpperCase() + ENTRY_EXTENSION);
+    }
+
+    /**
+     * Reads an entry file: a serialised header line followed by the raw JSON.
+     *
+     * @return the entry, or null if the header is corrupted
+     */
+    private Entry readEntry(Path entryPath) throws IOException {
+        String content = Files.readString(entryPath, StandardCharsets.UTF_8);
+        int headerEnd = content.indexOf('\n');
+        if (headerEnd <= 0) {
+            return null;
+        }
+
+        List<String> header = DeserialisationUtil.deserialiseMessage(content.substring(0, headerEnd));
+        if (header == null || header.size() != EXPECTED_HEADER_ARGS) {
+            return null;
+        }
+        try {
+            return new Entry(content.substring(headerEnd + 1), emptyToNull(header.get(0)),
+                    emptyToNull(header.get(1)), Long.parseLong(header.get(2)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes an entry through a temporary file so a crash never leaves a half-written entry.
+     */
+    private void writeEntry(Path entryPath, Entry entry) throws IOException {
+        Files.createDirectories(entryPath.getParent());
+        String header = SerialisationUtil.serialiseMessage(nullToEmpty(entry.getETag()))
+                + SerialisationUtil.serialiseMessage(nullToEmpty(entry.getLastModified()))
+                + SerialisationUtil.serialiseMessage(Long.toString(entry.getFetchedAtMillis()));
+
+        Path tempPath = entryPath.resolveSibling(entryPath.getFileName() + ".tmp");
+        Files.writeString(tempPath, header + "\n" + entry.getJson(), StandardCharsets.UTF_8);
+        Files.move(tempPath, entryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Position of an entry in the LRU index, holding the entry once it has been read from disk.
+     */
+    private static class IndexedEntry {
+        private Entry entry;
+        private long lastUsedOnDiskMillis;
+
+        IndexedEntry(Entry entry, long lastUsedOnDiskMillis) {
+            this.entry = entry;
+            this.lastUsedOnDiskMillis = lastUsedOnDiskMillis;
+        }
+    }
+
+    /**
+     * A cached NUSMods response together with the validators needed to revalidate it.
+     */
+    public static class Entry {
+        private final String json;
+        private final String eTag;
+        private final String lastModified;
+        private final long fetchedAtMillis;
+
+        Entry(String json, String eTag, String lastModified, long fetchedAtMillis) {
+            this.json = json;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public long getFetchedAtMillis() {
+            return fetchedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package modhero.data.nusmods;
+
+import modhero.common.Constants.AcademicConstants;
+import modhero.common.Constants.NusmodsConstants;
+import modhero.data.modules.Module;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fetches the prerequisites of a remotely fetched module in the background, so that adding one of
+ * them next does not wait on NUSMods.
+ * <p>
+ * The walk follows prerequisites up to a depth limit and fetches at most a fixed number of modules
+ * per walk. Fetched modules are held by the {@link ModuleRetriever}, which later lookups read through.
+ * </p>
+ */
+public class PrerequisitePrefetcher {
+    private static final Logger logger = Logger.getLogger(PrerequisitePrefetcher.class.getName());
+    private static final String WILDCARD_SUFFIX = "%";
+
+    private static PrerequisitePrefetcher sharedPrefetcher;
+
+    private final ModuleRetriever moduleRetriever;
+    private final Executor executor;
+    private final int maxDepth;
+    private final int budget;
+
+    /**
+     * Creates a prefetcher that walks prerequisites on the given executor.
+     *
+     * @param moduleRetriever the retriever that fetched modules are kept in
+     * @param executor runs the walk between fetches
+     * @param maxDepth how many levels of prerequisites below the fetched module are prefetched
+     * @param budget the maximum number of modules fetched by one walk
+     */
+    public PrerequisitePrefetcher(ModuleRetriever moduleRetriever, Executor executor, int maxDepth, int budget) {
+        assert moduleRetriever != null && executor != null : "PrerequisitePrefetcher arguments must not be null";
+        this.moduleRetriever = moduleRetriever;
+        this.executor = executor;
+        this.maxDepth = maxDepth;
+        this.budget = budget;
+    }
+
+    /**
+     * Returns the prefetcher shared by the whole application, which walks on a small pool of daemon threads.
+     *
+     * @return the shared prefetcher
+     */
+    public static synchronized PrerequisitePrefetcher getShared() {
+        if (sharedPrefetcher == null) {
+            ExecutorService workers = Executors.newFixedThreadPool(NusmodsConstants.PREFETCH_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "prerequisite-prefetcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sharedPrefetcher = new PrerequisitePrefetcher(ModuleRetriever.getShared(), workers,
+                    NusmodsConstants.PREFETCH_MAX_DEPTH, NusmodsConstants.PREFETCH_BUDGET);
+        }
+        return sharedPrefetcher;
+    }
+
+    /**
+     * Starts prefetching the prerequisites of a module without blocking the calling thread.
+     *
+     * @param module the module whose prerequisites are prefetched
+     * @param knownCodes codes of modules already available locally, which are not fetched;
+     *                   must not be modified while the walk runs
+     * @return a future that completes when the walk has finished
+     */
+    public CompletableFuture<Void> prefetch(Module module, Set<String> knownCodes) {
+        assert module != null && knownCodes != null : "prefetch arguments must not be null";
+
+        Walk walk = new Walk(knownCodes);
+        walk.visitedCodes.add(module.getCode());
+        return prefetchPrerequisites(walk, module, 1).whenComplete((ignored, error) ->
+                logger.log(Level.FINE, () -> String.format("Prefetched %d prerequisites of %s",
+                        budget - Math.max(walk.remainingBudget.get(), 0), module.getCode())));
+    }
+
+    private CompletableFuture<Void> prefetchPrerequisites(Walk walk, Module module, int depth) {
+        if (depth > maxDepth || module.getPrerequisites() == null || module.getPrerequisites().isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<CompletableFuture<Void>> children = new ArrayList<>();
+        Set<String> prerequisiteCodes = new LinkedHashSet<>();
+        module.getPrerequisites().getTree().collectCodes(prerequisiteCodes);
+        for (String code : prerequisiteCodes) {
+            if (walk.shouldFetch(code)) {
+                children.add(prefetchModule(walk, code, depth));
+            }
+        }
+        return CompletableFuture.allOf(children.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private CompletableFuture<Void> prefetchModule(Walk walk, String code, int depth) {
+        logger.log(Level.FINEST, () -> "Prefetching " + code + " at depth " + depth);
+        return moduleRetriever.getModuleAsync(AcademicConstants.ACAD_YEAR, code)
+                .handleAsync((module, error) -> module == null
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : prefetchPrerequisites(walk, module, depth + 1), executor)
+                .thenCompose(next -> next);
+    }
+
+    /**
+     * State of one prefetch walk, shared by the threads that carry it out.
+     */
+    private class Walk {
+        private final Set<String> knownCodes;
+        private final Set<String> visitedCodes = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger remainingBudget = new AtomicInteger(budget);
+
+        private Walk(Set<String> knownCodes) {
+            this.knownCodes = knownCodes;
+        }
+
+        /**
+         * Claims a code for fetching if it is unknown, not yet visited, and the budget allows it.
+         */
+        private boolean shouldFetch(String code) {
+            if (code.endsWith(WILDCARD_SUFFIX) || knownCodes.contains(code) || !visitedCodes.add(code)) {
+                return false;
+            }
+            return remainingBudget.getAndDecrement() > 0;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package modhero.data.timetable;
+
+import modhero.data.modules.Module;
+import modhero.data.modules.PrerequisiteNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reverse index of prerequisites within a plan: maps each module code mentioned in a planned module's
+ * prerequisite tree to the planned modules that mention it. Deleting a module then only needs to
+ * revalidate the modules listed under its code, instead of every module planned after it.
+ * Wildcard codes are kept by prefix, since any module starting with the prefix may satisfy them.
+ */
+public class DependentsIndex {
+    private static final Logger logger = Logger.getLogger(DependentsIndex.class.getName());
+
+    private final Map<String, Set<Module>> dependentsByCode = new HashMap<>();
+    private final Map<String, Set<Module>> dependentsByPrefix = new HashMap<>();
+    private final Map<Module, Set<String>> indexedCodes = new HashMap<>();
+
+    /**
+     * Indexes the prerequisites of a planned module, replacing any earlier entry for the same module code.
+     *
+     * @param module the planned module
+     */
+    public void add(Module module) {
+        assert module != null : "DependentsIndex module must not be null";
+        remove(module);
+        if (module.getPrerequisites().isEmpty()) {
+            return;
+        }
+
+        Set<String> codes = new LinkedHashSet<>();
+        module.getPrerequisites().getTree().collectCodes(codes);
+        for (String code : codes) {
+            if (code.endsWith(PrerequisiteNode.WILDCARD_SUFFIX)) {
+                String prefix = code.substring(0, code.length() - PrerequisiteNode.WILDCARD_SUFFIX.length());
+                dependentsByPrefix.computeIfAbsent(prefix, k -> new LinkedHashSet<>()).add(module);
+            } else {
+                dependentsByCode.computeIfAbsent(code, k -> new LinkedHashSet<>()).add(module);
+            }
+        }
+        indexedCodes.put(module, codes);
+        logger.log(Level.FINEST, () -> String.format("Indexed %d prerequisite codes of %s", codes.size(), module.getCode()));
+    }
+
+    /**
+     * Removes a planned module from the index, using the codes it was indexed under.
+     *
+     * @param module the module, matched by module code
+     */
+    public void remove(Module module) {
+        Set<String> codes = indexedCodes.remove(module);
+        if (codes == null) {
+            return;
+        }
+        for (String code : codes) {
+            if (code.endsWith(PrerequisiteNode.WILDCARD_SUFFIX)) {
+                String prefix = code.substring(0, code.length() - PrerequisiteNode.WILDCARD_SUFFIX.length());
+                unlink(dependentsByPrefix, prefix, module);
+            } else {
+                unlink(dependentsByCode, code, module);
+            }
+        }
+    }
+
+    /**
+     * Returns the planned modules whose prerequisites mention the given module code,
+     * directly or through a wildcard matching it.
+     *
+     * @param code the module code
+     * @return the dependent modules in the order they were indexed, empty if there are none
+     */
+    public List<Module> getDependents(String code) {
+        List<Module> dependents = new ArrayList<>(dependentsByCode.getOrDefault(code, Set.of()));
+        for (Map.Entry<String, Set<Module>> entry : dependentsByPrefix.entrySet()) {
+            if (code.startsWith(entry.getKey())) {
+                for (Module dependent : entry.getValue()) {
+                    if (!dependents.contains(dependent)) {
+                        dependents.add(dependent);
+                    }
+                }
+            }
+        }
+        return dependents;
+    }
+
+    /**
+     * Removes every module from the index.
+     */
+    public void clear() {
+        dependentsByCode.clear();
+        dependentsByPrefix.clear();
+        indexedCodes.clear();
+    }
+
+    private static void unlink(Map<String, Set<Module>> index, String key, Module module) {
+        Set<Module> dependents = index.get(key);
+        if (dependents != null && dependents.remove(module) && dependents.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package modhero.data.timetable;
+
+import static modhero.common.Constants.AcademicConstants;
+
+import modhero.common.util.PrerequisiteUtil;
+import modhero.data.modules.Module;
+import modhero.data.modules.ModuleCodeDictionary;
+import modhero.data.modules.ModuleCodeList;
+import modhero.data.modules.PreclusionIndex;
+import modhero.data.modules.TakenCodes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Checks a whole timetable for duplicate modules, preclusion conflicts and prerequisites that are
+ * not met by earlier semesters, collecting every violation instead of stopping at the first.
+ * The timetable is walked once in semester order while the modules completed so far are built up,
+ * so the work grows linearly with the number of planned modules.
+ */
+public class PlanValidator {
+    private static final Logger logger = Logger.getLogger(PlanValidator.class.getName());
+
+    private final PreclusionIndex preclusionIndex;
+
+    /**
+     * Creates a validator that checks preclusions against the given index.
+     *
+     * @param preclusionIndex index of module preclusions, which must hold the planned modules
+     */
+    public PlanValidator(PreclusionIndex preclusionIndex) {
+        assert preclusionIndex != null : "PlanValidator preclusionIndex must not be null";
+        this.preclusionIndex = preclusionIndex;
+    }
+
+    /**
+     * Validates every module in the timetable against the modules planned before it.
+     *
+     * @param timetable the timetable to validate
+     * @param exemptedModules modules exempted from prerequisites
+     * @return the violations in semester order, empty if the plan is valid
+     */
+    public List<PlanViolation> validate(Timetable timetable, List<String> exemptedModules) {
+        ModuleCodeDictionary dictionary = ModuleCodeDictionary.getShared();
+        BitSet exemptedIds = ModuleCodeList.idsOf(exemptedModules);
+        NavigableSet<String> exemptedCodes = ModuleCodeList.sortedCodesOf(exemptedModules);
+
+        BitSet completedIds = new BitSet();
+        NavigableSet<String> completedCodes = new TreeSet<>();
+        BitSet plannedIds = new BitSet();
+        List<PlanViolation> violations = new ArrayList<>();
+
+        for (int year = 0; year < AcademicConstants.NUM_YEARS; year++) {
+            for (int term = 0; term < AcademicConstants.NUM_TERMS; term++) {
+                List<Module> modules = timetable.getModules(year, term);
+                TakenCodes taken = TakenCodes.of(completedIds, completedCodes, exemptedIds, exemptedCodes);
+
+                for (Module module : modules) {
+                    if (plannedIds.get(module.getId())) {
+                        violations.add(new PlanViolation(PlanViolation.Type.DUPLICATE,
+                                module.getCode(), year + 1, term + 1, ""));
+                        continue;
+                    }
+                    BitSet precludedIds = preclusionIndex.findPrecluded(module.getCode(), plannedIds);
+                    for (int id = precludedIds.nextSetBit(0); id >= 0; id = precludedIds.nextSetBit(id + 1)) {
+                        violations.add(new PlanViolation(PlanViolation.Type.PRECLUSION,
+                                module.getCode(), year + 1, term + 1, dictionary.codeOf(id)));
+                    }
+                    if (!PrerequisiteUtil.isSatisfied(module.getPrerequisites(), taken)) {
+                        violations.add(new PlanViolation(PlanViolation.Type.PREREQUISITE,
+                                module.getCode(), year + 1, term + 1, module.getPrerequisites().toString()));
+                    }
+                    plannedIds.set(module.getId());
+                }
+
+                // Modules of this term only count as completed from the next term on
+                for (Module module : modules) {
+                    completedIds.set(module.getId());
+                    completedCodes.add(module.getCode());
+                }
+            }
+        }
+
+        logger.log(Level.FINE, () -> String.format("Plan validated with %d violations", violations.size()));
+        return violations;
+    }
+}
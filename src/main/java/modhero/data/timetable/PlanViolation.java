@@ -0,0 +1,96 @@
+package modhero.data.timetable;
+
+import java.util.List;
+
+/**
+ * Represents one rule a planned module breaks, as found by {@link PlanValidator}.
+ * Each {@code PlanViolation} includes the module code, the year and term
+ * it is planned in, and what it conflicts with.
+ */
+public class PlanViolation {
+    /** The rule that is broken. */
+    public enum Type {
+        /** The module is planned more than once; the detail is empty. */
+        DUPLICATE,
+        /** The module is precluded by an earlier module; the detail is that module's code. */
+        PRECLUSION,
+        /** The module's prerequisites are not met by earlier semesters; the detail is the prerequisites. */
+        PREREQUISITE
+    }
+
+    private final Type type;
+    private final String moduleCode;
+    private final int year;
+    private final int term;
+    private final String detail;
+
+    /**
+     * Creates a violation.
+     *
+     * @param type the rule that is broken
+     * @param moduleCode the code of the module that breaks it
+     * @param year academic year (1-based)
+     * @param term term (1-based)
+     * @param detail what the module conflicts with, as described by {@link Type}
+     */
+    public PlanViolation(Type type, String moduleCode, int year, int term, String detail) {
+        this.type = type;
+        this.moduleCode = moduleCode;
+        this.year = year;
+        this.term = term;
+        this.detail = detail;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getModuleCode() {
+        return moduleCode;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getTerm() {
+        return term;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    /** @return a description of the violation for the user */
+    public String getMessage() {
+        String location = String.format("Y%dS%d %s: ", year, term, moduleCode);
+        switch (type) {
+        case DUPLICATE:
+            return location + "Module " + moduleCode + " is already in your timetable!";
+        case PRECLUSION:
+            return location + "Module " + moduleCode + " cannot be taken together with Module " + detail;
+        default:
+            return location + "Prerequisites not met for " + moduleCode + ". Requires: " + detail;
+        }
+    }
+
+    /**
+     * Formats violations for the user as a count line followed by one indented line per violation.
+     *
+     * @param header the start of the count line, such as "Your saved timetable has"
+     * @param violations the violations to list
+     * @return the header, the number of violations and their messages
+     */
+    public static String format(String header, List<PlanViolation> violations) {
+        StringBuilder formatted = new StringBuilder(header).append(' ').append(violations.size()).append(" issue(s):");
+        for (PlanViolation violation : violations) {
+            formatted.append("\n  ").append(violation.getMessage());
+        }
+        return formatted.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
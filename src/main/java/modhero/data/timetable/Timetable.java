@@ -11,10 +11,18 @@ import modhero.exceptions.ModuleAlreadyExistsException;
 import modhero.exceptions.ModuleDeletionBlockedException;
 import modhero.exceptions.ModuleNotFoundException;
 import modhero.data.modules.Module;
+import modhero.data.modules.ModuleCodeDictionary;
+import modhero.data.modules.ModuleCodeList;
+import modhero.data.modules.PreclusionIndex;
+import modhero.data.modules.TakenCodes;
 import modhero.exceptions.ModuleAdditionBlockedException;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,12 +32,37 @@ import java.util.logging.Logger;
 public class Timetable {
     public static final Logger logger = Logger.getLogger(Timetable.class.getName());
 
+    private static final int NUM_SLOTS = AcademicConstants.NUM_YEARS * AcademicConstants.NUM_TERMS;
+
     private List<List<List<Module>>> timetable;
+    private final PreclusionIndex preclusionIndex;
+    private final DependentsIndex dependentsIndex;
+
+    /**
+     * IDs of the modules completed before each (year, term) slot, in slot order; the entry after
+     * the last slot holds every module in the timetable. Kept up to date on every add and delete.
+     */
+    private final BitSet[] completedBefore;
+
+    /** Sorted codes of the modules in {@link #completedBefore}, slot by slot, for wildcard prerequisites. */
+    private final List<NavigableSet<String>> completedCodesBefore;
 
     /**
      * Creates an empty timetable initialized for all years and semesters.
      */
     public Timetable() {
+        this(new PreclusionIndex());
+    }
+
+    /**
+     * Creates an empty timetable that checks preclusions against the given index.
+     *
+     * @param preclusionIndex index of module preclusions, usually built from the module catalog
+     */
+    public Timetable(PreclusionIndex preclusionIndex) {
+        assert preclusionIndex != null : "Timetable preclusionIndex must not be null";
+        this.preclusionIndex = preclusionIndex;
+        this.dependentsIndex = new DependentsIndex();
         timetable = new ArrayList<>();
 
         // Initialize the timetable
@@ -40,6 +73,12 @@ public class Timetable {
             }
             timetable.add(yearSemesters);
         }
+        completedBefore = new BitSet[NUM_SLOTS + 1];
+        completedCodesBefore = new ArrayList<>();
+        for (int slot = 0; slot <= NUM_SLOTS; slot++) {
+            completedBefore[slot] = new BitSet();
+            completedCodesBefore.add(new TreeSet<>());
+        }
 
         logger.log(Level.FINE, () -> String.format("Timetable initialised for %d years and %d terms", AcademicConstants.NUM_YEARS, AcademicConstants.NUM_TERMS));
     }
@@ -68,7 +107,8 @@ public class Timetable {
 
     private void checkModuleAddable(int year, int semester, Module moduleToAdd, List<String> exemptedModules) throws ModHeroException {
         // If module already exists in the Timetable
-        if (getAllModules().stream().anyMatch(m -> m.getCode().equalsIgnoreCase(moduleToAdd.getCode()))) {
+        BitSet allModuleIds = completedBefore[NUM_SLOTS];
+        if (allModuleIds.get(moduleToAdd.getId())) {
             throw new ModuleAlreadyExistsException(moduleToAdd.getCode());
         }
 
@@ -78,14 +118,21 @@ public class Timetable {
         }
 
         // Preclusion check
-        List<Module> allExistingModules = getAllModules(); // Get all modules first
-        PreclusionUtil.validatePreclusions(moduleToAdd, allExistingModules);
+        PreclusionUtil.validatePreclusions(moduleToAdd, allModuleIds, preclusionIndex);
 
         // Check whether meeting prerequisite
-        List<Module> completedModules = getModulesTakenUpTo(year - 1, semester - 1);
-        List<String> completedCodes = completedModules.stream().map(Module::getCode).toList();
+        int slot = slotOf(year - 1, semester - 1);
+        TakenCodes taken = TakenCodes.of(completedBefore[slot], completedCodesBefore.get(slot),
+                ModuleCodeList.idsOf(exemptedModules), ModuleCodeList.sortedCodesOf(exemptedModules));
 
-        PrerequisiteUtil.validatePrerequisites(moduleToAdd.getCode(), moduleToAdd.getPrerequisites(), completedCodes, exemptedModules);
+        PrerequisiteUtil.validatePrerequisites(moduleToAdd.getCode(), moduleToAdd.getPrerequisites(), taken);
+    }
+
+    /**
+     * Returns the position of a (year, term) slot in timetable order.
+     */
+    private static int slotOf(int year, int term) {
+        return year * AcademicConstants.NUM_TERMS + term;
     }
 
     /**
@@ -97,9 +144,33 @@ public class Timetable {
      */
     public void addModuleDirect(int year, int term, Module module) {
         timetable.get(year).get(term).add(module);
+        preclusionIndex.add(module);
+        dependentsIndex.add(module);
+        for (int slot = slotOf(year, term) + 1; slot <= NUM_SLOTS; slot++) {
+            completedBefore[slot].set(module.getId());
+            completedCodesBefore.get(slot).add(module.getCode());
+        }
         logger.log(Level.FINEST, () -> String.format("Module %s added to year %d term %d", module.getCode(), year, term));
     }
 
+    /**
+     * Replaces every scheduled copy of a module with the given instance, matched by module code,
+     * and reindexes its preclusions.
+     *
+     * @param module the updated module
+     */
+    public void replaceModule(Module module) {
+        for (List<List<Module>> year : timetable) {
+            for (List<Module> term : year) {
+                term.replaceAll(m -> m.getId() == module.getId() ? module : m);
+            }
+        }
+        preclusionIndex.replace(module);
+        if (completedBefore[NUM_SLOTS].get(module.getId())) {
+            dependentsIndex.add(module);
+        }
+    }
+
     /**
      * Deletes a module after validating dependencies.
      *
@@ -125,19 +196,31 @@ public class Timetable {
      * @param year       the year index (0-based)
      * @param semester   the semester index (0-based)
      * @param moduleCode the code of the module to delete
-     * @throws ModuleDeletionBlockedException if other modules depend on this module
+     * @throws ModuleDeletionBlockedException listing every later module that depends on this module
      */
     private void checkModuleDeletable(int year, int semester, String moduleCode, List<String> exemptedModules) throws ModuleDeletionBlockedException {
-        // Get all modules taken after this module
-        List<Module> futureModules = getModulesTakenAfter(year, semester);
+        // Only modules taken after this one whose prerequisites mention it can be affected
+        int moduleId = ModuleCodeDictionary.getShared().findId(moduleCode);
+        assert moduleId != ModuleCodeDictionary.NO_ID : "checkModuleDeletable module must be in the timetable";
+        String canonicalCode = ModuleCodeDictionary.getShared().codeOf(moduleId);
+        BitSet plannedUpToNow = completedBefore[slotOf(year, semester) + 1];
+        List<Module> dependents = new ArrayList<>();
+        for (Module dependent : dependentsIndex.getDependents(canonicalCode)) {
+            if (!plannedUpToNow.get(dependent.getId())) {
+                dependents.add(dependent);
+            }
+        }
+        if (dependents.isEmpty()) {
+            return;
+        }
 
         // Simulate what completed modules would be if we delete this module
-        // Include the current semester here
-        List<Module> completedModules = getAllModules();
-        completedModules.removeIf(m -> m.getCode().equals(moduleCode));
-        List<String> completedCodes = completedModules.stream().map(Module::getCode).toList();
-
-        PrerequisiteUtil.validateFutureDependencies(moduleCode, futureModules, completedCodes, exemptedModules);
+        BitSet completedIds = (BitSet) completedBefore[NUM_SLOTS].clone();
+        completedIds.clear(moduleId);
+        NavigableSet<String> completedCodes = new TreeSet<>(completedCodesBefore.get(NUM_SLOTS));
+        completedCodes.remove(canonicalCode);
+        PrerequisiteUtil.validateFutureDependencies(moduleCode, dependents, TakenCodes.of(completedIds, completedCodes,
+                ModuleCodeList.idsOf(exemptedModules), ModuleCodeList.sortedCodesOf(exemptedModules)));
     }
 
     /**
@@ -149,12 +232,38 @@ public class Timetable {
      * @param moduleCode the code of the module to delete
      */
     private void deleteModuleDirect(int year, int semester, String moduleCode) {
+        int moduleId = ModuleCodeDictionary.getShared().findId(moduleCode);
         List<Module> modules = timetable.get(year).get(semester);
-        modules.removeIf(m -> m.getCode().equals(moduleCode));
+        Module removed = null;
+        for (Module module : modules) {
+            if (module.getId() == moduleId) {
+                removed = module;
+                break;
+            }
+        }
+        if (removed != null) {
+            modules.remove(removed);
+            dependentsIndex.remove(removed);
+            for (int slot = slotOf(year, semester) + 1; slot <= NUM_SLOTS; slot++) {
+                completedBefore[slot].clear(moduleId);
+                completedCodesBefore.get(slot).remove(removed.getCode());
+            }
+        }
         logger.log(Level.FINEST, () -> String.format("Module %s deleted from year %d semester %d",
                 moduleCode, year, semester));
     }
 
+    /**
+     * Checks the whole timetable for duplicates, preclusion conflicts and unmet prerequisites,
+     * such as after modules were added directly without validation.
+     *
+     * @param exemptedModules modules exempted from prerequisites
+     * @return every violation in semester order, empty if the plan is valid
+     */
+    public List<PlanViolation> validatePlan(List<String> exemptedModules) {
+        return new PlanValidator(preclusionIndex).validate(this, exemptedModules);
+    }
+
     /**
      * Finds the year and term indices where a module is scheduled.
      *
@@ -163,12 +272,13 @@ public class Timetable {
      * @author sivanshno
      */
     public int[] findModuleLocation(String moduleCode) throws ModuleNotFoundException {
+        int moduleId = ModuleCodeDictionary.getShared().findId(moduleCode);
         for (int year = 0; year < timetable.size(); year++) {
             List<List<Module>> yearSemesters = timetable.get(year);
             for (int term = 0; term < yearSemesters.size(); term++) {
                 List<Module> modules = yearSemesters.get(term);
                 for (Module module : modules) {
-                    if (module.getCode().equals(moduleCode)) {
+                    if (module.getId() == moduleId) {
                         return new int[]{year, term};
                     }
                 }
@@ -182,57 +292,13 @@ public class Timetable {
      *
      * @param year the year index (0-based)
      * @param term the term index (0-based)
-     * @return list of modules in the specified term
+     * @return read-only list of modules in the specified term
      */
     public List<Module> getModules(int year, int term) {
         assert year >= 0 && year < AcademicConstants.NUM_YEARS : "getModules year out of bounds";
         assert term >= 0 && term < AcademicConstants.NUM_TERMS : "getModules term out of bounds";
 
-        return timetable.get(year).get(term);
-    }
-
-    /**
-     * Retrieves modules relative to a specific year and semester.
-     * Note: This method uses 0-based indices internally.
-     *
-     * @param targetYear the target year (0-based)
-     * @param targetSem  the target semester (0-based)
-     * @param range      whether to get modules before or after the target
-     * @return a flat list of modules matching the criteria
-     */
-    private List<Module> getModulesRelativeTo(int targetYear, int targetSem, TimeRange range) {
-        List<Module> modules = new ArrayList<>();
-
-        for (int y = 0; y < AcademicConstants.NUM_YEARS; y++) {
-            for (int s = 0; s < AcademicConstants.NUM_TERMS; s++) {
-                boolean shouldInclude;
-
-                if (range == TimeRange.BEFORE) {
-                    // Include if (year < target) OR (same year AND semester < target)
-                    shouldInclude = (y < targetYear) || (y == targetYear && s < targetSem);
-                } else { // TimeRange.AFTER
-                    // Include if (year > target) OR (same year AND semester > target)
-                    shouldInclude = (y > targetYear) || (y == targetYear && s > targetSem);
-                }
-
-                if (shouldInclude) {
-                    try {
-                        modules.addAll(timetable.get(y).get(s));
-                    } catch (IndexOutOfBoundsException e) {
-                        logger.log(Level.WARNING, "Error accessing timetable slot: Y" + y + " S" + s, e);
-                    }
-                }
-            }
-        }
-        return modules;
-    }
-
-    private List<Module> getModulesTakenUpTo(int targetYear, int targetSem) {
-        return getModulesRelativeTo(targetYear, targetSem, TimeRange.BEFORE);
-    }
-
-    private List<Module> getModulesTakenAfter(int targetYear, int targetSem) {
-        return getModulesRelativeTo(targetYear, targetSem, TimeRange.AFTER);
+        return Collections.unmodifiableList(timetable.get(year).get(term));
     }
 
     /**
@@ -285,5 +351,12 @@ public class Timetable {
                 sem.clear();
             }
         }
+        for (BitSet moduleIds : completedBefore) {
+            moduleIds.clear();
+        }
+        for (NavigableSet<String> codes : completedCodesBefore) {
+            codes.clear();
+        }
+        dependentsIndex.clear();
     }
 }
@@ -1,12 +1,14 @@
 package modhero.exceptions;
 
+import java.util.List;
+
 /**
  * Exception thrown when attempting to delete a module that is required
  * as a prerequisite for other modules in the timetable.
  */
 public class ModuleDeletionBlockedException extends ModHeroException {
     private final String moduleCode;
-    private final String dependentModule;
+    private final List<String> dependentModules;
 
     /**
      * Constructs a {@code ModuleDeletionBlockedException} with the specified module code
@@ -16,17 +18,34 @@ public class ModuleDeletionBlockedException extends ModHeroException {
      * @param dependentModule the module that depends on this prerequisite
      */
     public ModuleDeletionBlockedException(String moduleCode, String dependentModule) {
+        this(moduleCode, List.of(dependentModule));
+    }
+
+    /**
+     * Constructs a {@code ModuleDeletionBlockedException} with the specified module code
+     * and every dependent module that would be left without its prerequisites.
+     *
+     * @param moduleCode the code of the module being deleted
+     * @param dependentModules the modules that depend on this prerequisite, at least one
+     */
+    public ModuleDeletionBlockedException(String moduleCode, List<String> dependentModules) {
         super(String.format("Cannot delete %s as it is a prerequisite for %s",
-                moduleCode, dependentModule));
+                moduleCode, String.join(", ", dependentModules)));
+        assert !dependentModules.isEmpty() : "ModuleDeletionBlockedException needs a dependent module";
         this.moduleCode = moduleCode;
-        this.dependentModule = dependentModule;
+        this.dependentModules = List.copyOf(dependentModules);
     }
 
     public String getModuleCode() {
         return moduleCode;
     }
 
+    /** @return the first dependent module */
     public String getDependentModule() {
-        return dependentModule;
+        return dependentModules.get(0);
+    }
+
+    public List<String> getDependentModules() {
+        return dependentModules;
     }
 }
@@ -0,0 +1,29 @@
+package modhero.exceptions;
+
+/**
+ * Exception thrown when the NUSMods API responds to a module request with a non-200 status.
+ */
+public class NusmodsRequestException extends ModHeroException {
+    private final String moduleCode;
+    private final int statusCode;
+
+    /**
+     * Constructs a {@code NusmodsRequestException} for the given module and HTTP status.
+     *
+     * @param moduleCode the module code that was requested
+     * @param statusCode the HTTP status code returned by NUSMods
+     */
+    public NusmodsRequestException(String moduleCode, int statusCode) {
+        super("Failed to fetch module data for " + moduleCode + ": HTTP " + statusCode);
+        this.moduleCode = moduleCode;
+        this.statusCode = statusCode;
+    }
+
+    public String getModuleCode() {
+        return moduleCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
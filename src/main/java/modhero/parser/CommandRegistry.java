@@ -0,0 +1,45 @@
+package modhero.parser;
+
+import modhero.commands.Command;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Maps each command word to the grammar that builds its command from the command line's tokens.
+ */
+final class CommandRegistry {
+    private final Map<String, Function<CommandTokens, Command>> grammars = new HashMap<>();
+    private final Function<CommandTokens, Command> unknownCommand;
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param unknownCommand builds the command returned for an unregistered command word
+     */
+    CommandRegistry(Function<CommandTokens, Command> unknownCommand) {
+        this.unknownCommand = unknownCommand;
+    }
+
+    /**
+     * Registers the grammar of a command word.
+     *
+     * @param commandWord the word that selects the command
+     * @param grammar builds the command from the tokens, or an IncorrectCommand if the arguments do not fit
+     */
+    void register(String commandWord, Function<CommandTokens, Command> grammar) {
+        Function<CommandTokens, Command> previous = grammars.putIfAbsent(commandWord, grammar);
+        assert previous == null : "Command word registered twice: " + commandWord;
+    }
+
+    /**
+     * Builds the command selected by the command word of the tokens.
+     *
+     * @param tokens the tokenized command line
+     * @return the command
+     */
+    Command dispatch(CommandTokens tokens) {
+        return grammars.getOrDefault(tokens.getCommandWord(), unknownCommand).apply(tokens);
+    }
+}
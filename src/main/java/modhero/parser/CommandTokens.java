@@ -0,0 +1,82 @@
+package modhero.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A command line split into its command word and space-separated arguments in a single pass.
+ * Only letters, digits and spaces are accepted in a command line.
+ */
+final class CommandTokens {
+    private final String commandWord;
+    private final List<String> arguments;
+    private final String argumentText;
+
+    private CommandTokens(String commandWord, List<String> arguments, String argumentText) {
+        this.commandWord = commandWord;
+        this.arguments = arguments;
+        this.argumentText = argumentText;
+    }
+
+    /**
+     * Splits a command line into tokens.
+     *
+     * @param input the full command line
+     * @return the tokens, or null if the line is blank or contains a character other than a letter, digit or space
+     */
+    static CommandTokens tokenize(String input) {
+        List<String> tokens = new ArrayList<>();
+        int argumentStart = -1;
+        int argumentEnd = -1;
+        int tokenStart = -1;
+
+        for (int i = 0; i <= input.length(); i++) {
+            char c = i < input.length() ? input.charAt(i) : ' ';
+            if (c == ' ') {
+                if (tokenStart != -1) {
+                    tokens.add(input.substring(tokenStart, i));
+                    if (tokens.size() > 1) {
+                        argumentEnd = i;
+                    }
+                    tokenStart = -1;
+                }
+            } else if (isWordCharacter(c)) {
+                if (tokenStart == -1) {
+                    tokenStart = i;
+                    if (tokens.size() == 1 && argumentStart == -1) {
+                        argumentStart = i;
+                    }
+                }
+            } else {
+                return null;
+            }
+        }
+
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        String argumentText = argumentStart == -1 ? "" : input.substring(argumentStart, argumentEnd);
+        return new CommandTokens(tokens.get(0), Collections.unmodifiableList(tokens.subList(1, tokens.size())),
+                argumentText);
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    /** @return the first token of the line */
+    String getCommandWord() {
+        return commandWord;
+    }
+
+    /** @return the tokens after the command word */
+    List<String> getArguments() {
+        return arguments;
+    }
+
+    /** @return the text after the command word as typed, without surrounding spaces */
+    String getArgumentText() {
+        return argumentText;
+    }
+}
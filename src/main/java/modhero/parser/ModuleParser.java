@@ -1,11 +1,16 @@
 package modhero.parser;
 
+import modhero.common.util.JsonStreamReader;
 import modhero.common.util.JsonUtil;
+import modhero.data.modules.PrerequisiteNode;
 import modhero.data.modules.Prerequisites;
 import modhero.data.modules.Module;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -20,6 +25,7 @@ public class ModuleParser {
     public static final String MC = "moduleCredit";
     public static final String PRECLUDE = "preclusionRule";
     public static final String PREREQ = "prereqTree";
+    private static final Set<String> FIELDS = Set.of(CODE, NAME, MC, PRECLUDE, PREREQ);
     private static final int MAX_MC = 20;
 
     /**
@@ -33,12 +39,12 @@ public class ModuleParser {
             return null;
         }
 
-        // Use static methods from JsonUtil
-        String code = JsonUtil.getArg(json, CODE);
-        String name = JsonUtil.getArg(json, NAME);
-        String mc = JsonUtil.getArg(json, MC);
-        String preclude = JsonUtil.getArg(json, PRECLUDE);
-        String prereq = JsonUtil.getArg(json, PREREQ);
+        Map<String, String> args = JsonUtil.getArgs(json, FIELDS);
+        String code = args.get(CODE);
+        String name = args.get(NAME);
+        String mc = args.get(MC);
+        String preclude = args.get(PRECLUDE);
+        String prereq = args.get(PREREQ);
 
         if (!isValidRawData(code, name, mc)) {
             logger.log(Level.WARNING, () ->
@@ -57,12 +63,7 @@ public class ModuleParser {
             preclude = "";
         }
 
-        Prerequisites parsedPrereqObj = new Prerequisites();
-        if (prereq != null) {
-            List<List<String>> parsedPrereq = parsePrereq(prereq);
-            parsedPrereqObj = new Prerequisites(parsedPrereq);
-        }
-
+        Prerequisites parsedPrereqObj = new Prerequisites(parsePrereqTree(prereq));
         return new Module(code, name, parsedMc, "core", preclude, parsedPrereqObj);
     }
 
@@ -98,128 +99,107 @@ public class ModuleParser {
     }
 
     /**
-     * Recursively parses a prerequisite tree JSON string and extracts all valid module code combinations.
-     * The JSON structure contains nested "or" and "and" logical operators with module code leaves.
+     * Parses a prerequisite tree JSON string into a prerequisite tree.
+     * The JSON structure contains nested "or", "and" and "nOf" logical operators with module code leaves,
+     * and is walked once by a cursor without copying any subtree.
      *
      * @param json The prerequisite tree as a JSON string from NUSMods API.
-     * @return A list of lists, where each inner list represents one valid combination of module codes that satisfies the prerequisite requirement.
+     * @return The root of the tree, or null if there are no prerequisites or the tree is malformed.
      */
-    public static List<List<String>> parsePrereq(String json) {
-        if (json == null || json.equals("null") || json.isEmpty()) {
-            return new ArrayList<>();
+    public static PrerequisiteNode parsePrereqTree(String json) {
+        if (json == null || json.isBlank() || json.equals("null")) {
+            return null;
         }
-        json = json.trim();
-        // Parse JSON object (either "or" or "and")
-        if (json.startsWith("{")) {
-            int fieldNameStart = json.indexOf('\"') + 1;
-            int fieldNameEnd = json.indexOf('\"', fieldNameStart);
-            String logicOperator = json.substring(fieldNameStart, fieldNameEnd);
-            String childArrayText = extractArrayValue(json);
-
-            List<List<String>> parsedCombinations = new ArrayList<>();
-            if (logicOperator.equals("or")) {
-                // OR: collect all child combinations as separate options
-                List<String> childBranches = splitTopLevel(childArrayText.substring(1, childArrayText.length() - 1), ',');
-                for (String branch : childBranches) {
-                    parsedCombinations.addAll(parsePrereq(branch.trim()));
-                }
-            } else if (logicOperator.equals("and")) {
-                // AND: compute cartesian product of all child combinations
-                List<String> childBranches = splitTopLevel(childArrayText.substring(1, childArrayText.length() - 1), ',');
-                List<List<List<String>>> childCombinationsGroups = new ArrayList<>();
-                for (String branch : childBranches) {
-                    childCombinationsGroups.add(parsePrereq(branch.trim()));
-                }
-                parsedCombinations = cartesianProduct(childCombinationsGroups);
-            }
-            return parsedCombinations;
-        } else {
-            // Parse leaf node (module code string like "CS2113:D")
-            String moduleCode = json.replaceAll("[\"']", "").split(":")[0];
-            List<String> singleCombo = new ArrayList<>();
-            singleCombo.add(moduleCode);
-            List<List<String>> result = new ArrayList<>();
-            result.add(singleCombo);
-            return result;
+        char first = json.strip().charAt(0);
+        if (first != '{' && first != '"') {
+            // A bare module code, as given when the whole tree is a single string value
+            return parsePrereqLeaf(json.strip());
+        }
+
+        try {
+            return parsePrereqNode(new JsonStreamReader(json));
+        } catch (IOException | NumberFormatException e) {
+            logger.log(Level.WARNING, "Malformed prerequisite tree: " + e.getMessage());
+            return null;
         }
     }
 
     /**
-     * Extracts the array value (including brackets) from a JSON object string.
-     * Finds the first '[' and last ']' and returns the substring between them (inclusive).
+     * Parses the prerequisite node at the reader's position, recursing into its children.
      *
-     * @param jsonObject A JSON object string containing an array value.
-     * @return The array portion of the JSON string, including the brackets.
+     * @param reader The reader positioned at a module code string or an operator object.
+     * @return The node, or null if it holds no recognised requirement.
      */
-    private static String extractArrayValue(String jsonObject) {
-        int arrayStart = jsonObject.indexOf('[');
-        int arrayEnd = jsonObject.lastIndexOf(']');
-        return jsonObject.substring(arrayStart, arrayEnd + 1);
+    private static PrerequisiteNode parsePrereqNode(JsonStreamReader reader) throws IOException {
+        if (reader.isNextString()) {
+            return parsePrereqLeaf(reader.nextString());
+        }
+
+        PrerequisiteNode node = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String logicOperator = reader.nextName();
+            switch (logicOperator) {
+            case "and":
+            case "or":
+                List<PrerequisiteNode> children = parsePrereqChildren(reader);
+                if (!children.isEmpty()) {
+                    node = logicOperator.equals("and") ? PrerequisiteNode.and(children) : PrerequisiteNode.or(children);
+                }
+                break;
+            case "nOf":
+                node = parsePrereqNOf(reader);
+                break;
+            default:
+                logger.log(Level.WARNING, "Unknown prerequisite operator: " + logicOperator);
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return node;
     }
 
     /**
-     * Splits a string by a delimiter, but only at the top level (ignoring delimiters inside nested structures).
-     * This method respects quoted strings and nested JSON objects/arrays.
+     * Parses the {@code [k, [children]]} value of an "nOf" operator.
      *
-     * @param input The string to split (typically the content inside a JSON array).
-     * @param delimiter The character to split by (typically ',').
-     * @return A list of substrings split at top-level delimiters only.
+     * @return The node, or null if fewer than one child is required or there are no children.
      */
-    private static List<String> splitTopLevel(String input, char delimiter) {
-        List<String> elements = new ArrayList<>();
-        StringBuilder currentElement = new StringBuilder();
-        int nestingDepth = 0;
-        boolean insideQuotes = false;
-        for (int i = 0; i < input.length(); ++i) {
-            char currentChar = input.charAt(i);
-            if (currentChar == '"' || currentChar == '\'') {
-                insideQuotes = !insideQuotes;
-                currentElement.append(currentChar);
-            } else if (!insideQuotes && (currentChar == '[' || currentChar == '{')) {
-                nestingDepth++;
-                currentElement.append(currentChar);
-            } else if (!insideQuotes && (currentChar == ']' || currentChar == '}')) {
-                nestingDepth--;
-                currentElement.append(currentChar);
-            } else if (!insideQuotes && currentChar == delimiter && nestingDepth == 0) {
-                elements.add(currentElement.toString().trim());
-                currentElement.setLength(0);
-            } else {
-                currentElement.append(currentChar);
-            }
+    private static PrerequisiteNode parsePrereqNOf(JsonStreamReader reader) throws IOException {
+        reader.beginArray();
+        int required = Integer.parseInt(reader.nextRawValue().trim());
+        if (!reader.hasNext()) {
+            throw new IOException("nOf is missing its children");
         }
-        if (!currentElement.isEmpty()) {
-            elements.add(currentElement.toString().trim());
+        List<PrerequisiteNode> children = parsePrereqChildren(reader);
+        reader.endArray();
+        if (required <= 0 || children.isEmpty()) {
+            return null;
         }
-        return elements;
+        return PrerequisiteNode.nOf(required, children);
     }
 
     /**
-     * Computes the cartesian product of multiple lists of module code combinations.
-     * Used to combine results from "and" prerequisite branches.
-     *
-     * Example: Given [[A, B], [C]] and [[X], [Y]], produces:
-     * [[A, X], [A, Y], [B, X], [B, Y], [C, X], [C, Y]]
-     *
-     * @param groupsOfCombinations A list of groups, where each group contains multiple possible module code combinations.
-     * @return A list of all possible combinations formed by taking one element from each group and merging them.
+     * Parses an array of prerequisite nodes, dropping children that hold no requirement.
      */
-    private static List<List<String>> cartesianProduct(List<List<List<String>>> groupsOfCombinations) {
-        List<List<String>> cartesianResult = new ArrayList<>();
-        if (groupsOfCombinations == null || groupsOfCombinations.isEmpty()) return cartesianResult;
-        cartesianResult.add(new ArrayList<>());
-
-        for (List<List<String>> combinationGroup : groupsOfCombinations) {
-            List<List<String>> nextResult = new ArrayList<>();
-            for (List<String> partialCombo : cartesianResult) {
-                for (List<String> newCombo : combinationGroup) {
-                    List<String> combined = new ArrayList<>(partialCombo);
-                    combined.addAll(newCombo);
-                    nextResult.add(combined);
-                }
+    private static List<PrerequisiteNode> parsePrereqChildren(JsonStreamReader reader) throws IOException {
+        List<PrerequisiteNode> children = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            PrerequisiteNode child = parsePrereqNode(reader);
+            if (child != null) {
+                children.add(child);
             }
-            cartesianResult = nextResult;
         }
-        return cartesianResult;
+        reader.endArray();
+        return children;
+    }
+
+    /**
+     * Parses a module code leaf such as "CS2113:D", dropping the minimum grade.
+     */
+    private static PrerequisiteNode parsePrereqLeaf(String leaf) {
+        int gradeStart = leaf.indexOf(':');
+        String moduleCode = gradeStart == -1 ? leaf : leaf.substring(0, gradeStart);
+        return moduleCode.isEmpty() ? null : PrerequisiteNode.module(moduleCode);
     }
 }
@@ -4,17 +4,33 @@ import modhero.common.Constants.MessageConstants;
 
 import modhero.commands.*;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Parses user input.
+ * Each command word is registered with the grammar of its arguments, so a command line is
+ * tokenized once and dispatched with a single map lookup.
  */
 public class Parser {
     public static final Logger logger = Logger.getLogger(Parser.class.getName());
 
+    private static final String ADD_DESTINATION_KEYWORD = "to";
+    private static final CommandRegistry COMMANDS = createRegistry();
+
+    private static CommandRegistry createRegistry() {
+        CommandRegistry registry = new CommandRegistry(tokens -> incorrectFormat(HelpCommand.MESSAGE_USAGE));
+        registry.register(MajorCommand.COMMAND_WORD, Parser::prepareMajorCommand);
+        registry.register(AddCommand.COMMAND_WORD, Parser::prepareAddCommand);
+        registry.register(DeleteCommand.COMMAND_WORD, Parser::prepareDeleteCommand);
+        registry.register(ScheduleCommand.COMMAND_WORD, tokens -> new ScheduleCommand());
+        registry.register(ClearCommand.COMMAND_WORD, tokens -> new ClearCommand());
+        registry.register(ExitCommand.COMMAND_WORD, tokens -> new ExitCommand());
+        registry.register(HelpCommand.COMMAND_WORD, tokens -> new HelpCommand());
+        return registry;
+    }
+
     /**
      * Parses user input into command for execution.
      *
@@ -23,98 +39,75 @@ public class Parser {
      */
     public Command parseCommand(String userInput) {
         assert userInput != null : "User input must not be null";
-        logger.log(Level.FINEST, "Parsing command: " + userInput);
+        logger.log(Level.FINEST, () -> "Parsing command: " + userInput);
 
-        if (!userInput.matches("[a-zA-Z0-9 ]+")) {
-            return new IncorrectCommand(String.format(MessageConstants.INVALID_COMMAND_FORMAT, HelpCommand.MESSAGE_USAGE));
+        CommandTokens tokens = CommandTokens.tokenize(userInput);
+        if (tokens == null) {
+            return incorrectFormat(HelpCommand.MESSAGE_USAGE);
         }
 
-        String[] words = userInput.trim().split(" ", 2);  // split the input into command and arguments
-        if (words.length == 0) {
-            return new IncorrectCommand(String.format(MessageConstants.INVALID_COMMAND_FORMAT, HelpCommand.MESSAGE_USAGE));
-        }
+        logger.log(Level.FINEST, () -> "Selecting command: " + tokens.getCommandWord());
+        return COMMANDS.dispatch(tokens);
+    }
 
-        final String commandWord = words[0];
-        final String arguments = userInput.replaceFirst(commandWord, "").trim();
-        logger.log(Level.FINEST, "Selecting command: " + commandWord);
-
-        switch (commandWord) {
-        case MajorCommand.COMMAND_WORD:
-            return prepareMajorCommand(arguments);
-        case AddCommand.COMMAND_WORD:
-            return prepareAddCommand(arguments);
-        case DeleteCommand.COMMAND_WORD:
-            return prepareDeleteCommand(arguments);
-        case ScheduleCommand.COMMAND_WORD:
-            return new ScheduleCommand();
-        case ClearCommand.COMMAND_WORD:
-            return new ClearCommand();
-        case ExitCommand.COMMAND_WORD:
-            return new ExitCommand();
-        case HelpCommand.COMMAND_WORD:
-            return new HelpCommand();
-        default:
-            return new IncorrectCommand(String.format(MessageConstants.INVALID_COMMAND_FORMAT, HelpCommand.MESSAGE_USAGE));
-        }
+    private static IncorrectCommand incorrectFormat(String usage) {
+        return new IncorrectCommand(String.format(MessageConstants.INVALID_COMMAND_FORMAT, usage));
     }
 
     /**
      * Parses arguments in the context of the major command.
      *
-     * @param args full command args string
+     * @param tokens the tokenized command line
      * @return the prepared command
      */
-    private Command prepareMajorCommand(String args) {
-        if (args.isEmpty()) {
-            return new IncorrectCommand(String.format(MessageConstants.INVALID_COMMAND_FORMAT, MajorCommand.MESSAGE_USAGE));
+    private static Command prepareMajorCommand(CommandTokens tokens) {
+        if (tokens.getArguments().isEmpty()) {
+            return incorrectFormat(MajorCommand.MESSAGE_USAGE);
         }
 
-        return new MajorCommand(args);
+        return new MajorCommand(tokens.getArgumentText());
     }
 
     /**
      * Prepares the DeleteCommand from arguments.
      *
-     * @param args command arguments
+     * @param tokens the tokenized command line
      * @return DeleteCommand or IncorrectCommand if invalid
      */
-    private Command prepareDeleteCommand(String args) {
+    private static Command prepareDeleteCommand(CommandTokens tokens) {
+        List<String> args = tokens.getArguments();
         if (args.isEmpty()) {
-            return new IncorrectCommand(String.format(MessageConstants.INVALID_COMMAND_FORMAT, DeleteCommand.MESSAGE_USAGE));
+            return incorrectFormat(DeleteCommand.MESSAGE_USAGE);
         }
 
-        // Trim and get the module code
-        String moduleCode = args.trim();
-
-        // Validate that it's a single module code (no spaces)
-        if (moduleCode.contains(" ")) {
+        // Validate that it's a single module code
+        if (args.size() > 1) {
             return new IncorrectCommand("Invalid format. Delete one module at a time. Use: delete MODULE_CODE");
         }
 
-        return new DeleteCommand(moduleCode);
+        return new DeleteCommand(args.get(0));
     }
 
     /**
-     * Prepares the AddCommand from arguments.
+     * Prepares the AddCommand from arguments of the form {@code MODULE_CODE to YxSy}.
      *
-     * @param args command arguments
+     * @param tokens the tokenized command line
      * @return AddCommand or IncorrectCommand if invalid
      */
-    private Command prepareAddCommand(String args) {
+    private static Command prepareAddCommand(CommandTokens tokens) {
+        List<String> args = tokens.getArguments();
         if (args.isEmpty()) {
-            return new IncorrectCommand(String.format(MessageConstants.INVALID_COMMAND_FORMAT, AddCommand.MESSAGE_USAGE));
+            return incorrectFormat(AddCommand.MESSAGE_USAGE);
         }
-        
-        String[] parts = args.split("\\s+to\\s+");
-        if (parts.length != 2) {
+
+        if (args.size() != 3 || !args.get(1).equals(ADD_DESTINATION_KEYWORD)) {
             return new IncorrectCommand("Invalid format. Use: add MODULE_CODE to YxSy");
         }
 
-        String moduleCode = parts[0].trim();
-        String destination = parts[1].trim().toUpperCase(); // Y3S2
+        String moduleCode = args.get(0);
+        String destination = args.get(2); // Y3S2
 
-        // \d accpets any digit that is from 0 to 9
-        if (!destination.matches("Y\\dS\\d")) {
+        if (!isYearSemester(destination)) {
             return new IncorrectCommand("Invalid year/semester format. Use YxSy (e.g. Y2S1)");
         }
 
@@ -123,4 +116,13 @@ public class Parser {
 
         return new AddCommand(moduleCode, year, semester);
     }
+
+    /**
+     * Checks for a YxSy destination such as Y2S1, in either letter case.
+     */
+    private static boolean isYearSemester(String destination) {
+        return destination.length() == 4
+                && Character.toUpperCase(destination.charAt(0)) == 'Y' && Character.isDigit(destination.charAt(1))
+                && Character.toUpperCase(destination.charAt(2)) == 'S' && Character.isDigit(destination.charAt(3));
+    }
 }
@@ -0,0 +1,72 @@
+package modhero.storage;
+
+import modhero.common.util.DeserialisationUtil;
+import modhero.common.util.SerialisationUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads and saves the content hash of the upstream JSON behind each module record in modules.txt.
+ * Used by the data generator to tell which module records need to be regenerated.
+ */
+public class ModuleHashStorage extends Storage {
+    private static final Logger logger = Logger.getLogger(ModuleHashStorage.class.getName());
+    private static final int EXPECTED_HASH_ARGS = 2;
+
+    /**
+     * Constructs a ModuleHashStorage with the specified file path.
+     *
+     * @param filePath the path to the module hash file
+     */
+    public ModuleHashStorage(String filePath) {
+        super(filePath);
+    }
+
+    /**
+     * Loads all module hashes from storage into the provided map, skipping corrupted lines.
+     *
+     * @param moduleHashes map to populate, from module code to content hash
+     */
+    public void load(Map<String, String> moduleHashes) {
+        assert moduleHashes != null : "ModuleHashStorage load moduleHashes must not be null";
+
+        for (String line : loadFromTextFile()) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> hashArgs = DeserialisationUtil.deserialiseMessage(line);
+            if (hashArgs == null || hashArgs.size() != EXPECTED_HASH_ARGS) {
+                logger.log(Level.WARNING, "Skipping corrupted module hash line: " + line);
+                continue;
+            }
+            moduleHashes.put(hashArgs.get(0), hashArgs.get(1));
+        }
+        logger.log(Level.FINEST, "Loaded module hashes: " + moduleHashes.size());
+    }
+
+    /**
+     * Saves the given module hashes, overwriting the file.
+     *
+     * @param moduleHashes map from module code to content hash
+     */
+    public void save(Map<String, String> moduleHashes) {
+        assert moduleHashes != null : "ModuleHashStorage save moduleHashes must not be null";
+
+        StringBuilder stringBuilder = new StringBuilder();
+        try {
+            for (Map.Entry<String, String> entry : moduleHashes.entrySet()) {
+                SerialisationUtil.appendMessage(stringBuilder, entry.getKey());
+                SerialisationUtil.appendMessage(stringBuilder, entry.getValue());
+                stringBuilder.append(System.lineSeparator());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+        saveToTextFile(stringBuilder.toString());
+    }
+}
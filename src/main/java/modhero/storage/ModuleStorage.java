@@ -1,11 +1,15 @@
 package modhero.storage;
 
+import modhero.common.Constants.FormatConstants;
 import modhero.exceptions.CorruptedDataFileException;
+import modhero.common.util.CharSlice;
 import modhero.common.util.DeserialisationUtil;
 import modhero.data.modules.Module;
+import modhero.data.modules.PrerequisiteNode;
 import modhero.data.modules.Prerequisites;
 import modhero.exceptions.ParsePrerequisitesException;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -38,10 +42,10 @@ public class ModuleStorage extends Storage{
         assert allModulesData != null : "loadAllModulesData allModulesData must not be null";
         logger.log(Level.FINEST, "Loading all modules data");
 
-        List<String> rawModulesList = loadFromJarTextFile();
-        List<List<String>> allModulesList = DeserialisationUtil.deserialiseList(rawModulesList);
+        CharSequence rawModules = loadFromJarTextBuffer();
+        List<List<CharSlice>> allModulesList = DeserialisationUtil.deserialiseLines(rawModules);
 
-        for (List<String> moduleArgs : allModulesList) {
+        for (List<CharSlice> moduleArgs : allModulesList) {
             if (moduleArgs.size() != EXPECTED_MODULE_ARGS) {
                 logger.log(Level.WARNING, "Incorrect number of arguments for module: " + moduleArgs.size());
                 continue; // Changed from break to continue - skip this module and process others
@@ -60,32 +64,34 @@ public class ModuleStorage extends Storage{
 
     /**
      * Parses and constructs a Module object from the provided list of arguments.
+     * Only the fields kept by the module are copied out of the loaded file.
      *
-     * @param moduleArgs list of serialised module attributes
+     * @param moduleArgs views of the serialised module attributes
      * @return a fully constructed Module instance
      * @throws NumberFormatException if the credits value is not a valid integer
      * @throws CorruptedDataFileException if deserialisation of prerequisites fails
      * @throws ParsePrerequisitesException if prerequisites format is invalid
      */
-    private Module parseModule(List<String> moduleArgs) throws NumberFormatException, CorruptedDataFileException, ParsePrerequisitesException{
-        String code = moduleArgs.get(0);
-        String name = moduleArgs.get(1);
-        int credits = Integer.parseInt(moduleArgs.get(2));
-        String description = moduleArgs.get(3);
-        String preclusion = moduleArgs.get(4);
+    private Module parseModule(List<CharSlice> moduleArgs) throws NumberFormatException, CorruptedDataFileException, ParsePrerequisitesException{
+        String code = moduleArgs.get(0).toString();
+        String name = moduleArgs.get(1).toString();
+        int credits = moduleArgs.get(2).parseInt();
+        String description = moduleArgs.get(3).toString();
+        String preclusion = moduleArgs.get(4).toString();
         Prerequisites prerequisites = parsePrerequisites(moduleArgs.get(5));
         return new Module(code, name, credits, description, preclusion, prerequisites);
     }
 
     /**
      * Deserialises and constructs a Prerequisites object from a serialised string.
+     * The nested layers are read in place, so only the module codes themselves are copied.
      *
-     * @param serialisedPrereqs string representation of prerequisites data
+     * @param serialisedPrereqs view of the serialised prerequisites data
      * @return a constructed Prerequisites instance
      * @throws CorruptedDataFileException if deserialisation fails due to format corruption
      * @throws ParsePrerequisitesException if the serialised data cannot be parsed correctly
      */
-    private Prerequisites parsePrerequisites(String serialisedPrereqs) throws CorruptedDataFileException, ParsePrerequisitesException {
+    private Prerequisites parsePrerequisites(CharSlice serialisedPrereqs) throws CorruptedDataFileException, ParsePrerequisitesException {
         assert serialisedPrereqs != null : "parsePrerequisites serialisedPrereqs must not be null";
 
         // Handle empty prerequisites (no prerequisites required)
@@ -93,23 +99,88 @@ public class ModuleStorage extends Storage{
             return new Prerequisites(List.of()); // Empty list for no prerequisites
         }
 
+        if (serialisedPrereqs.startsWith(FormatConstants.PREREQ_TREE_PREFIX)) {
+            CharSlice serialisedTree = serialisedPrereqs.subSequence(
+                    FormatConstants.PREREQ_TREE_PREFIX.length(), serialisedPrereqs.length());
+            return new Prerequisites(parsePrerequisiteNode(serialisedTree));
+        }
+
         // First deserialization: unwrap the outer layer
-        List<String> deserialisedPrereqs = DeserialisationUtil.deserialiseMessage(serialisedPrereqs);
+        List<CharSlice> deserialisedPrereqs = DeserialisationUtil.deserialiseFields(serialisedPrereqs);
         if (deserialisedPrereqs == null) {
             logger.log(Level.WARNING, "Unable to deserialize prerequisites (null result): " + serialisedPrereqs);
             throw new ParsePrerequisitesException("Unable to deserialize prerequisites (null result): " + serialisedPrereqs);
         }
 
-        // Second deserialization: convert to list of lists
-        List<List<String>> prereqList = DeserialisationUtil.deserialiseList(deserialisedPrereqs);
-        if (prereqList == null) {
-            logger.log(Level.WARNING, "Unable to deserialize prerequisite list (null result): " + serialisedPrereqs);
-            throw new ParsePrerequisitesException("Unable to deserialize prerequisite list (null result): " + serialisedPrereqs);
+        // Second deserialization: convert each combination to a list of codes
+        List<List<String>> prereqList = new ArrayList<>(deserialisedPrereqs.size());
+        for (CharSlice serialisedCombination : deserialisedPrereqs) {
+            List<CharSlice> combination = serialisedCombination.isEmpty()
+                    ? null : DeserialisationUtil.deserialiseFields(serialisedCombination);
+            if (combination == null) {
+                logger.log(Level.WARNING, "Unable to deserialize prerequisite list (null result): " + serialisedPrereqs);
+                throw new CorruptedDataFileException("Corrupted data encountered during list deserialisation");
+            }
+            List<String> codes = new ArrayList<>(combination.size());
+            for (CharSlice code : combination) {
+                codes.add(code.toString());
+            }
+            prereqList.add(codes);
         }
 
         return new Prerequisites(prereqList);
     }
 
+    /**
+     * Deserialises a prerequisite tree node written by {@link Prerequisites#toFormatedString()}:
+     * a module code, or an operator, the required count for N_OF, and the serialised children.
+     *
+     * @param serialisedNode view of the serialised node
+     * @return the deserialised node
+     * @throws ParsePrerequisitesException if the node is malformed
+     */
+    private PrerequisiteNode parsePrerequisiteNode(CharSlice serialisedNode) throws ParsePrerequisitesException {
+        List<CharSlice> parts = serialisedNode.isEmpty() ? null : DeserialisationUtil.deserialiseFields(serialisedNode);
+        if (parts == null || parts.isEmpty() || parts.size() == 2) {
+            throw new ParsePrerequisitesException("Unable to deserialize prerequisite tree: " + serialisedNode);
+        }
+        if (parts.size() == 1) {
+            return PrerequisiteNode.module(parts.get(0).toString());
+        }
+
+        PrerequisiteNode.Type type;
+        try {
+            type = PrerequisiteNode.Type.valueOf(parts.get(0).toString());
+        } catch (IllegalArgumentException e) {
+            throw new ParsePrerequisitesException("Unknown prerequisite operator: " + parts.get(0));
+        }
+
+        int firstChild = type == PrerequisiteNode.Type.N_OF ? 2 : 1;
+        List<PrerequisiteNode> children = new ArrayList<>();
+        for (CharSlice serialisedChild : parts.subList(firstChild, parts.size())) {
+            children.add(parsePrerequisiteNode(serialisedChild));
+        }
+
+        switch (type) {
+        case AND:
+            return PrerequisiteNode.and(children);
+        case OR:
+            return PrerequisiteNode.or(children);
+        case N_OF:
+            try {
+                int required = parts.get(1).parseInt();
+                if (required > 0) {
+                    return PrerequisiteNode.nOf(required, children);
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            throw new ParsePrerequisitesException("Invalid required count in prerequisite tree: " + parts.get(1));
+        default:
+            throw new ParsePrerequisitesException("Unexpected prerequisite operator: " + parts.get(0));
+        }
+    }
+
     /**
      * Adds a single Module to the provided map, using both code and name as keys.
      *
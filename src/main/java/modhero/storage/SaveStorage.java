@@ -1,17 +1,26 @@
 package modhero.storage;
 
-import modhero.commands.AddCommand;
-import modhero.common.Constants;
+import modhero.common.Constants.AcademicConstants;
+import modhero.common.util.PrerequisiteUtil;
 import modhero.data.modules.Module;
+import modhero.data.modules.ModuleCodeList;
 import modhero.data.nusmods.ModuleRetriever;
+import modhero.data.timetable.PlanViolation;
 import modhero.data.timetable.Timetable;
+import modhero.data.timetable.TimetableData;
+import modhero.exceptions.InvalidYearOrSemException;
 import modhero.exceptions.ModHeroException;
+import modhero.exceptions.ModuleAlreadyExemptedException;
+import modhero.exceptions.ModuleAlreadyExistsException;
+import modhero.exceptions.ModuleNotFoundException;
 import modhero.exceptions.ParseIntegerException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,8 +41,11 @@ public class SaveStorage extends Storage {
     private static final int TIMETABLE_DELIMITER_COUNT = 2;
 
 
+    private final ModuleRetriever moduleRetriever;
     private Map<String, Module> allModulesData;
     private List<String> exemptedModules;
+    private final List<String> provisionalExemptions;
+    private List<PlanViolation> planViolations = List.of();
 
     private boolean isTimetableSection = false;
     private boolean isExemptedModulesSection = false;
@@ -46,9 +58,22 @@ public class SaveStorage extends Storage {
      * @param filePath the path to the module data file to be loaded
      */
     public SaveStorage(String filePath) {
+        this(filePath, ModuleRetriever.getShared());
+    }
+
+    /**
+     * Constructs a SaveStorage that fetches modules missing from the local data through the given retriever.
+     *
+     * @param filePath the path to the module data file to be loaded
+     * @param moduleRetriever the retriever used to fetch planned modules that are not in the local data
+     */
+    public SaveStorage(String filePath, ModuleRetriever moduleRetriever) {
         super(filePath);
+        assert moduleRetriever != null : "SaveStorage moduleRetriever must not be null";
+        this.moduleRetriever = moduleRetriever;
         this.allModulesData = new HashMap<>();
         this.exemptedModules = new ArrayList<>();
+        this.provisionalExemptions = new ArrayList<>();
     }
 
     /**
@@ -108,27 +133,119 @@ public class SaveStorage extends Storage {
 
     /**
      * Loads timetable entries from raw text lines into the provided Timetable instance.
+     * All lines are parsed first, and modules missing from the local data are fetched together before
+     * any module is placed. Modules are placed without validation, so lines may be saved in any order. The finished plan is then validated once in semester order.
+     * Lines that cannot be placed, and modules of the plan that break a rule, are reported one by one.
      *
      * @param timetable the timetable instance to populate
      * @param timetableLines list of raw lines representing timetable entries
      */
     private void loadTimetable(Timetable timetable, List<String> timetableLines) {
         timetable.clearTimetable();
+
+        List<TimetableData> entries = new ArrayList<>();
+        List<String> entryLines = new ArrayList<>();
         for (String line : timetableLines) {
             try {
-                List<String> moduleArgs = parseModule(line);
-                String moduleCode = moduleArgs.get(0);
-                String moduleYear = moduleArgs.get(1);
-                String moduleTerm = moduleArgs.get(2);
-                List<Integer> yearAndTerm = parseYearAndTerm(moduleYear, moduleTerm);
-                int parsedYear = yearAndTerm.get(0);
-                int parsedTerm = yearAndTerm.get(1);
-                addToTimetable(timetable, moduleCode, parsedYear, parsedTerm);
+                entries.add(parseEntry(line));
+                entryLines.add(line);
             } catch (ModHeroException e) {
-                logger.log(Level.WARNING, "Unable to load this line: " + line);
+                logger.log(Level.WARNING, "Unable to load this line: " + line + " (" + e.getMessage() + ")");
+            }
+        }
+
+        fetchMissingModules(entries);
+        ModuleCodeList placedCodes = new ModuleCodeList();
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                placeEntry(timetable, entries.get(i), placedCodes);
+            } catch (ModHeroException e) {
+                logger.log(Level.WARNING, "Unable to load this line: " + entryLines.get(i) + " (" + e.getMessage() + ")");
+            }
+        }
+
+        planViolations = timetable.validatePlan(exemptedModules);
+        for (PlanViolation violation : planViolations) {
+            logger.log(Level.WARNING, "Loaded plan violation: " + violation.getMessage());
+        }
+        logger.log(Level.INFO, () -> String.format("Timetable loaded with %d modules and %d violations",
+                placedCodes.size(), planViolations.size()));
+    }
+
+    /**
+     * Parses a timetable entry line into the module code and the 1-based year and term it is planned in.
+     *
+     * @param line a single line representing a module in the timetable section
+     * @return the parsed entry
+     * @throws ModHeroException if the year or term is not a valid number
+     */
+    private TimetableData parseEntry(String line) throws ModHeroException {
+        List<String> moduleArgs = parseModule(line);
+        String moduleCode = moduleArgs.get(0);
+        List<Integer> yearAndTerm = parseYearAndTerm(moduleArgs.get(1), moduleArgs.get(2));
+        int year = yearAndTerm.get(0);
+        int term = yearAndTerm.get(1);
+        if (year < 1 || year > NUM_YEARS || term < 1 || term > NUM_TERMS) {
+            throw new InvalidYearOrSemException(year, term);
+        }
+        return new TimetableData(moduleCode, year, term);
+    }
+
+    /**
+     * Fetches the modules of the entries that are missing from the local data concurrently, adding the ones
+     * found to the local data. Their prerequisites are not prefetched, as loading a plan is not a sign
+     * that they are added next.
+     *
+     * @param entries the parsed entries
+     */
+    private void fetchMissingModules(List<TimetableData> entries) {
+        Map<String, CompletableFuture<Module>> fetches = new LinkedHashMap<>();
+        for (TimetableData entry : entries) {
+            String moduleCode = entry.getCode();
+            if (!allModulesData.containsKey(moduleCode) && !fetches.containsKey(moduleCode)) {
+                fetches.put(moduleCode, moduleRetriever.getModuleAsync(AcademicConstants.ACAD_YEAR, moduleCode));
+            }
+        }
+        if (fetches.isEmpty()) {
+            return;
+        }
+
+        logger.log(Level.INFO, "Fetching " + fetches.size() + " planned modules not in local data");
+        CompletableFuture.allOf(fetches.values().toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null)
+                .join();
+        for (Map.Entry<String, CompletableFuture<Module>> fetch : fetches.entrySet()) {
+            Module module = fetch.getValue().exceptionally(e -> {
+                logger.log(Level.WARNING, "Failed to fetch module " + fetch.getKey(), e);
+                return null;
+            }).join();
+            if (module != null) {
+                allModulesData.put(module.getCode(), module);
             }
         }
-        logger.log(Level.INFO, "Exempted modules loaded successfully.");
+    }
+
+    /**
+     * Places a parsed entry in the timetable without checking it against the rest of the plan.
+     * Only checks that do not depend on the other entries are made here.
+     *
+     * @param timetable the timetable instance to populate
+     * @param entry the parsed entry
+     * @param placedCodes codes of the modules placed so far, which the entry's code is added to
+     * @throws ModHeroException if the module is not in the local data, is exempted or is already placed
+     */
+    private void placeEntry(Timetable timetable, TimetableData entry, ModuleCodeList placedCodes) throws ModHeroException {
+        Module module = allModulesData.get(entry.getCode());
+        if (module == null) {
+            throw new ModuleNotFoundException(entry.getCode(), "NUSMODS\nPlease ensure you are connected to the internet and provide valid module code");
+        }
+        if (PrerequisiteUtil.isExemptedModule(module.getCode(), exemptedModules)) {
+            throw new ModuleAlreadyExemptedException(module.getCode());
+        }
+        if (!placedCodes.add(module.getCode())) {
+            throw new ModuleAlreadyExistsException(module.getCode());
+        }
+        timetable.addModuleDirect(entry.getYear() - 1, entry.getTerm() - 1, module);
     }
 
     /**
@@ -143,20 +260,43 @@ public class SaveStorage extends Storage {
     }
 
     /**
-     * Loads and validates exempted module codes from the provided list of lines.
+     * Returns the rules broken by the timetable from the last load, in semester order.
+     *
+     * @return the violations, empty if the loaded plan is valid
+     */
+    public List<PlanViolation> getPlanViolations() {
+        return planViolations;
+    }
+
+    /**
+     * Returns the exempted modules from the last load that are not in the local module data.
+     * They have been exempted provisionally and are yet to be verified against NUSMods.
+     *
+     * @return module codes of the provisional exemptions
+     */
+    public List<String> getProvisionalExemptions() {
+        return provisionalExemptions;
+    }
+
+    /**
+     * Loads exempted module codes from the provided list of lines, resolving them against the local module data.
+     * Codes missing from the local data are exempted provisionally instead of being looked up here.
      *
      * @param exemptedModulesLines list of raw lines containing exempted module codes
      */
     private void loadExemptedModules(List<String> exemptedModulesLines) {
         exemptedModules.clear();
-        ModuleRetriever moduleRetriever = new ModuleRetriever();
+        provisionalExemptions.clear();
         for (String line : exemptedModulesLines) {
-            Module module = moduleRetriever.getModule(Constants.AcademicConstants.ACAD_YEAR, line);
-            if (module == null) {
-                logger.log(Level.WARNING, "loadExemptedModules does not recognise module: " + line);
+            String moduleCode = line.toUpperCase();
+            if (moduleCode.isEmpty() || exemptedModules.contains(moduleCode)) {
                 continue;
             }
-            exemptedModules.add(module.getCode());
+            if (!allModulesData.containsKey(moduleCode)) {
+                logger.log(Level.INFO, "Exempting module not in local data provisionally: " + moduleCode);
+                provisionalExemptions.add(moduleCode);
+            }
+            exemptedModules.add(moduleCode);
         }
         logger.log(Level.INFO, "Exempted modules loaded successfully.");
     }
@@ -260,18 +400,6 @@ public class SaveStorage extends Storage {
         return List.of(yearInteger, termInteger);
     }
 
-    /**
-     * Adds a deserialized module to the current timetable.
-     *
-     * @param moduleCode module code identifier
-     * @param year       academic year index (1-based)
-     * @param term       academic term index (1-based)
-     * @throws ModHeroException if addition fails
-     */
-    private void addToTimetable(Timetable timetable, String moduleCode, int year, int term) throws ModHeroException {
-        AddCommand.addModule(timetable, allModulesData, moduleCode, year, term, exemptedModules);
-    }
-
     /**
      * Safely parses a string into an integer.
      *
@@ -1,12 +1,15 @@
 package modhero.storage;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
@@ -68,6 +71,19 @@ public abstract class Storage {
         }
     }
 
+    /**
+     * Opens a buffered writer that overwrites the file, for content too large to build as one string.
+     *
+     * @return a writer to the file, which the caller must close
+     * @throws IOException if the file cannot be opened for writing
+     */
+    public Writer openTextFileWriter() throws IOException {
+        logger.log(Level.FINEST, "Opening file for writing: " + filePath);
+
+        ensureFileDirectoryExist();
+        return new BufferedWriter(new FileWriter(filePath));
+    }
+
     public List<String> loadFromJarTextFile() {
         try {
             logger.log(Level.FINEST, "Reading in jar directory: " + filePath);
@@ -89,6 +105,26 @@ public abstract class Storage {
         }
     }
 
+    /**
+     * Loads a text file in the jar as a single buffer, so that its lines can be read as views
+     * into the buffer instead of being copied out one string per line.
+     *
+     * @return the whole file content, or an empty buffer if the file is missing or unreadable
+     */
+    public CharSequence loadFromJarTextBuffer() {
+        logger.log(Level.FINEST, "Reading buffer in jar directory: " + filePath);
+
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(filePath)) {
+            if (inputStream == null) {
+                return "";
+            }
+            return new String(inputStream.readAllBytes(), Charset.defaultCharset());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to load text file in jar, " + e);
+            return "";
+        }
+    }
+
     /**
      * Ensures that the directory for the file path exists.
      * Creates directories if not present.
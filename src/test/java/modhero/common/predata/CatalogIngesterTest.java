@@ -0,0 +1,62 @@
+package modhero.common.predata;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogIngesterTest {
+    private final CatalogIngester ingester = new CatalogIngester(new PrintStream(new ByteArrayOutputStream()));
+
+    @Test
+    void ingestWritesOneSerialisedLinePerValidModule() throws IOException {
+        String dump = "[{\"moduleCode\":\"CS1010\",\"title\":\"Programming\",\"moduleCredit\":\"4\","
+                + "\"semesterData\":[{\"semester\":1}]},"
+                + "{\"moduleCode\":\"CS2040\",\"title\":\"Data Structures\",\"moduleCredit\":\"4\","
+                + "\"prereqTree\":\"CS1010:D\"}]";
+        StringWriter out = new StringWriter();
+
+        CatalogIngester.IngestSummary summary = ingester.ingest(new StringReader(dump), out);
+
+        assertEquals(2, summary.getIngested());
+        assertEquals(0, summary.getSkipped());
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals("6#CS1010|11#Programming|1#4|4#core|0#|0#|", lines[0]);
+        assertEquals("6#CS2040|15#Data Structures|1#4|4#core|0#|12#9#6#CS1010|||", lines[1]);
+    }
+
+    @Test
+    void ingestSkipsModulesThatCannotBeParsed() throws IOException {
+        String dump = "[{\"title\":\"No code\",\"moduleCredit\":\"4\"},"
+                + "{\"moduleCode\":\"CS1010\",\"title\":\"Programming\",\"moduleCredit\":\"4\"}]";
+        StringWriter out = new StringWriter();
+
+        CatalogIngester.IngestSummary summary = ingester.ingest(new StringReader(dump), out);
+
+        assertEquals(1, summary.getIngested());
+        assertEquals(1, summary.getSkipped());
+    }
+
+    @Test
+    void ingestSkipsModulesThatFailValidationAndContinues() throws IOException {
+        String dump = "[{\"moduleCode\":\"ZZ0000\",\"title\":\"\",\"moduleCredit\":\"4\"},"
+                + "{\"moduleCode\":\"CS1010\",\"title\":\"Programming\",\"moduleCredit\":\"4\"}]";
+        StringWriter out = new StringWriter();
+
+        CatalogIngester.IngestSummary summary = ingester.ingest(new StringReader(dump), out);
+
+        assertEquals(1, summary.getIngested());
+        assertEquals(1, summary.getSkipped());
+        assertTrue(out.toString().startsWith("6#CS1010|"));
+    }
+
+    @Test
+    void ingestRejectsDumpThatIsNotAnArray() {
+        assertThrows(IOException.class, () -> ingester.ingest(new StringReader("{}"), new StringWriter()));
+    }
+}
@@ -0,0 +1,94 @@
+package modhero.common.predata;
+
+import modhero.data.nusmods.NusmodsAPIClient;
+import modhero.data.nusmods.NusmodsStandInServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalModuleGeneratorTest {
+    private static final String ACAD_YEAR = "2025-2026";
+    private static final List<String> MODULES = List.of("CS2113", "CS2040C", "CS1231");
+
+    private NusmodsStandInServer server;
+    private IncrementalModuleGenerator generator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new NusmodsStandInServer(Paths.get("src", "test", "resources", "nusmods"));
+        generator = new IncrementalModuleGenerator(new NusmodsAPIClient(server.getBaseUrl(), 4, null),
+                new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void generate_firstRun_addsEveryModule() {
+        IncrementalModuleGenerator.GenerationResult result =
+                generator.generate(ACAD_YEAR, MODULES, List.of(), new HashMap<>());
+
+        assertEquals(3, result.getAdded());
+        assertEquals(3, result.getHashes().size());
+        assertTrue(result.hasChanges());
+        assertTrue(result.getModulesFileContent().startsWith("6#CS2113|"));
+    }
+
+    @Test
+    void generate_unchangedUpstream_reusesPreviousRecords() {
+        IncrementalModuleGenerator.GenerationResult first =
+                generator.generate(ACAD_YEAR, MODULES, List.of(), new HashMap<>());
+
+        IncrementalModuleGenerator.GenerationResult second = generator.generate(ACAD_YEAR, MODULES,
+                lines(first.getModulesFileContent()), first.getHashes());
+
+        assertEquals(3, second.getUnchanged());
+        assertFalse(second.hasChanges());
+        assertEquals(first.getModulesFileContent(), second.getModulesFileContent());
+    }
+
+    @Test
+    void generate_changedHashAndDroppedModule_reportsUpdatedAndRemoved() {
+        IncrementalModuleGenerator.GenerationResult first =
+                generator.generate(ACAD_YEAR, MODULES, List.of(), new HashMap<>());
+        Map<String, String> hashes = new HashMap<>(first.getHashes());
+        hashes.put("CS2113", "stale");
+
+        IncrementalModuleGenerator.GenerationResult second = generator.generate(ACAD_YEAR,
+                List.of("CS2113", "CS2040C"), lines(first.getModulesFileContent()), hashes);
+
+        assertEquals(1, second.getUnchanged());
+        assertEquals(1, second.getUpdated());
+        assertEquals(1, second.getRemoved());
+        assertTrue(second.hasChanges());
+    }
+
+    @Test
+    void generate_failedModule_keepsOtherModulesAndUsesPlaceholder() {
+        IncrementalModuleGenerator.GenerationResult result =
+                generator.generate(ACAD_YEAR, List.of("CS2113", "XX9999"), List.of(), new HashMap<>());
+
+        assertEquals(1, result.getAdded());
+        assertEquals(1, result.getFailed());
+        assertFalse(result.getHashes().containsKey("XX9999"));
+        assertTrue(result.getModulesFileContent().contains("6#XX9999|6#XX9999|1#4|"));
+    }
+
+    private static List<String> lines(String fileContent) {
+        return new ArrayList<>(Arrays.asList(fileContent.split(System.lineSeparator())));
+    }
+}
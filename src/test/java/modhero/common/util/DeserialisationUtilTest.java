@@ -72,4 +72,41 @@ class DeserialisationUtilTest {
         });
     }
     // @@HiewTheG
+
+    // --- deserialiseFields() / deserialiseLines() ---
+
+    @Test
+    void deserialiseFields_viewsNestedMessageInPlace() {
+        String line = "6#CS2040|12#9#6#CS1010|||";
+        List<CharSlice> fields = DeserialisationUtil.deserialiseFields(line);
+        assertEquals(2, fields.size());
+        assertEquals("CS2040", fields.get(0).toString());
+
+        List<CharSlice> inner = DeserialisationUtil.deserialiseFields(fields.get(1));
+        assertEquals(1, inner.size());
+        assertSame(line, inner.get(0).getSource());
+        assertEquals("6#CS1010|", inner.get(0).toString());
+        assertEquals("CS1010", DeserialisationUtil.deserialiseFields(inner.get(0)).get(0).toString());
+    }
+
+    @Test
+    void deserialiseFields_rejectsLengthBeyondView() {
+        CharSlice view = new CharSlice("6#CS10|rest", 0, 6);
+        assertNull(DeserialisationUtil.deserialiseFields(view));
+        assertNull(DeserialisationUtil.deserialiseFields("-1#CS1010|"));
+    }
+
+    @Test
+    void deserialiseLines_skipsBlankLinesAndCarriageReturns() throws CorruptedDataFileException {
+        List<List<CharSlice>> lines = DeserialisationUtil.deserialiseLines("6#CS1010|1#4|\r\n\n6#CS2040|1#4|");
+        assertEquals(2, lines.size());
+        assertEquals("CS2040", lines.get(1).get(0).toString());
+        assertEquals(4, lines.get(0).get(1).parseInt());
+    }
+
+    @Test
+    void deserialiseLines_throwsOnCorruptedLine() {
+        assertThrows(CorruptedDataFileException.class,
+                () -> DeserialisationUtil.deserialiseLines("6#CS1010|\n7#CS2040"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package modhero.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStreamReaderTest {
+
+    @Test
+    void nextRawValueReadsEachArrayElement() throws IOException {
+        JsonStreamReader reader = new JsonStreamReader(new StringReader(
+                " [ {\"a\":[1,2,{\"b\":\"]}\"}]} , \"x\\\"y\" ,42, null ] "));
+        List<String> elements = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            elements.add(reader.nextRawValue());
+        }
+        reader.endArray();
+
+        assertEquals(List.of("{\"a\":[1,2,{\"b\":\"]}\"}]}", "\"x\\\"y\"", "42", "null"), elements);
+    }
+
+    @Test
+    void hasNextReturnsFalseForEmptyArray() throws IOException {
+        JsonStreamReader reader = new JsonStreamReader(new StringReader("[]"));
+        reader.beginArray();
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void nextNameAndSkipValueWalkObjectMembers() throws IOException {
+        JsonStreamReader reader = new JsonStreamReader(new StringReader(
+                "{\"skip\":{\"nested\":[\"}\"]},\"mod\\u0075leCode\":\"CS2113\"}"));
+        reader.beginObject();
+        assertTrue(reader.hasNext());
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertTrue(reader.hasNext());
+        assertEquals("moduleCode", reader.nextName());
+        assertEquals("\"CS2113\"", reader.nextRawValue());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+    }
+
+    @Test
+    void beginArrayOnObjectThrowsIoException() {
+        JsonStreamReader reader = new JsonStreamReader(new StringReader("{}"));
+        assertThrows(IOException.class, reader::beginArray);
+    }
+
+    @Test
+    void hasNextOnTruncatedInputThrowsIoException() throws IOException {
+        JsonStreamReader reader = new JsonStreamReader(new StringReader("[1,"));
+        reader.beginArray();
+        assertTrue(reader.hasNext());
+        reader.skipValue();
+        assertThrows(IOException.class, reader::hasNext);
+    }
+
+    @Test
+    void nextNameWithCandidatesMatchesInMemoryJson() throws IOException {
+        JsonStreamReader reader = new JsonStreamReader("{\"other\":1,\"ti\\u0074le\":\"A \\\"B\\\"\"}");
+        reader.beginObject();
+        assertTrue(reader.hasNext());
+        assertNull(reader.nextName(Set.of("title")));
+        reader.skipValue();
+        assertTrue(reader.hasNext());
+        assertEquals("title", reader.nextName(Set.of("title")));
+        assertTrue(reader.isNextString());
+        assertEquals("A \"B\"", reader.nextString());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+    }
+
+    @Test
+    void valuesCrossingBufferBoundariesAreReadWhole() throws IOException {
+        String longText = "x\\\"".repeat(5000);
+        String json = "[\"" + longText + "\",{\"k\":\"" + longText + "\"}]";
+        JsonStreamReader reader = new JsonStreamReader(new StringReader(json));
+        reader.beginArray();
+        assertTrue(reader.hasNext());
+        assertEquals("x\"".repeat(5000), reader.nextString());
+        assertTrue(reader.hasNext());
+        assertEquals("{\"k\":\"" + longText + "\"}", reader.nextRawValue());
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertEquals(json.length(), reader.getCharsRead());
+    }
+}
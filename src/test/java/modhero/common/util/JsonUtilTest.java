@@ -1,61 +1,99 @@
 package modhero.common.util;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class JsonUtilTest {
-    private final JsonUtil extractor = new JsonUtil();
-
     @Test
-    void getArgReturnsNullWhenKeyMissing() {
+    void getArgsLeavesOutMissingKey() {
         String json = "{\"a\":1}";
-        assertNull(extractor.getArg(json, "noKey"));
+        assertNull(JsonUtil.getArgs(json, Set.of("noKey")).get("noKey"));
     }
 
     @Test
-    void getArgHandleWhitespacesBetweenKeyAndData() {
+    void getArgsHandleWhitespacesBetweenKeyAndData() {
         String key = "moduleCode";
         String moduleCode = "CS2113";
         String json = String.format("{\"%s\"   :    \"%s\"}", key, moduleCode);
-        assertEquals(moduleCode, extractor.getArg(json, key));
+        assertEquals(moduleCode, JsonUtil.getArgs(json, Set.of(key)).get(key));
     }
 
     @Test
-    void getArgExtractsRawValue() {
+    void getArgsLeavesOutRawValue() {
         String key = "moduleCode";
         String moduleCode = "CS2113";
         String json = String.format("{\"%s\":%s}, {\"anotherKey\":\"data\"}", key, moduleCode);
-        assertNull(extractor.getArg(json, key));
+        assertNull(JsonUtil.getArgs(json, Set.of(key)).get(key));
     }
 
     @Test
-    void getArgExtractsString() {
+    void getArgsExtractsString() {
         String key = "title";
         String title = "Software Engineering & Object-Oriented Programming";
         String json = String.format("{\"%s\":\"%s\"}", key, title);
-        assertEquals(title, extractor.getArg(json, key));
+        assertEquals(title, JsonUtil.getArgs(json, Set.of(key)).get(key));
     }
 
     @Test
-    void getArgExtractsObject() {
+    void getArgsExtractsObject() {
         String key = "prereqTree";
         String object = "{\"CS113\":D,\"CS113S\":D}";
         String json = String.format("{\"%s\":%s}", key, object);
-        assertEquals(object, extractor.getArg(json, key));
+        assertEquals(object, JsonUtil.getArgs(json, Set.of(key)).get(key));
     }
 
     @Test
-    void getArgHandlesNestedObjects() {
+    void getArgsHandlesNestedObjects() {
         String key = "prereqTree";
         String object = "{\"or\":[\"CS1010:D\",\"CS1010E:D\",\"CS1010X:D\",\"CS1101S:D\",\"CS1010S:D\",\"CS1010J:D\",\"CS1010A:D\",\"UTC2851:D\"]}";
         String json = String.format("{\"%s\":%s}", key, object);
-        assertEquals(object, extractor.getArg(json, key));
+        assertEquals(object, JsonUtil.getArgs(json, Set.of(key)).get(key));
     }
 
     @Test
-    void getArgReturnsNullOnIncompleteBraces() {
+    void getArgsReturnsNullOnIncompleteBraces() {
         String key = "prereqTree";
         String json = String.format("\"%s\":{\"key1\":\"data1\", {\"key2\":\"data2\"}", key);
-        assertNull(extractor.getArg(json, key));
+        assertNull(JsonUtil.getArgs(json, Set.of(key)).get(key));
+    }
+
+    @Test
+    void getArgsExtractsAllRequestedKeysInOnePass() {
+        String json = "{\"moduleCode\":\"CS2113\",\"semesterData\":[{\"timetable\":[]}],"
+                + "\"prereqTree\":{\"or\":[\"CS2040C:D\",\"CS2040:D\"]},\"title\":\"Software Engineering\"}";
+        Map<String, String> args = JsonUtil.getArgs(json, Set.of("moduleCode", "title", "prereqTree"));
+        assertEquals("CS2113", args.get("moduleCode"));
+        assertEquals("Software Engineering", args.get("title"));
+        assertEquals("{\"or\":[\"CS2040C:D\",\"CS2040:D\"]}", args.get("prereqTree"));
+    }
+
+    @Test
+    void getArgsIgnoresKeysNestedInValues() {
+        String json = "{\"description\":\"See \\\"title\\\": here\",\"other\":{\"title\":\"Nested\"},"
+                + "\"title\":\"Top Level\"}";
+        assertEquals("Top Level", JsonUtil.getArgs(json, Set.of("title")).get("title"));
+    }
+
+    @Test
+    void getArgsUnescapesStrings() {
+        String json = "{\"title\":\"Data \\u0026 \\\"Algorithms\\\"\"}";
+        assertEquals("Data & \"Algorithms\"", JsonUtil.getArgs(json, Set.of("title")).get("title"));
+    }
+
+    @Test
+    void getArgsLeavesOutNonStringValues() {
+        String json = "{\"moduleCredit\":4,\"title\":\"Programming\"}";
+        Map<String, String> args = JsonUtil.getArgs(json, Set.of("moduleCredit", "title"));
+        assertFalse(args.containsKey("moduleCredit"));
+        assertEquals("Programming", args.get("title"));
+    }
+
+    @Test
+    void getArgsReturnsEmptyMapForMalformedJson() {
+        assertTrue(JsonUtil.getArgs("{\"title\":\"Unterminated", Set.of("title")).isEmpty());
     }
 }
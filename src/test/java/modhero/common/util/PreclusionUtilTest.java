@@ -1,6 +1,7 @@
 package modhero.common.util;
 
 import modhero.data.modules.Module;
+import modhero.data.modules.PreclusionIndex;
 import modhero.data.modules.Prerequisites;
 import modhero.exceptions.ModulePreclusionConflictException;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -213,4 +215,76 @@ public class PreclusionUtilTest {
                 () -> PreclusionUtil.validatePreclusions(moduleToAdd, existingModules)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void validatePreclusions_longerCodeInRule_success() {
+        // A rule mentioning CS1010S must not block CS1010
+        Module moduleToAdd = createModuleWithPreclusion("CS1101S", "CS1010S/CS1010E at a grade of at least D");
+        List<Module> existingModules = new ArrayList<>();
+        existingModules.add(createModule("CS1010"));
+
+        assertDoesNotThrow(() ->
+                PreclusionUtil.validatePreclusions(moduleToAdd, existingModules)
+        );
+    }
+
+    @Test
+    public void validatePreclusions_ruleOnExistingModule_throwsException() {
+        // Only the existing module's rule mentions the new one
+        Module moduleToAdd = createModule("CS2103");
+        List<Module> existingModules = new ArrayList<>();
+        existingModules.add(createModuleWithPreclusion("CS2103T", "CS2103, CS2113T"));
+
+        assertThrows(
+                ModulePreclusionConflictException.class,
+                () -> PreclusionUtil.validatePreclusions(moduleToAdd, existingModules)
+        );
+    }
+
+    @Test
+    public void validatePreclusions_indexBuiltFromCatalog_throwsException() {
+        PreclusionIndex index = new PreclusionIndex();
+        index.addAll(List.of(createModuleWithPreclusion("CS2113", "CS2103T")));
+
+        // Neither plan module carries a rule, but the catalog says they preclude each other
+        Module moduleToAdd = createModule("CS2103T");
+        List<Module> existingModules = new ArrayList<>();
+        existingModules.add(createModule("CS2113"));
+
+        assertThrows(
+                ModulePreclusionConflictException.class,
+                () -> PreclusionUtil.validatePreclusions(moduleToAdd, existingModules, index)
+        );
+        assertEquals(Set.of("CS2113"), index.getPrecluded("CS2103T"));
+    }
+
+    @Test
+    public void parsePreclusionCodes_extractsWholeCodes() {
+        assertEquals(Set.of("CS2103", "CS2113T", "CS1010S"),
+                PreclusionUtil.parsePreclusionCodes("If undertaking a degree THEN (cs2103/CS2113T or CS1010S:D)"));
+        assertTrue(PreclusionUtil.parsePreclusionCodes("CS210").isEmpty());
+    }
+
+    @Test
+    public void parsePreclusionCodes_keepsWildcardSuffix() {
+        assertEquals(Set.of("CS1010%", "CS2040"),
+                PreclusionUtil.parsePreclusionCodes("CS1010%:D or cs2040"));
+    }
+
+    @Test
+    public void validatePreclusions_wildcardRuleMatchesCodesWithPrefix_throwsException() {
+        Module wildcardModule = createModuleWithPreclusion("CS1101S", "CS1010%:D");
+        List<Module> existingModules = new ArrayList<>();
+        existingModules.add(createModule("CS2040"));
+        existingModules.add(createModule("CS1010S"));
+
+        ModulePreclusionConflictException e = assertThrows(ModulePreclusionConflictException.class,
+                () -> PreclusionUtil.validatePreclusions(wildcardModule, existingModules));
+        assertTrue(e.getMessage().contains("CS1010S"));
+
+        // The wildcard precludes the other way too, when the module carrying it is already planned
+        assertThrows(ModulePreclusionConflictException.class,
+                () -> PreclusionUtil.validatePreclusions(createModule("CS1010E"), List.of(wildcardModule)));
+        assertDoesNotThrow(() -> PreclusionUtil.validatePreclusions(createModule("CS1231"), List.of(wildcardModule)));
+    }
+}
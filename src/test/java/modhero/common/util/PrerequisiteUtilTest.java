@@ -160,6 +160,16 @@ public class PrerequisiteUtilTest {
         assertFalse(PrerequisiteUtil.arePrerequisitesMet(prereqSets, completedCodes, exemptedModules));
     }
 
+    @Test
+    public void arePrerequisitesMet_wildcardPrereqMatchedByExemption_returnsTrue() {
+        List<List<String>> prereqSets = Arrays.asList(
+                Arrays.asList("MA1%")
+        );
+        List<String> completedCodes = Arrays.asList("CS1010");
+        List<String> exemptedModules = Arrays.asList("MA1301");
+        assertTrue(PrerequisiteUtil.arePrerequisitesMet(prereqSets, completedCodes, exemptedModules));
+    }
+
     @Test
     public void arePrerequisitesMet_wildcardAndNormalPrereqBothSatisfied_returnsTrue() {
         List<List<String>> prereqSets = Arrays.asList(
@@ -362,6 +372,28 @@ public class PrerequisiteUtilTest {
         );
     }
 
+    @Test
+    public void validateFutureDependencies_severalFutureModulesDependOnDeleted_listsEveryDependent() {
+        List<List<String>> prereqSets = Arrays.asList(
+                Arrays.asList("CS2103T")
+        );
+        List<Module> futureModules = Arrays.asList(
+                createModuleWithPrerequisites("CS3230", prereqSets),
+                createModule("CS2101"),
+                createModuleWithPrerequisites("CS3219", prereqSets)
+        );
+        List<String> completedCodes = Arrays.asList("CS1010");
+        List<String> exemptedModules = Collections.emptyList();
+
+        ModuleDeletionBlockedException exception = assertThrows(
+                ModuleDeletionBlockedException.class,
+                () -> PrerequisiteUtil.validateFutureDependencies("CS2103T", futureModules, completedCodes, exemptedModules)
+        );
+
+        assertEquals(Arrays.asList("CS3230", "CS3219"), exception.getDependentModules());
+        assertTrue(exception.getMessage().contains("CS3230, CS3219"));
+    }
+
     @Test
     public void validateFutureDependencies_futureModuleHasAlternativePrereq_success() {
         List<List<String>> prereqSets = Arrays.asList(
@@ -3,6 +3,7 @@ package modhero.common.util;
 import modhero.exceptions.CorruptedDataFileException; // Must import the exception
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,4 +45,26 @@ public class SerialisationUtilTest {
         // serialiseList(empty) calls serialiseMessage("") which returns "0#|"
         assertEquals("0#|", result, "Empty list should serialise to what an empty string serialises to");
     }
+
+    // --- appendMessage() ---
+    @Test
+    void appendMessage_matchesSerialiseMessage() throws IOException {
+        StringBuilder out = new StringBuilder();
+        SerialisationUtil.appendMessage(out, "Software Engineering & OOP");
+        SerialisationUtil.appendMessage(out, 4);
+        SerialisationUtil.appendMessage(out, -12);
+        assertEquals(SerialisationUtil.serialiseMessage("Software Engineering & OOP")
+                + SerialisationUtil.serialiseMessage("4")
+                + SerialisationUtil.serialiseMessage("-12"), out.toString());
+    }
+
+    @Test
+    void messageLength_matchesSerialisedLength() {
+        for (int length : new int[]{0, 9, 10, 99, 100, 12345}) {
+            assertEquals(SerialisationUtil.serialiseMessage("x".repeat(length)).length(),
+                    SerialisationUtil.messageLength(length));
+        }
+        assertEquals(Integer.toString(Integer.MAX_VALUE).length(), SerialisationUtil.decimalLength(Integer.MAX_VALUE));
+        assertEquals(Integer.toString(Integer.MIN_VALUE).length(), SerialisationUtil.decimalLength(Integer.MIN_VALUE));
+    }
 }
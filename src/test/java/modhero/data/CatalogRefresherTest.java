@@ -0,0 +1,127 @@
+package modhero.data;
+
+import modhero.data.modules.Module;
+import modhero.data.modules.Prerequisites;
+import modhero.data.nusmods.NusmodsAPIClient;
+import modhero.data.nusmods.NusmodsCache;
+import modhero.data.nusmods.NusmodsStandInServer;
+import modhero.data.timetable.Timetable;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogRefresherTest {
+    private NusmodsStandInServer server;
+    private CatalogRefresher refresher;
+    private final Map<String, Module> allModulesData = new HashMap<>();
+    private final Timetable timetable = new Timetable();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new NusmodsStandInServer(Paths.get("src", "test", "resources", "nusmods"));
+        refresher = new CatalogRefresher(new NusmodsAPIClient(server.getBaseUrl(), 1, null),
+                Executors.newSingleThreadScheduledExecutor(), 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.stop();
+        server.close();
+    }
+
+    @Test
+    void refreshNext_whileBusy_doesNotFetch() {
+        refresher.markIdle(List.of(module("CS1231", "Discrete Structures")));
+        refresher.markBusy();
+        refresher.refreshNext();
+
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    void refreshNext_unchangedModule_queuesNothing() {
+        Module cs1231 = module("CS1231", "Discrete Structures");
+        timetable.addModuleDirect(0, 0, cs1231);
+        refresher.markIdle(timetable.getAllModules());
+        refresher.refreshNext();
+
+        assertEquals(1, server.getRequestCount());
+        assertTrue(refresher.applyUpdates(allModulesData, timetable).isEmpty());
+        assertSame(cs1231, timetable.getModules(0, 0).get(0));
+    }
+
+    @Test
+    void applyUpdates_changedModule_swapsInRefreshedInstance() {
+        timetable.addModuleDirect(0, 0, module("CS1231", "Old Title"));
+        refresher.markIdle(timetable.getAllModules());
+        refresher.refreshNext();
+
+        assertEquals(List.of("CS1231"), refresher.applyUpdates(allModulesData, timetable));
+        assertEquals("Discrete Structures", timetable.getModules(0, 0).get(0).getName());
+        assertSame(timetable.getModules(0, 0).get(0), allModulesData.get("CS1231"));
+    }
+
+    @Test
+    void applyUpdates_droppedPreclusion_isUnlinked() {
+        Module cs1231 = new Module("CS1231", "Old Title", 4, "core", "MA1100", new Prerequisites());
+        timetable.addModuleDirect(0, 0, cs1231);
+        timetable.addModuleDirect(0, 1, module("MA1100", "Basic Discrete Mathematics"));
+        assertEquals(1, timetable.validatePlan(List.of()).size());
+
+        refresher.markIdle(List.of(cs1231));
+        refresher.refreshNext();
+
+        assertEquals(List.of("CS1231"), refresher.applyUpdates(allModulesData, timetable));
+        assertTrue(timetable.validatePlan(List.of()).isEmpty());
+    }
+
+    @Test
+    void refreshNext_moduleChangedWithinCacheTimeToLive_isRevalidated() throws Exception {
+        Path fixture = tempDir.resolve("fixtures").resolve("2025-2026").resolve("modules").resolve("CS1231.json");
+        Files.createDirectories(fixture.getParent());
+        Files.copy(Paths.get("src", "test", "resources", "nusmods", "2025-2026", "modules", "CS1231.json"), fixture);
+        NusmodsCache cache = new NusmodsCache(tempDir.resolve("cache").toString(), TimeUnit.HOURS.toMillis(24), 10);
+
+        try (NusmodsStandInServer changingServer = new NusmodsStandInServer(tempDir.resolve("fixtures"))) {
+            CatalogRefresher cachingRefresher = new CatalogRefresher(
+                    new NusmodsAPIClient(changingServer.getBaseUrl(), 1, cache),
+                    Executors.newSingleThreadScheduledExecutor(), 0, 0);
+            timetable.addModuleDirect(0, 0, module("CS1231", "Discrete Structures"));
+            cachingRefresher.markIdle(timetable.getAllModules());
+
+            cachingRefresher.refreshNext();
+            cachingRefresher.refreshNext();
+            assertEquals(2, changingServer.getRequestCount());
+            assertEquals(1, changingServer.getNotModifiedCount());
+            assertTrue(cachingRefresher.applyUpdates(allModulesData, timetable).isEmpty());
+
+            Files.writeString(fixture, Files.readString(fixture).replace("Discrete Structures", "Discrete Maths"));
+            cachingRefresher.refreshNext();
+            cachingRefresher.stop();
+
+            assertEquals(3, changingServer.getRequestCount());
+            assertEquals(List.of("CS1231"), cachingRefresher.applyUpdates(allModulesData, timetable));
+            assertEquals("Discrete Maths", timetable.getModules(0, 0).get(0).getName());
+        }
+    }
+
+    private static Module module(String code, String name) {
+        return new Module(code, name, 4, "core", "", new Prerequisites());
+    }
+}
@@ -0,0 +1,56 @@
+package modhero.data;
+
+import modhero.data.modules.Module;
+import modhero.data.nusmods.ModuleRetriever;
+import modhero.data.nusmods.NusmodsAPIClient;
+import modhero.exceptions.NusmodsRequestException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExemptionVerifierTest {
+    private static final String MA1301_JSON =
+            "{\"moduleCode\":\"MA1301\",\"title\":\"Introductory Mathematics\",\"moduleCredit\":\"4\"}";
+
+    private final Map<String, CompletableFuture<String>> responses = new HashMap<>();
+    private final NusmodsAPIClient client = new NusmodsAPIClient(1, null) {
+        @Override
+        public CompletableFuture<String> fetchModuleAsync(String acadYear, String moduleCode) {
+            return responses.computeIfAbsent(moduleCode, code -> new CompletableFuture<>());
+        }
+    };
+    private final ExemptionVerifier verifier = new ExemptionVerifier(new ModuleRetriever(client, 60_000));
+
+    private final Map<String, Module> allModulesData = new HashMap<>();
+    private final List<String> exemptedModules = new ArrayList<>(List.of("MA1301", "XX9999", "PC1201"));
+
+    @Test
+    void verify_doesNotBlockOnPendingLookups() {
+        verifier.verify(List.of("MA1301", "XX9999", "PC1201"));
+        verifier.applyResults(allModulesData, exemptedModules);
+
+        assertEquals(List.of("MA1301", "XX9999", "PC1201"), exemptedModules);
+        assertTrue(allModulesData.isEmpty());
+    }
+
+    @Test
+    void applyResults_appliesCompletedLookups() {
+        verifier.verify(List.of("MA1301", "XX9999", "PC1201"));
+        responses.get("MA1301").complete(MA1301_JSON);
+        responses.get("XX9999").completeExceptionally(new NusmodsRequestException("XX9999", 404));
+        responses.get("PC1201").completeExceptionally(new IOException("offline"));
+
+        verifier.applyResults(allModulesData, exemptedModules);
+
+        assertEquals(List.of("MA1301", "PC1201"), exemptedModules);
+        assertEquals("MA1301", allModulesData.get("MA1301").getCode());
+    }
+}
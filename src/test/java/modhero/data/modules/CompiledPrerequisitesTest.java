@@ -0,0 +1,120 @@
+package modhero.data.modules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledPrerequisitesTest {
+    private static final ModuleCodeDictionary dictionary = ModuleCodeDictionary.getShared();
+
+    private static BitSet idsOf(String... codes) {
+        BitSet ids = new BitSet();
+        for (String code : codes) {
+            ids.set(dictionary.idOf(code));
+        }
+        return ids;
+    }
+
+    @Test
+    void isSatisfiedBy_evaluatesNestedGroups() {
+        PrerequisiteNode tree = PrerequisiteNode.and(List.of(PrerequisiteNode.module("CS1231"),
+                PrerequisiteNode.or(List.of(PrerequisiteNode.module("CS2040"), PrerequisiteNode.module("CS2040C"))),
+                PrerequisiteNode.nOf(2, List.of(PrerequisiteNode.module("MA1521"),
+                        PrerequisiteNode.module("MA1522"), PrerequisiteNode.module("ST2334")))));
+        CompiledPrerequisites compiled = CompiledPrerequisites.compile(tree);
+
+        assertTrue(compiled.isSatisfiedBy(idsOf("CS1231", "CS2040C", "MA1521", "ST2334"), prefix -> false));
+        assertFalse(compiled.isSatisfiedBy(idsOf("CS1231", "CS2040C", "MA1521"), prefix -> false));
+        assertFalse(compiled.isSatisfiedBy(idsOf("CS2040", "MA1521", "MA1522"), prefix -> false));
+        assertFalse(compiled.isSatisfiedBy(new BitSet(), prefix -> false));
+    }
+
+    @Test
+    void isSatisfiedBy_singleModuleAndWildcard() {
+        assertTrue(CompiledPrerequisites.compile(PrerequisiteNode.module("CS2113"))
+                .isSatisfiedBy(idsOf("CS2113"), prefix -> false));
+
+        PrerequisiteNode tree = PrerequisiteNode.or(List.of(PrerequisiteNode.module("MA1%"),
+                PrerequisiteNode.module("CS1010")));
+        CompiledPrerequisites compiled = CompiledPrerequisites.compile(tree);
+        assertTrue(compiled.isSatisfiedBy(new BitSet(), "MA1"::equals));
+        assertFalse(compiled.isSatisfiedBy(new BitSet(), prefix -> false));
+    }
+
+    @Test
+    void takenCodes_answersPrefixesFromCompletedAndExempted() {
+        TakenCodes taken = TakenCodes.of(idsOf("CS2040C", "MA1521"), idsOf("GEA1000"));
+        assertTrue(taken.contains("cs2040c"));
+        assertTrue(taken.contains("GEA1000"));
+        assertFalse(taken.contains("CS2040"));
+        assertTrue(taken.hasCodeWithPrefix("CS2040"));
+        assertTrue(taken.hasCodeWithPrefix("GEA"));
+        assertFalse(taken.hasCodeWithPrefix("CS2041"));
+        assertFalse(taken.hasCodeWithPrefix("MA1522"));
+
+        PrerequisiteNode tree = PrerequisiteNode.and(List.of(PrerequisiteNode.module("GE%"),
+                PrerequisiteNode.module("MA1521")));
+        assertTrue(CompiledPrerequisites.compile(tree).isSatisfiedBy(taken));
+    }
+
+    @Test
+    void isSatisfiedBy_agreesWithTreeWalkOnDuplicateAndOverRequiredNOf() {
+        PrerequisiteNode twoOfRepeated = PrerequisiteNode.nOf(2, List.of(PrerequisiteNode.module("CS2040"),
+                PrerequisiteNode.module("cs2040"), PrerequisiteNode.module("CS2040C")));
+        PrerequisiteNode threeOfTwo = PrerequisiteNode.nOf(3, List.of(PrerequisiteNode.module("MA1521"),
+                PrerequisiteNode.module("MA1522")));
+        PrerequisiteNode repeatedAnd = PrerequisiteNode.and(List.of(PrerequisiteNode.module("CS1231"),
+                PrerequisiteNode.module("CS1231")));
+
+        List<Set<String>> takenSets = List.of(Set.of(), Set.of("CS2040"), Set.of("CS2040", "CS2040C"),
+                Set.of("MA1521"), Set.of("MA1521", "MA1522"), Set.of("CS1231"));
+        for (PrerequisiteNode tree : List.of(twoOfRepeated, threeOfTwo, repeatedAnd)) {
+            CompiledPrerequisites compiled = CompiledPrerequisites.compile(tree);
+            for (Set<String> taken : takenSets) {
+                assertEquals(tree.isSatisfiedBy(taken::contains),
+                        compiled.isSatisfiedBy(idsOf(taken.toArray(new String[0])), prefix -> false),
+                        tree + " with " + taken);
+            }
+        }
+        assertFalse(twoOfRepeated.isSatisfiedBy(Set.of("CS2040")::contains));
+        assertTrue(threeOfTwo.isSatisfiedBy(Set.of("MA1521", "MA1522")::contains));
+    }
+
+    @Test
+    void isSatisfiedBy_agreesWithTreeWalkAcrossWords() {
+        // Codes spread over many IDs so that masks span several 64-bit words
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            codes.add("ZZ" + (5000 + i));
+        }
+        Random random = new Random(20);
+        for (int trial = 0; trial < 200; trial++) {
+            List<PrerequisiteNode> groups = new ArrayList<>();
+            for (int g = 0; g < 3; g++) {
+                List<PrerequisiteNode> leaves = new ArrayList<>();
+                for (int l = 0; l < 4; l++) {
+                    leaves.add(PrerequisiteNode.module(codes.get(random.nextInt(codes.size()))));
+                }
+                groups.add(g == 0 ? PrerequisiteNode.or(leaves) : PrerequisiteNode.nOf(2, leaves));
+            }
+            PrerequisiteNode tree = PrerequisiteNode.and(groups);
+
+            Set<String> taken = new HashSet<>();
+            for (String code : codes) {
+                if (random.nextInt(4) == 0) {
+                    taken.add(code);
+                }
+            }
+            BitSet takenIds = idsOf(taken.toArray(new String[0]));
+            assertEquals(tree.isSatisfiedBy(taken::contains),
+                    CompiledPrerequisites.compile(tree).isSatisfiedBy(takenIds, prefix -> false));
+        }
+    }
+}
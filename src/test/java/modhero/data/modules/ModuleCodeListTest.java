@@ -0,0 +1,72 @@
+package modhero.data.modules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModuleCodeListTest {
+
+    @Test
+    void dictionary_assignsStableIdsToCanonicalCodes() {
+        ModuleCodeDictionary dictionary = new ModuleCodeDictionary();
+        int id = dictionary.idOf("cs2113 ");
+        assertEquals(id, dictionary.idOf("CS2113"));
+        assertEquals("CS2113", dictionary.codeOf(id));
+        assertEquals(ModuleCodeDictionary.NO_ID, dictionary.findId("CS9999"));
+        assertNotEquals(id, dictionary.idOf("CS9999"));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void add_ignoresDuplicatesInAnyCase() {
+        ModuleCodeList codes = new ModuleCodeList();
+        assertTrue(codes.add("CS1010"));
+        assertFalse(codes.add("cs1010"));
+        codes.add("MA1521");
+        assertEquals(List.of("CS1010", "MA1521"), codes);
+        assertTrue(codes.contains("ma1521"));
+        assertEquals(1, codes.indexOf("MA1521"));
+    }
+
+    @Test
+    void remove_clearsMembership() {
+        ModuleCodeList codes = new ModuleCodeList(List.of("CS1010", "MA1521", "CS2040"));
+        assertTrue(codes.remove("MA1521"));
+        assertFalse(codes.contains("MA1521"));
+        assertEquals(List.of("CS1010", "CS2040"), codes);
+        codes.clear();
+        assertTrue(codes.isEmpty());
+        assertFalse(codes.contains("CS1010"));
+    }
+
+    @Test
+    void sortedCodesOf_followsAddRemoveAndSet() {
+        ModuleCodeList codes = new ModuleCodeList(List.of("MA1521", "cs2040", "CS1010"));
+        assertEquals(List.of("CS1010", "CS2040", "MA1521"), List.copyOf(ModuleCodeList.sortedCodesOf(codes)));
+        codes.remove("CS2040");
+        codes.set(0, "ST2334");
+        assertEquals(List.of("CS1010", "ST2334"), List.copyOf(ModuleCodeList.sortedCodesOf(codes)));
+        assertEquals(ModuleCodeList.sortedCodesOf(codes), ModuleCodeList.sortedCodesOf(List.of("st2334", "CS1010")));
+    }
+
+    @Test
+    void idsOf_matchesForListsAndOtherCollections() {
+        ModuleCodeList codes = new ModuleCodeList(List.of("CS1010", "MA1521"));
+        BitSet fromList = ModuleCodeList.idsOf(codes);
+        BitSet fromPlainList = ModuleCodeList.idsOf(List.of("MA1521", "cs1010"));
+        assertEquals(fromList, fromPlainList);
+        assertTrue(fromList.get(ModuleCodeDictionary.getShared().findId("CS1010")));
+    }
+
+    @Test
+    void moduleEquality_followsCodeId() {
+        Module lower = new Module("cs2113", "SE", 4, "core", "", new Prerequisites());
+        Module upper = new Module("CS2113", "Software Engineering", 4, "core", "", new Prerequisites());
+        assertEquals("CS2113", lower.getCode());
+        assertEquals(lower, upper);
+        assertEquals(lower.hashCode(), upper.hashCode());
+    }
+}
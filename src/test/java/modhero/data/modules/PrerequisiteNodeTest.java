@@ -0,0 +1,120 @@
+package modhero.data.modules;
+
+import modhero.common.util.PrerequisiteUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisiteNodeTest {
+
+    private static PrerequisiteNode andOfOrs(int groups, int optionsPerGroup) {
+        List<PrerequisiteNode> ands = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            List<PrerequisiteNode> ors = new ArrayList<>();
+            for (int o = 0; o < optionsPerGroup; o++) {
+                ors.add(PrerequisiteNode.module("M" + g + "" + o));
+            }
+            ands.add(PrerequisiteNode.or(ors));
+        }
+        return PrerequisiteNode.and(ands);
+    }
+
+    @Test
+    void isSatisfiedByEvaluatesAndOfOrs() {
+        PrerequisiteNode tree = andOfOrs(3, 2);
+        assertTrue(tree.isSatisfiedBy(Set.of("M01", "M10", "M21")::contains));
+        assertFalse(tree.isSatisfiedBy(Set.of("M01", "M10")::contains));
+    }
+
+    @Test
+    void isSatisfiedByStopsAtFirstDecidingChild() {
+        PrerequisiteNode tree = andOfOrs(10, 5);
+        AtomicInteger lookups = new AtomicInteger();
+        assertFalse(tree.isSatisfiedBy(code -> {
+            lookups.incrementAndGet();
+            return false;
+        }));
+        assertEquals(5, lookups.get());
+    }
+
+    @Test
+    void collectCodesVisitsEveryLeafWithoutExpanding() {
+        Set<String> codes = new HashSet<>();
+        andOfOrs(12, 4).collectCodes(codes);
+        assertEquals(48, codes.size());
+    }
+
+    @Test
+    void singleChildGroupCollapsesToChild() {
+        PrerequisiteNode leaf = PrerequisiteNode.module("CS1010");
+        assertSame(leaf, PrerequisiteNode.and(List.of(leaf)));
+        assertSame(leaf, PrerequisiteNode.or(List.of(leaf)));
+    }
+
+    @Test
+    void fromCombinationsRoundTripsThroughToCombinations() {
+        List<List<String>> combinations = List.of(List.of("CS2113"), List.of("CS2040C", "CS2040"));
+        PrerequisiteNode tree = PrerequisiteNode.fromCombinations(combinations);
+        assertEquals("CS2113 OR (CS2040C AND CS2040)", tree.toString());
+        assertEquals(combinations, tree.toCombinations());
+        assertNull(PrerequisiteNode.fromCombinations(List.of()));
+    }
+
+    @Test
+    void fromCombinationsWithEmptyCombinationIsAlwaysSatisfied() {
+        // An empty combination has always satisfied the requirement, as in the combination-list evaluation
+        List<List<String>> combinations = List.of(List.of(), List.of("CS2040"));
+        assertNull(PrerequisiteNode.fromCombinations(combinations));
+        Prerequisites prerequisites = new Prerequisites(combinations);
+        assertTrue(prerequisites.isEmpty());
+        assertTrue(PrerequisiteUtil.arePrerequisitesMet(combinations, List.of(), List.of()));
+        assertDoesNotThrow(() -> PrerequisiteUtil.validatePrerequisites("CS3230", prerequisites, List.of(), List.of()));
+    }
+
+    @Test
+    void nOfCountsSatisfiedChildrenWithEarlyExit() {
+        PrerequisiteNode twoOfFour = PrerequisiteNode.nOf(2, List.of(PrerequisiteNode.module("A"),
+                PrerequisiteNode.module("B"), PrerequisiteNode.module("C"), PrerequisiteNode.module("D")));
+        assertTrue(twoOfFour.isSatisfiedBy(Set.of("B", "D")::contains));
+        assertFalse(twoOfFour.isSatisfiedBy(Set.of("C")::contains));
+
+        AtomicInteger lookups = new AtomicInteger();
+        assertTrue(twoOfFour.isSatisfiedBy(code -> lookups.incrementAndGet() > 0));
+        assertEquals(2, lookups.get());
+
+        lookups.set(0);
+        assertFalse(twoOfFour.isSatisfiedBy(code -> lookups.incrementAndGet() < 0));
+        assertEquals(3, lookups.get());
+    }
+
+    @Test
+    void nOfExpandsToEveryChoiceOnlyWhenAsked() {
+        PrerequisiteNode twoOfThree = PrerequisiteNode.nOf(2, List.of(PrerequisiteNode.module("A"),
+                PrerequisiteNode.module("B"), PrerequisiteNode.module("C")));
+        assertEquals("2 of (A, B, C)", twoOfThree.toString());
+        assertEquals(List.of(List.of("A", "B"), List.of("A", "C"), List.of("B", "C")), twoOfThree.toCombinations());
+    }
+
+    @Test
+    void nOfOfOneOrAllCollapsesToOrAndAnd() {
+        List<PrerequisiteNode> children = List.of(PrerequisiteNode.module("A"), PrerequisiteNode.module("B"));
+        assertEquals(PrerequisiteNode.Type.OR, PrerequisiteNode.nOf(1, children).getType());
+        assertEquals(PrerequisiteNode.Type.AND, PrerequisiteNode.nOf(2, children).getType());
+    }
+
+    @Test
+    void nOfRequiringMoreThanItsChildrenIsClampedToAnd() {
+        PrerequisiteNode threeOfTwo = PrerequisiteNode.nOf(3, List.of(PrerequisiteNode.module("A"),
+                PrerequisiteNode.module("B")));
+        assertEquals(PrerequisiteNode.Type.AND, threeOfTwo.getType());
+        assertEquals(2, threeOfTwo.getRequired());
+        assertTrue(threeOfTwo.isSatisfiedBy(Set.of("A", "B")::contains));
+        assertFalse(threeOfTwo.isSatisfiedBy(Set.of("A")::contains));
+    }
+}
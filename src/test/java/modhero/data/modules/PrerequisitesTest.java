@@ -1,7 +1,10 @@
 package modhero.data.modules;
 
+import modhero.common.util.SerialisationUtil;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,4 +37,45 @@ class PrerequisitesTest {
         System.out.println(input);
         assertEquals("9#6#CS2113||19#7#CS2040C|6#CS2040||",prerequisites.toFormatedString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void treeBackedPrerequisitesExpandOnlyOnRequest() {
+        PrerequisiteNode tree = PrerequisiteNode.and(List.of(
+                PrerequisiteNode.or(List.of(PrerequisiteNode.module("CS2040"), PrerequisiteNode.module("CS2040C"))),
+                PrerequisiteNode.module("CS1231")));
+        Prerequisites prerequisites = new Prerequisites(tree);
+
+        assertFalse(prerequisites.isEmpty());
+        assertTrue(prerequisites.isSatisfiedBy(List.of("CS2040C", "CS1231")::contains));
+        assertEquals("Prerequisites: [(CS2040 OR CS2040C) AND CS1231]", prerequisites.toString());
+        assertEquals(List.of(List.of("CS2040", "CS1231"), List.of("CS2040C", "CS1231")), prerequisites.getPrereq());
+        assertEquals("T3#AND|31#2#OR|9#6#CS2040||10#7#CS2040C|||9#6#CS1231||", prerequisites.toFormatedString());
+    }
+
+    @Test
+    void moduleWriteFormattedMatchesNestedSerialisation() throws IOException {
+        PrerequisiteNode tree = PrerequisiteNode.and(List.of(PrerequisiteNode.module("CS1231"),
+                PrerequisiteNode.nOf(2, List.of(PrerequisiteNode.module("MA1521"),
+                        PrerequisiteNode.module("MA1522"), PrerequisiteNode.module("ST2334")))));
+        Prerequisites prerequisites = new Prerequisites(tree);
+        Module module = new Module("CS3230", "Design and Analysis of Algorithms", 4, "core", "", prerequisites);
+
+        String nOf = SerialisationUtil.serialiseMessage("N_OF") + SerialisationUtil.serialiseMessage("2")
+                + SerialisationUtil.serialiseMessage(SerialisationUtil.serialiseMessage("MA1521"))
+                + SerialisationUtil.serialiseMessage(SerialisationUtil.serialiseMessage("MA1522"))
+                + SerialisationUtil.serialiseMessage(SerialisationUtil.serialiseMessage("ST2334"));
+        String serialisedTree = "T" + SerialisationUtil.serialiseMessage("AND")
+                + SerialisationUtil.serialiseMessage(SerialisationUtil.serialiseMessage("CS1231"))
+                + SerialisationUtil.serialiseMessage(nOf);
+        String expected = SerialisationUtil.serialiseMessage("CS3230")
+                + SerialisationUtil.serialiseMessage("Design and Analysis of Algorithms")
+                + SerialisationUtil.serialiseMessage("4") + SerialisationUtil.serialiseMessage("core")
+                + SerialisationUtil.serialiseMessage("") + SerialisationUtil.serialiseMessage(serialisedTree);
+
+        StringWriter out = new StringWriter();
+        module.writeFormatted(out);
+        assertEquals(expected, out.toString());
+        assertEquals(expected, module.toFormatedString());
+        assertEquals(serialisedTree.length(), prerequisites.formattedLength());
+    }
+}
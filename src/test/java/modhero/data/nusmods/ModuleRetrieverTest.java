@@ -1,14 +1,44 @@
 package modhero.data.nusmods;
 
 import modhero.data.modules.Module;
+import modhero.exceptions.NusmodsRequestException;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ModuleRetrieverTest {
+    private static final String CS2113_JSON =
+            "{\"moduleCode\":\"CS2113\",\"title\":\"Software Engineering\",\"moduleCredit\":\"4\"}";
+
     private final ModuleRetriever retriever = new ModuleRetriever();
 
+    /**
+     * Client that never touches the network and counts how often it is asked to fetch.
+     */
+    private static class StubClient extends NusmodsAPIClient {
+        private final AtomicInteger fetchCount = new AtomicInteger();
+        private CompletableFuture<String> response = new CompletableFuture<>();
+
+        StubClient() {
+            super(1, null);
+        }
+
+        @Override
+        public CompletableFuture<String> fetchModuleAsync(String acadYear, String moduleCode) {
+            fetchCount.incrementAndGet();
+            return response;
+        }
+    }
+
     @Test
     void getModuleWithInvalidCodeYieldsNullOrEmptyFields() {
         assertNull(retriever.getModule("invalid", "XXXX"));
@@ -22,4 +52,107 @@ class ModuleRetrieverTest {
         assertEquals(4, module.getMc());
         assertNotNull(module.getPrerequisites());
     }
-}
\ No newline at end of file
+
+    @Test
+    void concurrentRequestsForSameModuleShareOneFetch() {
+        StubClient client = new StubClient();
+        ModuleRetriever stubRetriever = new ModuleRetriever(client, 60_000);
+
+        CompletableFuture<Module> first = stubRetriever.getModuleAsync("2025-2026", "CS2113");
+        CompletableFuture<Module> second = stubRetriever.getModuleAsync("2025-2026", "cs2113");
+        assertSame(first, second);
+        assertFalse(first.isDone());
+
+        client.response.complete(CS2113_JSON);
+        assertEquals("CS2113", first.join().getCode());
+        assertEquals(1, client.fetchCount.get());
+        assertEquals(1, stubRetriever.getFetchCount());
+    }
+
+    @Test
+    void retrievedModuleIsServedFromMemory() {
+        StubClient client = new StubClient();
+        client.response.complete(CS2113_JSON);
+        ModuleRetriever stubRetriever = new ModuleRetriever(client, 60_000);
+
+        Module first = stubRetriever.getModule("2025-2026", "CS2113");
+        Module second = stubRetriever.getModule("2025-2026", "CS2113");
+
+        assertSame(first, second);
+        assertEquals(1, client.fetchCount.get());
+        assertEquals(1, stubRetriever.getMissCount());
+        assertEquals(1, stubRetriever.getHitCount());
+    }
+
+    @Test
+    void notFoundModuleIsRememberedWithinWindow() {
+        StubClient client = new StubClient();
+        client.response.completeExceptionally(new NusmodsRequestException("CS21O3", 404));
+        ModuleRetriever stubRetriever = new ModuleRetriever(client, 60_000);
+
+        assertNull(stubRetriever.getModule("2025-2026", "CS21O3"));
+        assertNull(stubRetriever.getModule("2025-2026", "CS21O3"));
+
+        assertEquals(1, client.fetchCount.get());
+        assertEquals(1, stubRetriever.getNotFoundHitCount());
+    }
+
+    @Test
+    void notFoundModuleIsFetchedAgainAfterWindow() {
+        StubClient client = new StubClient();
+        client.response.completeExceptionally(new NusmodsRequestException("CS21O3", 404));
+        ModuleRetriever stubRetriever = new ModuleRetriever(client, 0);
+
+        assertNull(stubRetriever.getModule("2025-2026", "CS21O3"));
+        assertNull(stubRetriever.getModule("2025-2026", "CS21O3"));
+
+        assertEquals(2, client.fetchCount.get());
+    }
+
+    @Test
+    void networkFailureIsNotRememberedAsNotFound() {
+        StubClient client = new StubClient();
+        client.response.completeExceptionally(new java.io.IOException("offline"));
+        ModuleRetriever stubRetriever = new ModuleRetriever(client, 60_000);
+
+        CompletableFuture<Module> result = stubRetriever.getModuleAsync("2025-2026", "CS2113");
+        assertTrue(result.isCompletedExceptionally());
+        assertNull(stubRetriever.getModule("2025-2026", "CS2113"));
+        assertEquals(2, client.fetchCount.get());
+    }
+
+    @Test
+    void concurrentRetrievalsAgainstSlowServerSendOneRequest() throws Exception {
+        try (NusmodsStandInServer server = new NusmodsStandInServer(Paths.get("src", "test", "resources", "nusmods"))) {
+            server.setLatencyMillis(100);
+            ModuleRetriever offlineRetriever = new ModuleRetriever(
+                    new NusmodsAPIClient(server.getBaseUrl(), 4, null), 60_000);
+
+            List<CompletableFuture<Module>> retrievals = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                retrievals.add(offlineRetriever.getModuleAsync("2025-2026", "CS2040C"));
+            }
+            for (CompletableFuture<Module> retrieval : retrievals) {
+                assertEquals("CS2040C", retrieval.join().getCode());
+            }
+            assertEquals(1, server.getRequestCount());
+        }
+    }
+
+    @Test
+    void responseThatFailsParsingCompletesFetchExceptionally() throws Exception {
+        try (NusmodsStandInServer server = new NusmodsStandInServer(Paths.get("src", "test", "resources", "nusmods"))) {
+            ModuleRetriever offlineRetriever = new ModuleRetriever(
+                    new NusmodsAPIClient(server.getBaseUrl(), 4, null), 60_000);
+
+            // An empty title trips the Module constructor's assertions while parsing
+            CompletableFuture<Module> retrieval = offlineRetriever.getModuleAsync("2025-2026", "ZZ0000");
+            assertThrows(CompletionException.class, retrieval::join);
+
+            // The failed fetch no longer counts as in flight, so a later lookup fetches again instead of hanging
+            assertNull(offlineRetriever.getModuleAsync("2025-2026", "ZZ0000")
+                    .exceptionally(error -> null).get(10, TimeUnit.SECONDS));
+            assertEquals(2, server.getRequestCount());
+        }
+    }
+}
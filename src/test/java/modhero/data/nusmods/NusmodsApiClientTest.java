@@ -1,11 +1,42 @@
 // NusmodsApiClientTest.java
 package modhero.data.nusmods;
 
+import modhero.exceptions.NusmodsRequestException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class NusmodsAPIClientTest {
+    private static final Path FIXTURE_DIRECTORY = Paths.get("src", "test", "resources", "nusmods");
+
     private final NusmodsAPIClient client = new NusmodsAPIClient();
+    private NusmodsStandInServer server;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new NusmodsStandInServer(FIXTURE_DIRECTORY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
 
     @Test
     void testFetchModuleDataSafelyValidModule() {
@@ -20,4 +51,122 @@ class NusmodsAPIClientTest {
     void fetchModuleDataSafelyReturnsNullOnInvalidAddress() {
         assertNull(client.fetchModuleDataSafely("invalid", "XXXX"));
     }
+
+    @Test
+    void fetchModulesReturnsOneFuturePerDistinctCode() {
+        Map<String, CompletableFuture<String>> responses =
+                client.fetchModules("invalid", List.of("XXXX", "YYYY", "XXXX"));
+        assertEquals(List.of("XXXX", "YYYY"), new ArrayList<>(responses.keySet()));
+        assertThrows(CompletionException.class, () -> responses.get("XXXX").join());
+    }
+
+    @Test
+    void fetchModulesCompletesEveryRequestWithSingleRequestLimit() {
+        NusmodsAPIClient limitedClient = new NusmodsAPIClient(1);
+        Map<String, CompletableFuture<String>> responses =
+                limitedClient.fetchModules("invalid", List.of("AAAA", "BBBB", "CCCC"));
+        CompletableFuture.allOf(responses.values().toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null).join();
+        assertTrue(responses.values().stream().allMatch(CompletableFuture::isCompletedExceptionally));
+        assertEquals(3, limitedClient.getCompletedRequestCount());
+    }
+
+    @Test
+    void fetchFromStandInServerReturnsFixture() {
+        NusmodsAPIClient offlineClient = new NusmodsAPIClient(server.getBaseUrl(), 2, null);
+        String result = offlineClient.fetchModuleAsync("2025-2026", "CS2113").join();
+        assertTrue(result.contains("\"moduleCode\":\"CS2113\""));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void fetchRequestsGzipAndKeepsOnlyParsedFields() {
+        NusmodsAPIClient offlineClient = new NusmodsAPIClient(server.getBaseUrl(), 2, null);
+        String result = offlineClient.fetchModuleAsync("2025-2026", "CS2113").join();
+
+        assertEquals(1, server.getGzipResponseCount());
+        assertFalse(result.contains("semesterData"));
+        assertFalse(result.contains("description"));
+        assertTrue(result.startsWith("{\"acadYear\":\"2025/2026\",\"title\":"));
+        assertTrue(result.contains("\"moduleCode\":\"CS2113\""));
+        assertTrue(result.contains("\"prereqTree\":{\"and\":"));
+    }
+
+    @Test
+    void unknownModuleOnStandInServerFailsWithNotFound() {
+        NusmodsAPIClient offlineClient = new NusmodsAPIClient(server.getBaseUrl(), 2, null);
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> offlineClient.fetchModuleAsync("2025-2026", "XX9999").join());
+        assertEquals(404, ((NusmodsRequestException) e.getCause()).getStatusCode());
+    }
+
+    @Test
+    void serverErrorFailsOnlyAffectedRequest() {
+        NusmodsAPIClient offlineClient = new NusmodsAPIClient(server.getBaseUrl(), 1, null);
+        server.failNextRequests(1, 503);
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> offlineClient.fetchModuleAsync("2025-2026", "CS2113").join());
+        assertEquals(503, ((NusmodsRequestException) e.getCause()).getStatusCode());
+        assertNotNull(offlineClient.fetchModuleAsync("2025-2026", "CS2113").join());
+    }
+
+    @Test
+    void slowBodyIsReadCompletely() {
+        NusmodsAPIClient offlineClient = new NusmodsAPIClient(server.getBaseUrl(), 1, null);
+        server.setBodyChunkDelayMillis(5);
+        String result = offlineClient.fetchModuleAsync("2025-2026", "CS2113").join();
+        assertTrue(result.trim().endsWith("}"));
+    }
+
+    @Test
+    void inFlightLimitHoldsBackQueuedRequests() {
+        NusmodsAPIClient offlineClient = new NusmodsAPIClient(server.getBaseUrl(), 2, null);
+        server.setLatencyMillis(100);
+
+        long startTime = System.nanoTime();
+        Map<String, CompletableFuture<String>> responses = offlineClient.fetchModules("2025-2026",
+                List.of("CS2113", "CS2040C", "CS1231", "CS1010"));
+        CompletableFuture.allOf(responses.values().toArray(new CompletableFuture<?>[0])).join();
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        assertTrue(elapsedMillis >= 200, "4 requests at 2 in flight should take two rounds: " + elapsedMillis);
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    void longQueueOfRequestsThatFailBeforeSendingDoesNotOverflowStack() throws Exception {
+        NusmodsAPIClient offlineClient = new NusmodsAPIClient(server.getBaseUrl(), 1, null);
+        server.setLatencyMillis(200);
+
+        // The slow request holds the only permit while the rest queue up behind it
+        CompletableFuture<String> slow = offlineClient.fetchModuleAsync("2025-2026", "CS2113");
+        List<String> invalidCodes = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            invalidCodes.add("NOT A CODE " + i);
+        }
+        Map<String, CompletableFuture<String>> responses = offlineClient.fetchModules("2025-2026", invalidCodes);
+
+        assertNotNull(slow.get(10, TimeUnit.SECONDS));
+        CompletableFuture.allOf(responses.values().toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<String> response : responses.values()) {
+            CompletionException e = assertThrows(CompletionException.class, response::join);
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void staleCacheEntryIsRevalidatedWithConditionalRequest() {
+        NusmodsCache cache = new NusmodsCache(tempDir.toString(), 0, 10);
+        NusmodsAPIClient offlineClient = new NusmodsAPIClient(server.getBaseUrl(), 1, cache);
+
+        String first = offlineClient.fetchModuleAsync("2025-2026", "CS2113").join();
+        String second = offlineClient.fetchModuleAsync("2025-2026", "CS2113").join();
+
+        assertEquals(first, second);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, server.getNotModifiedCount());
+    }
 }
@@ -0,0 +1,115 @@
+package modhero.data.nusmods;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NusmodsCacheTest {
+    private static final long ONE_HOUR_MILLIS = 60 * 60 * 1000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void getReturnsNullForMissingEntry() {
+        NusmodsCache cache = new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10);
+        assertNull(cache.get("2025-2026", "CS2113"));
+    }
+
+    @Test
+    void putThenGetReturnsStoredResponse() {
+        NusmodsCache cache = new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10);
+        cache.put("2025-2026", "CS2113", "{\"moduleCode\":\"CS2113\"}", "\"abc\"", null);
+
+        NusmodsCache.Entry entry = cache.get("2025-2026", "CS2113");
+        assertEquals("{\"moduleCode\":\"CS2113\"}", entry.getJson());
+        assertEquals("\"abc\"", entry.getETag());
+        assertNull(entry.getLastModified());
+        assertTrue(cache.isFresh(entry));
+    }
+
+    @Test
+    void entriesSurviveReopeningCache() {
+        new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10)
+                .put("2025-2026", "CS2113", "{}\n{}", null, "Mon, 01 Sep 2025 00:00:00 GMT");
+
+        NusmodsCache reopened = new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10);
+        assertEquals(1, reopened.size());
+        assertEquals("{}\n{}", reopened.get("2025-2026", "CS2113").getJson());
+    }
+
+    @Test
+    void entryOlderThanTimeToLiveIsStale() {
+        NusmodsCache cache = new NusmodsCache(tempDir.toString(), 0, 10);
+        cache.put("2025-2026", "CS2113", "{}", null, null);
+        assertFalse(cache.isFresh(cache.get("2025-2026", "CS2113")));
+    }
+
+    @Test
+    void putEvictsLeastRecentlyUsedEntry() {
+        NusmodsCache cache = new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 2);
+        cache.put("2025-2026", "CS1010", "{}", null, null);
+        cache.put("2025-2026", "CS2040", "{}", null, null);
+        cache.get("2025-2026", "CS1010");
+        cache.put("2025-2026", "CS2113", "{}", null, null);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("2025-2026", "CS1010"));
+        assertNull(cache.get("2025-2026", "CS2040"));
+        assertNotNull(cache.get("2025-2026", "CS2113"));
+    }
+
+    @Test
+    void repeatedHitsAreServedFromMemoryWithoutTouchingEntryFile() throws IOException {
+        NusmodsCache cache = new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10);
+        cache.put("2025-2026", "CS2113", "{}", null, null);
+        Path entryPath = tempDir.resolve("2025-2026").resolve("CS2113.json");
+        FileTime writtenAt = Files.getLastModifiedTime(entryPath);
+
+        Files.writeString(entryPath, "corrupted");
+        Files.setLastModifiedTime(entryPath, writtenAt);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("{}", cache.get("2025-2026", "CS2113").getJson());
+        }
+        assertEquals(writtenAt, Files.getLastModifiedTime(entryPath));
+    }
+
+    @Test
+    void hitOnEntryLastUsedLongAgoRecordsUseForNextStart() throws IOException {
+        new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10).put("2025-2026", "CS2113", "{}", null, null);
+        Path entryPath = tempDir.resolve("2025-2026").resolve("CS2113.json");
+        long dayAgoMillis = System.currentTimeMillis() - 24 * ONE_HOUR_MILLIS;
+        Files.setLastModifiedTime(entryPath, FileTime.fromMillis(dayAgoMillis));
+
+        NusmodsCache reopened = new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10);
+        assertNotNull(reopened.get("2025-2026", "CS2113"));
+        assertTrue(Files.getLastModifiedTime(entryPath).toMillis() > dayAgoMillis + ONE_HOUR_MILLIS);
+    }
+
+    @Test
+    void markRevalidatedStoresNewValidatorsAndKeepsOldOnesOtherwise() {
+        NusmodsCache cache = new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10);
+        cache.put("2025-2026", "CS2113", "{}", "\"v1\"", "Mon, 01 Sep 2025 00:00:00 GMT");
+
+        cache.markRevalidated("2025-2026", "CS2113", cache.get("2025-2026", "CS2113"), "\"v2\"", null);
+
+        NusmodsCache.Entry entry = new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10)
+                .get("2025-2026", "CS2113");
+        assertEquals("{}", entry.getJson());
+        assertEquals("\"v2\"", entry.getETag());
+        assertEquals("Mon, 01 Sep 2025 00:00:00 GMT", entry.getLastModified());
+    }
+
+    @Test
+    void putIgnoresCodesThatAreNotPlainIdentifiers() {
+        NusmodsCache cache = new NusmodsCache(tempDir.toString(), ONE_HOUR_MILLIS, 10);
+        cache.put("2025-2026", "../CS2113", "{}", null, null);
+        assertEquals(0, cache.size());
+    }
+}
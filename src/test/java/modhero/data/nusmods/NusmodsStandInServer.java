@@ -0,0 +1,170 @@
+package modhero.data.nusmods;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stand-in for the NUSMods API that serves module JSON from a fixture directory on localhost.
+ * <p>
+ * A request for {@code /<acadYear>/modules/<CODE>.json} is answered with the file at the same path
+ * under the fixture directory, with an ETag that allows conditional requests, gzip-compressed
+ * if the request accepts it. Latency, server errors
+ * and slowly written bodies can be injected so the fetch path can be exercised without the internet.
+ * </p>
+ */
+public class NusmodsStandInServer implements AutoCloseable {
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int SLOW_BODY_CHUNK_BYTES = 64;
+    private static final int WORKER_THREADS = 16;
+
+    private final Path fixtureDirectory;
+    private final HttpServer server;
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS);
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+    private final AtomicInteger gzipResponseCount = new AtomicInteger();
+    private final AtomicInteger remainingFailures = new AtomicInteger();
+    private volatile int failureStatus;
+    private volatile long latencyMillis;
+    private volatile long bodyChunkDelayMillis;
+
+    /**
+     * Starts a server on a free local port serving the given fixture directory.
+     *
+     * @param fixtureDirectory directory laid out like the NUSMods API paths
+     * @throws IOException if the server cannot be started
+     */
+    public NusmodsStandInServer(Path fixtureDirectory) throws IOException {
+        this.fixtureDirectory = fixtureDirectory.toAbsolutePath().normalize();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(workers);
+        server.start();
+    }
+
+    /** @return the base URL to give to a {@link NusmodsAPIClient} */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    /** Delays every response by the given time before anything is written. */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /** Writes response bodies in small chunks with the given delay between them. */
+    public void setBodyChunkDelayMillis(long bodyChunkDelayMillis) {
+        this.bodyChunkDelayMillis = bodyChunkDelayMillis;
+    }
+
+    /** Answers the next {@code count} requests with the given status and no body. */
+    public void failNextRequests(int count, int status) {
+        this.failureStatus = status;
+        remainingFailures.set(count);
+    }
+
+    /** @return the number of requests received */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /** @return the number of requests answered with 304 Not Modified */
+    public int getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    /** @return the number of responses sent gzip-compressed */
+    public int getGzipResponseCount() {
+        return gzipResponseCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            sleep(latencyMillis);
+
+            if (remainingFailures.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                exchange.sendResponseHeaders(failureStatus, -1);
+                return;
+            }
+
+            Path fixture = fixtureDirectory.resolve(exchange.getRequestURI().getPath().substring(1)).normalize();
+            if (!fixture.startsWith(fixtureDirectory) || !Files.isRegularFile(fixture)) {
+                exchange.sendResponseHeaders(HTTP_NOT_FOUND, -1);
+                return;
+            }
+
+            byte[] body = Files.readAllBytes(fixture);
+            String eTag = "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+            exchange.getResponseHeaders().set("ETag", eTag);
+            if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedCount.incrementAndGet();
+                exchange.sendResponseHeaders(HTTP_NOT_MODIFIED, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = gzip(body);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                gzipResponseCount.incrementAndGet();
+            }
+            exchange.sendResponseHeaders(HTTP_OK, body.length);
+            writeBody(exchange.getResponseBody(), body);
+        }
+    }
+
+    private void writeBody(OutputStream out, byte[] body) throws IOException {
+        if (bodyChunkDelayMillis <= 0) {
+            out.write(body);
+            return;
+        }
+        for (int offset = 0; offset < body.length; offset += SLOW_BODY_CHUNK_BYTES) {
+            out.write(body, offset, Math.min(SLOW_BODY_CHUNK_BYTES, body.length - offset));
+            out.flush();
+            sleep(bodyChunkDelayMillis);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package modhero.data.nusmods;
+
+import modhero.data.modules.Module;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisitePrefetcherTest {
+    private NusmodsStandInServer server;
+    private ModuleRetriever retriever;
+    private ExecutorService executor;
+    private Module cs2113;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new NusmodsStandInServer(Paths.get("src", "test", "resources", "nusmods"));
+        retriever = new ModuleRetriever(new NusmodsAPIClient(server.getBaseUrl(), 4, null), 60_000);
+        executor = Executors.newFixedThreadPool(2);
+        cs2113 = retriever.getModule("2025-2026", "CS2113");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void prefetch_depthOne_fetchesDirectPrerequisitesOnly() {
+        new PrerequisitePrefetcher(retriever, executor, 1, 20).prefetch(cs2113, Set.of()).join();
+
+        // CS2113 itself, then CS2040C, CS2040 and CS1231
+        assertEquals(4, server.getRequestCount());
+        long fetchesBefore = retriever.getFetchCount();
+        assertNotNull(retriever.getModule("2025-2026", "CS2040C"));
+        assertEquals(fetchesBefore, retriever.getFetchCount());
+    }
+
+    @Test
+    void prefetch_depthTwo_followsPrerequisitesOfPrerequisites() {
+        new PrerequisitePrefetcher(retriever, executor, 2, 20).prefetch(cs2113, Set.of()).join();
+
+        // Adds CS1010 and CS1010E from CS2040C
+        assertEquals(6, server.getRequestCount());
+    }
+
+    @Test
+    void prefetch_skipsKnownModulesAndStopsAtBudget() {
+        new PrerequisitePrefetcher(retriever, executor, 2, 1).prefetch(cs2113, Set.of("CS2040C")).join();
+
+        assertEquals(2, server.getRequestCount());
+    }
+}
@@ -0,0 +1,76 @@
+package modhero.data.timetable;
+
+import modhero.data.modules.Module;
+import modhero.data.modules.PrerequisiteNode;
+import modhero.data.modules.Prerequisites;
+import modhero.exceptions.ModHeroException;
+import modhero.exceptions.ModuleDeletionBlockedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependentsIndexTest {
+
+    private static Module module(String code, PrerequisiteNode tree) {
+        return new Module(code, code, 4, "core", "", tree == null ? new Prerequisites() : new Prerequisites(tree));
+    }
+
+    @Test
+    void getDependents_listsModulesMentioningCode() {
+        DependentsIndex index = new DependentsIndex();
+        Module cs2040 = module("CS2040", PrerequisiteNode.module("CS1010"));
+        Module cs2103 = module("CS2103", PrerequisiteNode.or(List.of(
+                PrerequisiteNode.module("CS1010"), PrerequisiteNode.module("CS1020"))));
+        index.add(cs2040);
+        index.add(cs2103);
+        index.add(module("MA1521", null));
+
+        assertEquals(List.of(cs2040, cs2103), index.getDependents("CS1010"));
+        assertEquals(List.of(cs2103), index.getDependents("CS1020"));
+        assertTrue(index.getDependents("MA1521").isEmpty());
+    }
+
+    @Test
+    void getDependents_matchesWildcardPrefixes() {
+        DependentsIndex index = new DependentsIndex();
+        Module cs3230 = module("CS3230", PrerequisiteNode.module("CS2040%"));
+        index.add(cs3230);
+
+        assertEquals(List.of(cs3230), index.getDependents("CS2040C"));
+        assertTrue(index.getDependents("CS2030").isEmpty());
+    }
+
+    @Test
+    void removeAndReplace_keepIndexInSync() {
+        DependentsIndex index = new DependentsIndex();
+        index.add(module("CS2040", PrerequisiteNode.module("CS1010")));
+        Module updated = module("CS2040", PrerequisiteNode.module("CS1101S"));
+        index.add(updated);
+
+        assertTrue(index.getDependents("CS1010").isEmpty());
+        assertEquals(List.of(updated), index.getDependents("CS1101S"));
+
+        index.remove(updated);
+        assertTrue(index.getDependents("CS1101S").isEmpty());
+    }
+
+    @Test
+    void timetableDelete_listsEveryBlockedDependent() throws ModHeroException {
+        Timetable timetable = new Timetable();
+        timetable.addModuleDirect(0, 0, module("CS1010", null));
+        timetable.addModuleDirect(0, 1, module("CS2040", PrerequisiteNode.module("CS1010")));
+        timetable.addModuleDirect(1, 0, module("CS2030", PrerequisiteNode.module("CS1010")));
+        timetable.addModuleDirect(1, 0, module("CS2100", PrerequisiteNode.module("MA1521")));
+
+        ModuleDeletionBlockedException exception = assertThrows(ModuleDeletionBlockedException.class,
+                () -> timetable.deleteModule("cs1010", List.of()));
+        assertEquals(List.of("CS2040", "CS2030"), exception.getDependentModules());
+
+        timetable.deleteModule("CS2040", List.of());
+        timetable.deleteModule("CS2030", List.of());
+        timetable.deleteModule("CS1010", List.of());
+        assertTrue(timetable.getAllModules().stream().noneMatch(m -> m.getCode().equals("CS1010")));
+    }
+}
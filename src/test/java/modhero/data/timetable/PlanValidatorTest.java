@@ -0,0 +1,81 @@
+package modhero.data.timetable;
+
+import modhero.data.modules.Module;
+import modhero.data.modules.PrerequisiteNode;
+import modhero.data.modules.Prerequisites;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanValidatorTest {
+
+    private static Module module(String code, String preclude, PrerequisiteNode tree) {
+        return new Module(code, code, 4, "core", preclude, tree == null ? new Prerequisites() : new Prerequisites(tree));
+    }
+
+    @Test
+    void validate_validPlan_noViolations() {
+        Timetable timetable = new Timetable();
+        timetable.addModuleDirect(0, 0, module("CS1010", "", null));
+        timetable.addModuleDirect(0, 1, module("CS2040", "", PrerequisiteNode.module("CS1010")));
+        timetable.addModuleDirect(1, 0, module("CS2103", "", PrerequisiteNode.module("MA1%")));
+
+        assertTrue(timetable.validatePlan(List.of("MA1301")).isEmpty());
+    }
+
+    @Test
+    void validate_reportsEveryViolationInSemesterOrder() {
+        Timetable timetable = new Timetable();
+        timetable.addModuleDirect(0, 0, module("CS1010", "", null));
+        // Prerequisite taken in the same term does not count
+        timetable.addModuleDirect(0, 0, module("CS2040", "", PrerequisiteNode.module("CS1010")));
+        timetable.addModuleDirect(0, 1, module("CS1101S", "CS1010", null));
+        timetable.addModuleDirect(2, 1, module("CS1010", "", null));
+        timetable.addModuleDirect(3, 0, module("CS3230", "", PrerequisiteNode.module("CS2100")));
+
+        List<PlanViolation> violations = timetable.validatePlan(List.of());
+
+        assertEquals(4, violations.size());
+        assertEquals(PlanViolation.Type.PREREQUISITE, violations.get(0).getType());
+        assertEquals("CS2040", violations.get(0).getModuleCode());
+        assertEquals(PlanViolation.Type.PRECLUSION, violations.get(1).getType());
+        assertEquals("CS1010", violations.get(1).getDetail());
+        assertEquals(1, violations.get(1).getYear());
+        assertEquals(2, violations.get(1).getTerm());
+        assertEquals(PlanViolation.Type.DUPLICATE, violations.get(2).getType());
+        assertEquals(3, violations.get(2).getYear());
+        assertEquals(PlanViolation.Type.PREREQUISITE, violations.get(3).getType());
+        assertTrue(violations.get(3).getMessage().contains("CS3230"));
+    }
+
+    @Test
+    void validate_wildcardPreclusion_reportsModulesWithPrefixInEitherOrder() {
+        Timetable timetable = new Timetable();
+        timetable.addModuleDirect(0, 0, module("CS1010S", "", null));
+        timetable.addModuleDirect(0, 1, module("CS1101S", "CS1010%:D", null));
+        timetable.addModuleDirect(0, 1, module("CS1231", "", null));
+        timetable.addModuleDirect(1, 0, module("CS1010E", "", null));
+
+        List<PlanViolation> violations = timetable.validatePlan(List.of());
+
+        assertEquals(2, violations.size());
+        assertEquals(PlanViolation.Type.PRECLUSION, violations.get(0).getType());
+        assertEquals("CS1101S", violations.get(0).getModuleCode());
+        assertTrue(violations.get(0).getMessage().contains("CS1010S"));
+        assertEquals(PlanViolation.Type.PRECLUSION, violations.get(1).getType());
+        assertEquals("CS1010E", violations.get(1).getModuleCode());
+        assertTrue(violations.get(1).getMessage().contains("CS1101S"));
+    }
+
+    @Test
+    void format_listsEachViolationUnderHeader() {
+        List<PlanViolation> violations = List.of(
+                new PlanViolation(PlanViolation.Type.DUPLICATE, "CS1010", 3, 2, ""),
+                new PlanViolation(PlanViolation.Type.PRECLUSION, "CS1101S", 1, 2, "CS1010"));
+
+        assertEquals("The plan has 2 issue(s):\n  " + violations.get(0).getMessage()
+                + "\n  " + violations.get(1).getMessage(), PlanViolation.format("The plan has", violations));
+    }
+}
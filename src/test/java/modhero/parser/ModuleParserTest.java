@@ -1,6 +1,7 @@
 package modhero.parser;
 
 import modhero.data.modules.Module;
+import modhero.data.modules.PrerequisiteNode;
 
 import org.junit.jupiter.api.Test;
 
@@ -118,7 +119,51 @@ class ModuleParserTest {
         assertEquals(expectedPrereq, module.getPrerequisites().getPrereq());
     }
 
+    @Test
+    void parsePrereqTreeKeepsAndOfOrsCompact() {
+        String prereq = "{\"and\":[{\"or\":[\"CS2030:D\",\"CS2030S:D\"]},{\"or\":[\"CS2040:D\",\"CS2040S:D\"]},"
+                + "\"CS1231:D\"]}";
+        PrerequisiteNode tree = ModuleParser.parsePrereqTree(prereq);
+
+        assertEquals(PrerequisiteNode.Type.AND, tree.getType());
+        assertEquals(3, tree.getChildren().size());
+        assertEquals("(CS2030 OR CS2030S) AND (CS2040 OR CS2040S) AND CS1231", tree.toString());
+        assertEquals(4, tree.toCombinations().size());
+    }
+
+    @Test
+    void parsePrereqTreeReturnsNullForNoPrereq() {
+        assertNull(ModuleParser.parsePrereqTree(null));
+        assertNull(ModuleParser.parsePrereqTree("null"));
+    }
+
+    @Test
+    void parsePrereqTreeHandlesBareCodeAndSkipsUnknownOperators() {
+        assertEquals(PrerequisiteNode.module("CS1010"), ModuleParser.parsePrereqTree("CS1010:D"));
+        assertEquals(PrerequisiteNode.module("CS1010"),
+                ModuleParser.parsePrereqTree("{\"and\":[\"CS1010:D\",{\"xor\":[\"CS1231:D\"]}]}"));
+    }
 
+    @Test
+    void parsePrereqTreeReturnsNullForMalformedJson() {
+        assertNull(ModuleParser.parsePrereqTree("{\"and\":[\"CS1010:D\","));
+    }
 
+    @Test
+    void parsePrereqTreeReadsNOf() {
+        String prereq = "{\"and\":[\"CS1231:D\",{\"nOf\":[2,[\"MA1521:D\",\"MA1522:D\",{\"or\":[\"ST2334:D\","
+                + "\"ST2131:D\"]}]]}]}";
+        PrerequisiteNode tree = ModuleParser.parsePrereqTree(prereq);
+        assertEquals("CS1231 AND (2 of (MA1521, MA1522, ST2334 OR ST2131))", tree.toString());
+        assertTrue(tree.isSatisfiedBy(List.of("CS1231", "MA1522", "ST2131")::contains));
+        assertFalse(tree.isSatisfiedBy(List.of("CS1231", "MA1522")::contains));
+    }
 
-}
\ No newline at end of file
+    @Test
+    void parsePrereqTreeClampsNOfAfterDroppingUnknownChildren() {
+        String prereq = "{\"nOf\":[3,[\"MA1521:D\",\"MA1522:D\",{\"xor\":[\"ST2334:D\"]}]]}";
+        PrerequisiteNode tree = ModuleParser.parsePrereqTree(prereq);
+        assertEquals("MA1521 AND MA1522", tree.toString());
+        assertTrue(tree.isSatisfiedBy(List.of("MA1521", "MA1522")::contains));
+    }
+}
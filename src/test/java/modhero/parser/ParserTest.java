@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 // Import all the command classes to check their types
+import modhero.commands.AddCommand;
 import modhero.commands.ClearCommand;
 import modhero.commands.Command;
 import modhero.commands.DeleteCommand;
@@ -136,4 +137,37 @@ public class ParserTest {
         Command result = parser.parseCommand("delete");
         assertInstanceOf(IncorrectCommand.class, result);
     }
+
+    // --- Add Command Tests ---
+
+    @Test
+    void parse_addCommandValid_returnsAddCommand() {
+        Command result = parser.parseCommand("add cs2113   to y2s1");
+        assertInstanceOf(AddCommand.class, result);
+    }
+
+    @Test
+    void parse_addCommandMissingKeyword_returnsIncorrectCommand() {
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("add CS2113 Y2S1"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("add CS2113 to Y2S1 to Y3S1"));
+    }
+
+    @Test
+    void parse_addCommandInvalidDestination_returnsIncorrectCommand() {
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("add CS2113 to Y2"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("add CS2113 to YXS1"));
+    }
+
+    @Test
+    void parse_inputWithSymbols_returnsIncorrectCommand() {
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("add CS2113 to Y2S1;"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("delete\tCS2113"));
+    }
+
+    @Test
+    void parse_commandWordIsNotTreatedAsRegex() {
+        // The command word was previously removed from the arguments with replaceFirst
+        Command result = parser.parseCommand("add add to Y1S1");
+        assertInstanceOf(AddCommand.class, result);
+    }
 }
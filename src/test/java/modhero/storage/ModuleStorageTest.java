@@ -3,6 +3,7 @@ package modhero.storage;
 import modhero.common.util.SerialisationUtil;
 import modhero.data.major.Major;
 import modhero.data.modules.Module;
+import modhero.data.modules.PrerequisiteNode;
 import modhero.exceptions.CorruptedDataFileException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -124,4 +125,26 @@ public class ModuleStorageTest {
         assertTrue(map.isEmpty(), "Module with invalid MC should be skipped");
     }
     //@@ mendax1234
+
+    @Test
+    void load_readsPrerequisiteTreeAndLegacyCombinations() throws CorruptedDataFileException {
+        ModuleStorage treeStorage = new ModuleStorage("storage/prerequisite-trees.txt");
+        Map<String, Module> map = new HashMap<>();
+        treeStorage.load(map);
+
+        PrerequisiteNode cs3230Tree = map.get("CS3230").getPrerequisites().getTree();
+        assertEquals("CS1231 AND (2 of (MA1521, MA1522, ST2334))", cs3230Tree.toString());
+        assertEquals(List.of(List.of("CS1010")), map.get("CS2040").getPrerequisites().getPrereq());
+    }
+
+    @Test
+    void load_roundTripsSerialisedPrerequisiteTree() throws CorruptedDataFileException {
+        ModuleStorage treeStorage = new ModuleStorage("storage/prerequisite-trees.txt");
+        Map<String, Module> map = new HashMap<>();
+        treeStorage.load(map);
+
+        String serialised = map.get("CS3230").toFormatedString();
+        assertTrue(serialised.contains("T3#AND|"), serialised);
+        assertEquals(treeStorage.loadFromJarTextFile().get(0), serialised);
+    }
 }
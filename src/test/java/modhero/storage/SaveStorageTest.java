@@ -2,13 +2,21 @@ package modhero.storage;
 
 import modhero.common.Constants;
 import modhero.data.modules.Module;
+import modhero.data.modules.PrerequisiteNode;
 import modhero.data.modules.Prerequisites;
+import modhero.data.nusmods.ModuleRetriever;
+import modhero.data.nusmods.NusmodsAPIClient;
+import modhero.data.nusmods.NusmodsStandInServer;
+import modhero.data.timetable.PlanViolation;
 import modhero.data.timetable.Timetable;
 import modhero.exceptions.CorruptedDataFileException;
 import modhero.exceptions.ModHeroException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -18,6 +26,10 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class SaveStorageTest {
 
+    // Saves go to a temporary file so that running the tests never overwrites the user's plan
+    @TempDir
+    Path tempDir;
+
     private SaveStorage saveStorage;
     private Map<String, Module> allModulesData;
     private List<String> exemptedModules;
@@ -30,7 +42,7 @@ class SaveStorageTest {
         ModuleStorage moduleStorage = new ModuleStorage(Constants.FilePathConstants.MODULES_FILE_PATH);
         moduleStorage.load(allModulesData);
         exemptedModules = new ArrayList<>();
-        saveStorage = new SaveStorage(Constants.FilePathConstants.TIMETABLE_FILE_PATH);
+        saveStorage = new SaveStorage(tempDir.resolve("save.txt").toString());
         saveStorage.setLoadData(allModulesData, exemptedModules);
     }
 
@@ -71,4 +83,50 @@ class SaveStorageTest {
         saveStorage.load(newTimetable);
         assertEquals(timetable.getAllModules().size(), newTimetable.getAllModules().size());
     }
+
+    @Test
+    void loadLinesOutOfSemesterOrder_keepsEveryModule() {
+        allModulesData.put("ZZ1000", new Module("ZZ1000", "Basics", 4, "core", "", new Prerequisites()));
+        allModulesData.put("ZZ2000", new Module("ZZ2000", "Follow-up", 4, "core", "",
+                new Prerequisites(PrerequisiteNode.module("ZZ1000"))));
+        saveStorage.saveToTextFile(SaveStorage.TIMETABLE_STARTLINE + "\nZZ2000|2|1\nZZ1000|1|1\nZZ1000|3|1");
+        Timetable newTimetable = new Timetable();
+        saveStorage.load(newTimetable);
+        assertEquals(2, newTimetable.getAllModules().size());
+        assertTrue(saveStorage.getPlanViolations().isEmpty());
+    }
+
+    @Test
+    void loadUnmetPrerequisite_keepsModuleAndReportsViolation() {
+        allModulesData.put("ZZ1000", new Module("ZZ1000", "Basics", 4, "core", "", new Prerequisites()));
+        allModulesData.put("ZZ2000", new Module("ZZ2000", "Follow-up", 4, "core", "",
+                new Prerequisites(PrerequisiteNode.module("ZZ1000"))));
+        saveStorage.saveToTextFile(SaveStorage.TIMETABLE_STARTLINE + "\nZZ2000|1|2\nZZ1000|1|2");
+        Timetable newTimetable = new Timetable();
+        saveStorage.load(newTimetable);
+        assertEquals(2, newTimetable.getAllModules().size());
+        assertEquals(1, saveStorage.getPlanViolations().size());
+        assertEquals(PlanViolation.Type.PREREQUISITE, saveStorage.getPlanViolations().get(0).getType());
+        assertEquals("ZZ2000", saveStorage.getPlanViolations().get(0).getModuleCode());
+    }
+
+    @Test
+    void loadModulesMissingFromLocalData_fetchesEachOnceWithoutPrefetching() throws Exception {
+        try (NusmodsStandInServer server = new NusmodsStandInServer(Paths.get("src", "test", "resources", "nusmods"))) {
+            ModuleRetriever retriever = new ModuleRetriever(new NusmodsAPIClient(server.getBaseUrl(), 4, null), 0);
+            SaveStorage remoteStorage = new SaveStorage(tempDir.resolve("remote.txt").toString(), retriever);
+            Map<String, Module> localModules = new HashMap<>();
+            remoteStorage.setLoadData(localModules, new ArrayList<>());
+            remoteStorage.saveToTextFile(SaveStorage.TIMETABLE_STARTLINE
+                    + "\nCS1231|1|1\nCS1010|1|1\nZZ9999|1|2\nCS2113|2|1\nCS1231|3|1");
+
+            Timetable newTimetable = new Timetable();
+            remoteStorage.load(newTimetable);
+
+            assertEquals(3, newTimetable.getAllModules().size());
+            assertEquals(4, server.getRequestCount());
+            assertEquals(4, retriever.getFetchCount());
+            assertTrue(localModules.keySet().containsAll(List.of("CS1231", "CS1010", "CS2113")));
+        }
+    }
 }